@@ -1,6 +1,7 @@
 plugins {
     java
     id("org.springframework.boot") version "4.0.0"
+    id("org.springframework.boot.aot") version "4.0.0"
     id("io.spring.dependency-management") version "1.1.7"
     id("jacoco")
 }
@@ -15,10 +16,33 @@ java {
     }
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    create("loadTest") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
 configurations {
     compileOnly {
         extendsFrom(configurations.annotationProcessor.get())
     }
+    named("jmhImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("jmhRuntimeOnly") {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
+    named("loadTestImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+    named("loadTestRuntimeOnly") {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
 }
 
 repositories {
@@ -31,6 +55,13 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+
+    // Metrics
+    implementation("io.micrometer:micrometer-registry-prometheus")
+
+    // Caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Database
     implementation("org.liquibase:liquibase-core")
@@ -55,13 +86,139 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-webmvc-test")
     testImplementation("com.tngtech.archunit:archunit-junit5:1.3.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Microbenchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+
+    // HTTP load test
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
     finalizedBy(tasks.jacocoTestReport)
 }
 
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the throughput benchmarks tagged with @Tag(\"benchmark\")."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+    // Report virtual threads that block while pinned to their carrier
+    jvmArgs("-Djdk.tracePinnedThreads=short")
+    shouldRunAfter(tasks.test)
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.json")
+
+val jmh by tasks.registering(JavaExec::class) {
+    description = "Runs the JMH microbenchmarks. Filter with -PjmhIncludes=<regex>."
+    group = "verification"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    args("-rf", "json", "-rff", jmhResults.get().asFile.absolutePath)
+    providers.gradleProperty("jmhIncludes").orNull?.let { args(it) }
+    outputs.file(jmhResults)
+    outputs.upToDateWhen { false }
+    doFirst {
+        jmhResults.get().asFile.parentFile.mkdirs()
+    }
+}
+
+val jmhSaveBaseline by tasks.registering(Copy::class) {
+    description = "Stores the latest JMH results as the baseline used by jmhCheck."
+    group = "verification"
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+    mustRunAfter(jmh)
+}
+
+val jmhCheck by tasks.registering {
+    description = "Runs the JMH benchmarks and fails if any score regressed against the stored baseline " +
+            "by more than -PjmhMaxRegression percent (default 10). Without a baseline it only warns."
+    group = "verification"
+    dependsOn(jmh)
+    val maxRegression = providers.gradleProperty("jmhMaxRegression").map { it.toDouble() }.orElse(10.0)
+    val resultsFile = jmhResults.map { it.asFile }
+    val baselineFile = jmhBaseline.asFile
+    doLast {
+        if (!baselineFile.exists()) {
+            logger.warn("No JMH baseline at $baselineFile, so nothing was compared; " +
+                    "record one with ./gradlew jmh jmhSaveBaseline")
+            return@doLast
+        }
+        fun scores(file: File): Map<String, Pair<String, Double>> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.associate { run ->
+                val params = (run["params"] as Map<*, *>?)?.entries?.joinToString(",", "(", ")") ?: ""
+                val metric = run["primaryMetric"] as Map<*, *>
+                "${run["benchmark"]}$params" to Pair(run["mode"] as String, (metric["score"] as Number).toDouble())
+            }
+        }
+        val baseline = scores(baselineFile)
+        val regressions = scores(resultsFile.get()).mapNotNull { (name, result) ->
+            val (mode, score) = result
+            val previous = baseline[name]?.second ?: return@mapNotNull null
+            // Throughput: higher is better. Average/sample/single-shot time: lower is better.
+            val change = if (mode == "thrpt") (previous - score) / previous else (score - previous) / previous
+            if (change * 100 > maxRegression.get()) {
+                "%s: %.3f -> %.3f (%.1f%% worse)".format(name, previous, score, change * 100)
+            } else {
+                null
+            }
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("JMH regressions over ${maxRegression.get()}%:\n" +
+                    regressions.joinToString("\n"))
+        }
+        logger.lifecycle("JMH results within ${maxRegression.get()}% of the baseline")
+    }
+}
+
+val loadTest by tasks.registering(JavaExec::class) {
+    description = "Runs the HTTP load test against the app on the test profile. Configure with " +
+            "-PloadTest.rate, .warmup, .duration, .products, .users, .mix and .baseUrl."
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "com.example.company.loadtest.LoadTest"
+    systemProperty("loadTest.output", layout.buildDirectory.dir("results/loadtest").get().asFile.absolutePath)
+    providers.gradlePropertiesPrefixedBy("loadTest.").get().forEach { (name, value) -> systemProperty(name, value) }
+    outputs.upToDateWhen { false }
+}
+
+// AOT processing evaluates bean conditions once, at build time, with these profiles; the generated code is only
+// used when the app is started with -Dspring.aot.enabled=true
+tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+    args("--spring.profiles.active=" + providers.gradleProperty("aotProfiles").getOrElse("prod"),
+            "--logging.file.name=")
+}
+
+val startupBenchmark by tasks.registering(JavaExec::class) {
+    description = "Measures time-to-first-request of the boot jar with and without lazy init, AOT and AppCDS. " +
+            "Build with -PaotProfiles=test; set the number of runs with -Pstartup.runs."
+    group = "verification"
+    dependsOn(tasks.bootJar)
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "com.example.company.loadtest.StartupBenchmark"
+    systemProperty("startup.jar", tasks.bootJar.get().archiveFile.get().asFile.absolutePath)
+    systemProperty("startup.workDir", layout.buildDirectory.dir("startup").get().asFile.absolutePath)
+    systemProperty("startup.output", layout.buildDirectory.dir("results/startup").get().asFile.absolutePath)
+    providers.gradleProperty("startup.runs").orNull?.let { systemProperty("startup.runs", it) }
+    outputs.upToDateWhen { false }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
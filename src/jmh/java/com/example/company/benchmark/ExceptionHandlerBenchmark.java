@@ -0,0 +1,67 @@
+package com.example.company.benchmark;
+
+import com.example.company.common.exception.GlobalExceptionHandler;
+import com.example.company.common.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a 404: throwing {@link ResourceNotFoundException} and turning it into the encoded response body,
+ * including logging and counting it. {@code resourceNotFoundBaseline} repeats the earlier handling for
+ * comparison: a formatted message and a stack trace per throw, an error log line per miss and a timestamped
+ * error object serialized per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private static final Logger baselineLogger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler(objectMapper,
+            new StaticListableBeanFactory(Map.of("meterRegistry", new SimpleMeterRegistry()))
+                    .getBeanProvider(MeterRegistry.class));
+    private long id;
+
+    @Benchmark
+    public byte[] resourceNotFound() {
+        try {
+            throw new ResourceNotFoundException("Product", ++id);
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex).getBody();
+        }
+    }
+
+    @Benchmark
+    public byte[] resourceNotFoundBaseline() {
+        try {
+            throw new IllegalStateException(String.format("%s not found with id: %d", "Product", ++id));
+        } catch (IllegalStateException ex) {
+            baselineLogger.error("Resource not found: {}", ex.getMessage());
+            return objectMapper.writeValueAsBytes(
+                    new GlobalExceptionHandler.ErrorResponse(404, ex.getMessage(), LocalDateTime.now()));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.company.benchmark;
+
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of product and user listings, as written for list responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<Product> products;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        products = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product((long) i, "Product " + i, "Description of product " + i,
+                    BigDecimal.valueOf(1999 + i, 2), i, now, now.plusMinutes(i)));
+            users.add(new User((long) i, "User " + i, "user" + i + "@example.com", now, now.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
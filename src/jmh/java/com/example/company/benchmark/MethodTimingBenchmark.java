@@ -0,0 +1,75 @@
+package com.example.company.benchmark;
+
+import com.example.company.common.config.MethodTimingProperties;
+import com.example.company.common.metrics.MethodTimingInterceptor;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.aop.Advice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Overhead of the method timers: the difference between {@link #timedProxy()} and {@link #plainProxy()} is
+ * what {@link MethodTimingInterceptor} adds to every service and repository call. It should stay within a
+ * few hundred nanoseconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MethodTimingBenchmark {
+
+    private final LongUnaryOperator target = value -> value * 31 + 7;
+    private LongUnaryOperator plainProxy;
+    private LongUnaryOperator timedProxy;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        MethodTimingProperties properties = new MethodTimingProperties(true, true,
+                List.of(Duration.ofMillis(1), Duration.ofMillis(10), Duration.ofMillis(100)));
+        plainProxy = proxy();
+        timedProxy = proxy(new MethodTimingInterceptor("benchmark.invocations", () -> registry, () -> properties));
+    }
+
+    @Benchmark
+    public long direct() {
+        return target.applyAsLong(value++);
+    }
+
+    @Benchmark
+    public long plainProxy() {
+        return plainProxy.applyAsLong(value++);
+    }
+
+    @Benchmark
+    public long timedProxy() {
+        return timedProxy.applyAsLong(value++);
+    }
+
+    private LongUnaryOperator proxy(Advice... advice) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(LongUnaryOperator.class);
+        for (Advice item : advice) {
+            factory.addAdvice(item);
+        }
+        return (LongUnaryOperator) factory.getProxy();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.company.benchmark;
+
+import com.example.company.Application;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductService} reads against an in-memory H2 catalog, through the full Spring proxy chain
+ * (cache and transaction advice), including lookups of IDs with no product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] ADJECTIVES = {"Red", "Compact", "Wireless", "Steel", "Organic", "Vintage"};
+    private static final String[] NOUNS = {"Lamp", "Keyboard", "Kettle", "Backpack", "Speaker", "Chair", "Desk"};
+    private static final String[] QUERIES = {"wireless keyboard", "steel kettle", "vintage lamp", "chiar"};
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Cache productCache;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+        productService = context.getBean(ProductService.class);
+        productCache = context.getBean(CacheManager.class).getCache(ProductService.PRODUCT_CACHE);
+        ids = new ArrayList<>(PRODUCTS);
+        for (int start = 0; start < PRODUCTS; start += BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < start + BATCH_SIZE; i++) {
+                batch.add(product(i));
+            }
+            ids.addAll(productService.createProducts(batch).ids());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findProductById_cacheHit() {
+        return productService.findProductById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Product> findProductById_cacheMiss() {
+        Long id = randomId();
+        productCache.evict(id);
+        return productService.findProductById(id);
+    }
+
+    /**
+     * A 404 as the controller produces it: the cached miss and the stackless exception thrown outside the cache
+     * proxy.
+     */
+    @Benchmark
+    public Object getProductById_notFound() {
+        Long id = -randomId();
+        try {
+            return productService.findProductById(id).orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        } catch (ResourceNotFoundException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object getProductById_notFoundUncached() {
+        Long id = -randomId();
+        productCache.evict(id);
+        try {
+            return productService.findProductById(id).orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        } catch (ResourceNotFoundException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public void searchProductsByName(Blackhole blackhole) {
+        String query = QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)];
+        blackhole.consume(productService.searchProductsByName(query, null, null));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static Product product(int i) {
+        Product product = new Product();
+        product.setName(ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[i % NOUNS.length] + " " + i);
+        product.setDescription("A " + NOUNS[i % NOUNS.length].toLowerCase() + " for everyday use, model " + i);
+        product.setPrice(BigDecimal.valueOf(5 + i % 500, 0));
+        product.setStockQuantity(i % 250);
+        return product;
+    }
+}
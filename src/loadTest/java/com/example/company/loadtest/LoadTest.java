@@ -0,0 +1,272 @@
+package com.example.company.loadtest;
+
+import com.example.company.Application;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * End-to-end HTTP load test.
+ *
+ * <p>Starts the application with the {@code test} profile (or targets {@code loadTest.baseUrl}), seeds
+ * products and users through the batch endpoints, then sends a weighted mix of API calls at a fixed rate.
+ * Arrivals follow an open model: request {@code i} is due at {@code start + i / rate} whether or not earlier
+ * requests have completed, and its latency is measured from that due time. A slow response therefore shows up
+ * as latency of every request queued behind it rather than silently lowering the send rate, which is the
+ * coordinated omission a closed loop of clients suffers from.
+ *
+ * <p>Per operation it prints count, throughput and p50/p99/p99.9/max latency, writes the full HdrHistogram
+ * percentile distribution to {@code <operation>.hgrm}, and writes all figures to {@code summary.json}.
+ */
+public final class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadTest(LoadTestConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+        config.mix().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = null;
+        String baseUrl = config.baseUrl();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(Application.class)
+                    .profiles("test")
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                            "--logging.level.com.example.company=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor)
+                     .connectTimeout(Duration.ofSeconds(5)).build()) {
+            new LoadTest(config, client).run(URI.create(baseUrl));
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void run(URI baseUri) throws IOException, InterruptedException {
+        System.out.printf("Seeding %d products and %d users at %s%n", config.products(), config.users(), baseUri);
+        Workload workload = new Workload(baseUri,
+                seed(baseUri, "/api/products/batch", config.products(), Workload::product),
+                seed(baseUri, "/api/users/batch", config.users(), Workload::user));
+        System.out.printf("Running %s warm-up and %s measurement at %d requests/s%n",
+                config.warmup(), config.duration(), config.rate());
+        drive(workload);
+        report();
+    }
+
+    private long[] seed(URI baseUri, String path, int count, IntFunction<Map<String, Object>> item)
+            throws IOException, InterruptedException {
+        long[] ids = new long[count];
+        int seeded = 0;
+        while (seeded < count) {
+            int size = Math.min(SEED_BATCH_SIZE, count - seeded);
+            List<Map<String, Object>> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(item.apply(seeded + i));
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode result = response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+            if (result == null || !result.get("errors").isEmpty()) {
+                throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode()
+                        + ": " + response.body());
+            }
+            for (JsonNode id : result.get("ids")) {
+                ids[seeded++] = id.asLong();
+            }
+        }
+        return ids;
+    }
+
+    private void drive(Workload workload) throws InterruptedException {
+        Operation[] operations = config.mix().keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += config.mix().get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+        long start = System.nanoTime();
+        long recordFrom = start + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+        for (long i = 0; ; i++) {
+            long due = start + i * 1_000_000_000L / config.rate();
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(operations, cumulativeWeights, totalWeight);
+            send(workload, operation, due, due >= recordFrom);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Operation pick(Operation[] operations, int[] cumulativeWeights, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        int i = 0;
+        while (roll >= cumulativeWeights[i]) {
+            i++;
+        }
+        return operations[i];
+    }
+
+    private void send(Workload workload, Operation operation, long due, boolean record) {
+        OperationStats operationStats = stats.get(operation);
+        HttpRequest request = operation.request(workload);
+        if (request == null) {
+            if (record) {
+                operationStats.skipped.increment();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+            boolean success = error == null && response.statusCode() / 100 == 2;
+            if (success) {
+                operation.onSuccess(workload, response);
+            }
+            if (record) {
+                operationStats.histogram.recordValue(latencyMicros);
+                if (!success) {
+                    operationStats.errors.increment();
+                }
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void report() throws IOException {
+        Files.createDirectories(config.output());
+        double seconds = config.duration().toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        List<Map<String, Object>> operations = new ArrayList<>();
+        System.out.printf("%n%-14s %-28s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "endpoint", "count",
+                "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Operation operation = entry.getKey();
+            OperationStats operationStats = entry.getValue();
+            Histogram histogram = operationStats.histogram.copy();
+            total.add(histogram);
+            Map<String, Object> summary = summary(histogram, operationStats.errors.sum(), seconds);
+            summary.put("skipped", operationStats.skipped.sum());
+            operations.add(withName(operation.key(), operation.endpoint(), summary));
+            print(operation.key(), operation.endpoint(), summary);
+            writeDistribution(operation.key(), histogram);
+        }
+        long totalErrors = stats.values().stream().mapToLong(operationStats -> operationStats.errors.sum()).sum();
+        Map<String, Object> totals = summary(total, totalErrors, seconds);
+        print("total", "", totals);
+        writeDistribution("total", total);
+
+        Map<String, Object> mix = new LinkedHashMap<>();
+        config.mix().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", config.rate());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("products", config.products());
+        settings.put("users", config.users());
+        settings.put("mix", mix);
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("config", settings);
+        document.put("operations", operations);
+        document.put("total", totals);
+        Files.writeString(config.output().resolve("summary.json"),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(document));
+        System.out.printf("%nReports written to %s%n", config.output().toAbsolutePath());
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static Map<String, Object> withName(String operation, String endpoint, Map<String, Object> summary) {
+        Map<String, Object> named = new LinkedHashMap<>();
+        named.put("operation", operation);
+        named.put("endpoint", endpoint);
+        named.putAll(summary);
+        return named;
+    }
+
+    private static void print(String operation, String endpoint, Map<String, Object> summary) {
+        System.out.printf("%-14s %-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", operation, endpoint,
+                summary.get("count"), summary.get("errors"), summary.get("throughput"), summary.get("p50Ms"),
+                summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs"));
+    }
+
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(config.output().resolve(name + ".hgrm")))) {
+            // Recorded in microseconds, reported in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class OperationStats {
+
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.company.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties.
+ *
+ * @param baseUrl  URL of an already running instance, or null to start the application in-process
+ * @param rate     target request rate per second, across all operations
+ * @param warmup   how long to run before recording
+ * @param duration how long to record
+ * @param products number of products to seed
+ * @param users    number of users to seed
+ * @param mix      relative weight of each operation
+ * @param output   directory the reports are written to
+ */
+public record LoadTestConfig(String baseUrl, int rate, Duration warmup, Duration duration, int products, int users,
+                             Map<Operation, Integer> mix, Path output) {
+
+    static final String DEFAULT_MIX = "getProduct=40,listProducts=15,createProduct=5,updateProduct=5,"
+            + "deleteProduct=3,getUser=20,listUsers=5,createUser=3,updateUser=2,deleteUser=2";
+
+    public LoadTestConfig {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadTest.rate must be greater than 0");
+        }
+        if (products <= 0 || users <= 0) {
+            throw new IllegalArgumentException("loadTest.products and loadTest.users must be greater than 0");
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadTest.mix must select at least one operation");
+        }
+    }
+
+    /**
+     * @return the settings from system properties, with defaults for anything not set
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadTest.baseUrl"),
+                Integer.getInteger("loadTest.rate", 500),
+                Duration.parse("PT" + System.getProperty("loadTest.warmup", "10s")),
+                Duration.parse("PT" + System.getProperty("loadTest.duration", "30s")),
+                Integer.getInteger("loadTest.products", 10_000),
+                Integer.getInteger("loadTest.users", 10_000),
+                parseMix(System.getProperty("loadTest.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("loadTest.output", "build/results/loadtest")));
+    }
+
+    /**
+     * Parse a mix such as {@code getProduct=80,listProducts=20}.
+     *
+     * @param mix comma-separated {@code operation=weight} pairs
+     * @return the weight of each operation with a positive weight
+     * @throws IllegalArgumentException if an entry is malformed or names an unknown operation
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.byKey(parts[0].trim()), weight);
+            }
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.company.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+/**
+ * The API calls the load test can mix.
+ */
+enum Operation {
+
+    GET_PRODUCT("getProduct", "GET /api/products/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.get("/api/products/" + workload.randomProductId());
+        }
+    },
+    LIST_PRODUCTS("listProducts", "GET /api/products") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.get("/api/products?limit=20&after=" + workload.randomProductId());
+        }
+    },
+    CREATE_PRODUCT("createProduct", "POST /api/products") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.post("/api/products", workload.newProduct());
+        }
+
+        @Override
+        void onSuccess(Workload workload, HttpResponse<String> response) {
+            workload.productCreated(response.body());
+        }
+    },
+    UPDATE_PRODUCT("updateProduct", "PUT /api/products/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.put("/api/products/" + workload.randomProductId(), workload.newProduct());
+        }
+    },
+    DELETE_PRODUCT("deleteProduct", "DELETE /api/products/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            Long id = workload.takeCreatedProduct();
+            return id == null ? null : workload.delete("/api/products/" + id);
+        }
+    },
+    GET_USER("getUser", "GET /api/users/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.get("/api/users/" + workload.randomUserId());
+        }
+    },
+    LIST_USERS("listUsers", "GET /api/users") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.get("/api/users?limit=20&after=" + workload.randomUserId());
+        }
+    },
+    CREATE_USER("createUser", "POST /api/users") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.post("/api/users", workload.newUser());
+        }
+
+        @Override
+        void onSuccess(Workload workload, HttpResponse<String> response) {
+            workload.userCreated(response.body());
+        }
+    },
+    UPDATE_USER("updateUser", "PUT /api/users/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            return workload.put("/api/users/" + workload.randomUserId(), workload.newUser());
+        }
+    },
+    DELETE_USER("deleteUser", "DELETE /api/users/{id}") {
+        @Override
+        HttpRequest request(Workload workload) {
+            Long id = workload.takeCreatedUser();
+            return id == null ? null : workload.delete("/api/users/" + id);
+        }
+    };
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return the name used in {@code loadTest.mix} and in the reports
+     */
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @param workload the data to operate on
+     * @return the request to send, or null if there is nothing to operate on yet (a delete before any create)
+     */
+    abstract HttpRequest request(Workload workload);
+
+    /**
+     * Called with every 2xx response.
+     */
+    void onSuccess(Workload workload, HttpResponse<String> response) {
+    }
+
+    static Operation byKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.company.loadtest;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-request benchmark for the startup variants of the boot jar.
+ *
+ * <p>Each run launches a fresh JVM on the {@code test} profile and measures the time from process start until
+ * {@code GET /api/products?limit=1} first answers 200, so it covers JVM startup, context refresh, Liquibase and
+ * the work the first request does itself. Variants:
+ * <ul>
+ *     <li>{@code baseline}: {@code java -jar} with no startup options</li>
+ *     <li>{@code lazy}: adds the {@code fast-start} profile</li>
+ *     <li>{@code aot}: runs the AOT-processed bean definitions</li>
+ *     <li>{@code aot+cds}: AOT on the extracted jar with an AppCDS archive from a training run</li>
+ *     <li>{@code aot+cds+lazy}: all of the above</li>
+ * </ul>
+ *
+ * <p>The jar must be AOT-processed with the profiles it runs with, i.e. built with {@code -PaotProfiles=test}.
+ * Prints min/median/max per variant and writes them to {@code summary.json}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final String AOT = "-Dspring.aot.enabled=true";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final Path jar;
+    private final Path workDir;
+    private final int runs;
+
+    StartupBenchmark(Path jar, Path workDir, int runs) {
+        this.jar = jar;
+        this.workDir = workDir;
+        this.runs = runs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        Path workDir = Path.of(System.getProperty("startup.workDir", "build/startup"));
+        Path output = Path.of(System.getProperty("startup.output", "build/results/startup"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        new StartupBenchmark(jar, workDir, runs).run(output);
+    }
+
+    void run(Path output) throws Exception {
+        Path extracted = extract();
+        Path cdsArchive = workDir.resolve("application.jsa");
+        train(extracted, cdsArchive);
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        variants.put("baseline", List.of("-jar", jar.toString(), "--spring.profiles.active=test"));
+        variants.put("lazy", List.of("-jar", jar.toString(), "--spring.profiles.active=test,fast-start"));
+        variants.put("aot", List.of(AOT, "-jar", jar.toString(), "--spring.profiles.active=test"));
+        variants.put("aot+cds", List.of("-XX:SharedArchiveFile=" + cdsArchive, AOT, "-jar", extracted.toString(),
+                "--spring.profiles.active=test"));
+        variants.put("aot+cds+lazy", List.of("-XX:SharedArchiveFile=" + cdsArchive, AOT, "-jar",
+                extracted.toString(), "--spring.profiles.active=test,fast-start"));
+
+        System.out.printf("%-14s %9s %9s %9s%n", "variant", "min ms", "median ms", "max ms");
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstRequest(variant.getValue());
+            }
+            Arrays.sort(millis);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("variant", variant.getKey());
+            result.put("runs", runs);
+            result.put("minMs", millis[0]);
+            result.put("medianMs", millis[runs / 2]);
+            result.put("maxMs", millis[runs - 1]);
+            results.add(result);
+            System.out.printf("%-14s %9d %9d %9d%n", variant.getKey(), millis[0], millis[runs / 2],
+                    millis[runs - 1]);
+        }
+        Files.createDirectories(output);
+        Files.writeString(output.resolve("summary.json"),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results));
+        System.out.printf("%nReport written to %s%n", output.toAbsolutePath());
+    }
+
+    /**
+     * Extract the jar into the layout CDS needs: an unpacked application jar with its libraries alongside.
+     */
+    private Path extract() throws Exception {
+        Path destination = workDir.resolve("extracted");
+        exec(List.of("-Djarmode=tools", "-jar", jar.toString(), "extract", "--force",
+                "--application-filename", "application.jar", "--destination", destination.toString()));
+        return destination.resolve("application.jar");
+    }
+
+    /**
+     * Start the context once and record the classes it loaded in a CDS archive.
+     */
+    private void train(Path extracted, Path cdsArchive) throws Exception {
+        exec(List.of("-XX:ArchiveClassesAtExit=" + cdsArchive, AOT, "-Dspring.context.exit=onRefresh",
+                "-jar", extracted.toString(), "--spring.profiles.active=test"));
+    }
+
+    private long timeToFirstRequest(List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(javaCommand(arguments));
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products?limit=1"))
+                .timeout(Duration.ofSeconds(5)).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": "
+                            + String.join(" ", command));
+                }
+                if (isOk(request)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean isOk(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException ex) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    private void exec(List<String> arguments) throws Exception {
+        Files.createDirectories(workDir);
+        Process process = new ProcessBuilder(javaCommand(arguments)).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Command failed: " + String.join(" ", javaCommand(arguments)));
+        }
+    }
+
+    private static List<String> javaCommand(List<String> arguments) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(arguments);
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
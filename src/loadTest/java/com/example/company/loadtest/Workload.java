@@ -0,0 +1,115 @@
+package com.example.company.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The data the operations work on: the seeded product and user IDs, which are read and updated but never
+ * deleted, and the IDs created during the run, which are the only ones deleted. Keeping the two apart means
+ * reads never hit a 404 because of a concurrent delete.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final URI baseUri;
+    private final long[] productIds;
+    private final long[] userIds;
+    private final ConcurrentLinkedQueue<Long> createdProducts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> createdUsers = new ConcurrentLinkedQueue<>();
+    // Keeps generated names and emails unique across the run
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(URI baseUri, long[] productIds, long[] userIds) {
+        this.baseUri = baseUri;
+        this.productIds = productIds;
+        this.userIds = userIds;
+    }
+
+    long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+
+    long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    Long takeCreatedProduct() {
+        return createdProducts.poll();
+    }
+
+    Long takeCreatedUser() {
+        return createdUsers.poll();
+    }
+
+    void productCreated(String body) {
+        createdProducts.add(idOf(body));
+    }
+
+    void userCreated(String body) {
+        createdUsers.add(idOf(body));
+    }
+
+    String newProduct() {
+        long n = sequence.incrementAndGet();
+        return objectMapper.writeValueAsString(product(n));
+    }
+
+    String newUser() {
+        long n = sequence.incrementAndGet();
+        return objectMapper.writeValueAsString(user(n));
+    }
+
+    HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    HttpRequest put(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+
+    HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    static Map<String, Object> product(long n) {
+        return Map.of(
+                "name", "Load test product " + n,
+                "description", "Product " + n + " created by the load test",
+                "price", BigDecimal.valueOf(100 + n % 10_000, 2),
+                "stockQuantity", (int) (n % 500));
+    }
+
+    static Map<String, Object> user(long n) {
+        return Map.of(
+                "name", "Load test user " + n,
+                "email", "load-" + n + "-" + System.nanoTime() + "@example.com");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+    }
+
+    private long idOf(String body) {
+        JsonNode node = objectMapper.readTree(body);
+        return node.get("id").asLong();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.company.common.admission;
+
+import com.example.company.common.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Admission control for API requests: a per-client rate limit, then separate {@link Bulkhead}s for reads
+ * ({@code GET}/{@code HEAD}) and writes, so a batch client flooding writes cannot starve interactive reads.
+ *
+ * <p>API keys are not validated here, so a client could send a fresh key with every request to get a fresh
+ * allowance and crowd real clients out of the limiter. Every request is therefore limited by its remote
+ * address, and a request with a key is limited by the key as well. Behind a proxy the remote address is the
+ * client's as forwarded by the proxy, resolved by the container ({@code server.forward-headers-strategy}).
+ *
+ * <p>Rejections are thrown as {@link AdmissionRejectedException} and rendered by the global exception handler
+ * with {@code Retry-After}. Only the initial dispatch is admitted; a streaming response gives its permit back
+ * once the handler has started it asynchronously.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final Duration BUSY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final RateLimiter rateLimiter;
+    private final String apiKeyHeader;
+    private final Bulkhead reads;
+    private final Bulkhead writes;
+    private final Counter rateLimitedReads;
+    private final Counter rateLimitedWrites;
+
+    /**
+     * @param rateLimiter  the per-client rate limiter, or null for no rate limit
+     * @param apiKeyHeader request header identifying the client, limited in addition to the remote address
+     * @param reads        bulkhead for {@code GET} and {@code HEAD} requests, named {@code read}
+     * @param writes       bulkhead for every other method, named {@code write}
+     * @param registry     where to publish the rate limit rejections
+     */
+    public AdmissionControlInterceptor(RateLimiter rateLimiter, String apiKeyHeader, Bulkhead reads, Bulkhead writes,
+                                       MeterRegistry registry) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeyHeader = apiKeyHeader;
+        this.reads = reads;
+        this.writes = writes;
+        this.rateLimitedReads = Bulkhead.rejections(registry, "read", "rate_limited");
+        this.rateLimitedWrites = Bulkhead.rejections(registry, "write", "rate_limited");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        if (rateLimiter != null) {
+            // The address is checked first, so keys made up by a rejected client never get a bucket
+            Duration wait = rateLimiter.tryAcquire("addr:" + request.getRemoteAddr());
+            String apiKey = request.getHeader(apiKeyHeader);
+            if (wait.isZero() && apiKey != null && !apiKey.isBlank()) {
+                wait = rateLimiter.tryAcquire("key:" + apiKey);
+            }
+            if (!wait.isZero()) {
+                (read ? rateLimitedReads : rateLimitedWrites).increment();
+                throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", wait);
+            }
+        }
+        Bulkhead bulkhead = read ? reads : writes;
+        if (!bulkhead.tryAcquire()) {
+            throw new AdmissionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Service is busy, please retry later",
+                    BUSY_RETRY_AFTER);
+        }
+        request.setAttribute(PERMIT, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT);
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.company.common.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency limit for one class of requests, so a flood of one kind cannot take every thread and
+ * connection from the other.
+ *
+ * <p>A request that finds every permit taken waits in a fair queue for at most the queue target. Waiting
+ * longer than that would only add latency the client is likely to give up on, so it is rejected instead.
+ * While recent requests have been waiting longer than the target on average, new arrivals that cannot start
+ * at once are rejected without queueing at all, which drains the queue instead of letting it build up.
+ *
+ * <p>Publishes {@code app.admission.queue.time}, {@code app.admission.in.flight} and
+ * {@code app.admission.rejections} tagged with the bulkhead name.
+ */
+public class Bulkhead {
+
+    /**
+     * Weight of the latest wait in the running average, as a right shift: 1/8.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final int maxConcurrent;
+    private final long queueTargetNanos;
+    private final Semaphore permits;
+    private final Timer queueTime;
+    private final Counter queueTimeouts;
+    private final Counter shed;
+    // Updated without synchronization: a lost update only makes the average slightly less current
+    private volatile long averageWaitNanos;
+
+    /**
+     * @param name          bulkhead name, used as the {@code bulkhead} metric tag
+     * @param maxConcurrent requests admitted at once
+     * @param queueTarget   longest a request may wait for a permit
+     * @param registry      where to publish metrics
+     */
+    public Bulkhead(String name, int maxConcurrent, Duration queueTarget, MeterRegistry registry) {
+        this.maxConcurrent = maxConcurrent;
+        this.queueTargetNanos = queueTarget.toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueTime = Timer.builder("app.admission.queue.time")
+                .description("Time requests waited for a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.queueTimeouts = rejections(registry, name, "queue_timeout");
+        this.shed = rejections(registry, name, "shed");
+        Gauge.builder("app.admission.in.flight", this, Bulkhead::inFlight)
+                .description("Requests holding a bulkhead permit")
+                .tag("bulkhead", name)
+                .register(registry);
+    }
+
+    /**
+     * Wait for a permit, within the queue target.
+     *
+     * @return whether a permit was acquired; if so, {@link #release()} it when the request completes
+     */
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            recordWait(0);
+            return true;
+        }
+        if (averageWaitNanos > queueTargetNanos) {
+            shed.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(queueTargetNanos, TimeUnit.NANOSECONDS);
+            recordWait(System.nanoTime() - start);
+            if (!acquired) {
+                queueTimeouts.increment();
+            }
+            return acquired;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Return a permit taken by {@link #tryAcquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return the number of requests currently holding a permit
+     */
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    private void recordWait(long nanos) {
+        queueTime.record(nanos, TimeUnit.NANOSECONDS);
+        long average = averageWaitNanos;
+        averageWaitNanos = average + ((nanos - average) >> AVERAGE_SHIFT);
+    }
+
+    static Counter rejections(MeterRegistry registry, String bulkhead, String reason) {
+        return Counter.builder("app.admission.rejections")
+                .description("Requests rejected by admission control")
+                .tag("bulkhead", bulkhead)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
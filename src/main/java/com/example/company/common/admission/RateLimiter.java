@@ -0,0 +1,46 @@
+package com.example.company.common.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Per-client rate limiter: one {@link TokenBucket} per client key.
+ *
+ * <p>Buckets are held in a bounded cache and dropped once idle for as long as a bucket takes to refill, since
+ * by then a new, full bucket is equivalent. The bound keeps a flood of distinct keys from exhausting memory.
+ */
+public class RateLimiter {
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final Cache<String, TokenBucket> buckets;
+
+    /**
+     * @param requestsPerSecond sustained rate allowed per client
+     * @param burst             requests a client may send at once after being idle
+     * @param maxClients        most clients tracked at a time
+     */
+    public RateLimiter(double requestsPerSecond, int burst, long maxClients) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        Duration refill = Duration.ofNanos((long) (burst * 1_000_000_000L / requestsPerSecond));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refill.compareTo(Duration.ofSeconds(1)) > 0 ? refill : Duration.ofSeconds(1))
+                .build();
+    }
+
+    /**
+     * Take one request from the client's allowance.
+     *
+     * @param client the client key, e.g. an API key or address
+     * @return {@link Duration#ZERO} if the request is allowed, otherwise how long until it would be
+     */
+    public Duration tryAcquire(String client) {
+        long now = System.nanoTime();
+        long wait = buckets.get(client, key -> new TokenBucket(requestsPerSecond, burst, now)).tryAcquire(now);
+        return wait == 0 ? Duration.ZERO : Duration.ofNanos(wait);
+    }
+}
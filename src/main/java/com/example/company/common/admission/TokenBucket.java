@@ -0,0 +1,53 @@
+package com.example.company.common.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as a single theoretical arrival time (the generic cell rate algorithm).
+ *
+ * <p>Instead of a token count and a refill timestamp, the bucket stores the time at which it would be empty
+ * if requests kept arriving at exactly the refill rate. Taking a token advances that time by one token's
+ * worth; a request is refused when doing so would put it more than a full bucket ahead of now. One CAS per
+ * request and no background refill.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param tokensPerSecond refill rate
+     * @param capacity        bucket size, the largest burst allowed
+     * @param nowNanos        current {@link System#nanoTime()}; the bucket starts full
+     */
+    public TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and capacity");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = nanosPerToken * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a token if one is available.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            // A bucket idle for longer than it takes to fill starts again from full
+            long next = (current - nowNanos > 0 ? current : nowNanos) + nanosPerToken;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.company.common.batch;
+
+import jakarta.validation.ConstraintViolation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a bulk create request. Valid items are inserted; invalid ones are reported by their position
+ * in the request and skipped.
+ *
+ * @param created the number of inserted items
+ * @param ids     the IDs of the inserted items, in request order
+ * @param errors  the rejected items
+ */
+public record BatchResult(int created, List<Long> ids, List<ItemError> errors) {
+
+    public BatchResult(List<Long> ids, List<ItemError> errors) {
+        this(ids.size(), ids, errors);
+    }
+
+    /**
+     * A rejected item.
+     *
+     * @param index  the position of the item in the request
+     * @param errors error messages keyed by field name
+     */
+    public record ItemError(int index, Map<String, String> errors) {
+
+        public static ItemError of(int index, String field, String message) {
+            return new ItemError(index, Map.of(field, message));
+        }
+
+        public static ItemError of(int index, Set<? extends ConstraintViolation<?>> violations) {
+            Map<String, String> errors = new TreeMap<>();
+            for (ConstraintViolation<?> violation : violations) {
+                errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            return new ItemError(index, errors);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.company.common.batch;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Fetches entities for a list of IDs in as few round trips as possible: IDs held by the entity cache are
+ * answered from it, and the rest are loaded with {@code IN} queries of at most {@link #CHUNK_SIZE} IDs each.
+ */
+public final class IdLookup {
+
+    /**
+     * Most IDs bound into one {@code IN} query, well within the bind parameter limits of every supported
+     * database.
+     */
+    public static final int CHUNK_SIZE = 500;
+
+    private IdLookup() {
+    }
+
+    /**
+     * Look up entities by ID, cache first. Loaded entities are put in the cache for the next lookup, so they are
+     * loaded from the primary: a row read from a lagging replica would stay stale in the cache long after the
+     * write that evicted it.
+     *
+     * @param ids    the requested IDs; repeated IDs are answered once
+     * @param cache  the entity cache keyed by ID, or null when caching is disabled
+     * @param type   the entity type
+     * @param idOf   extracts the ID of an entity
+     * @param loader loads the entities for up to {@link #CHUNK_SIZE} IDs, in any order
+     * @param <T>    the entity type
+     * @return the found entities in request order and the IDs nothing was found for
+     * @throws IllegalArgumentException if an ID is null
+     */
+    public static <T> LookupResult<T> lookup(List<Long> ids, Cache cache, Class<T> type, Function<T, Long> idOf,
+                                             Function<List<Long>, ? extends Collection<T>> loader) {
+        Set<Long> requested = new LinkedHashSet<>(ids.size());
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("IDs must not be null");
+            }
+            requested.add(id);
+        }
+        Map<Long, T> found = new HashMap<>(requested.size());
+        List<Long> uncached = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            T cached = cache == null ? null : cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        Map<Long, T> loaded;
+        if (cache == null) {
+            loaded = loadAll(uncached, idOf, loader);
+        } else {
+            try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+                loaded = loadAll(uncached, idOf, loader);
+            }
+            loaded.forEach(cache::put);
+        }
+        found.putAll(loaded);
+
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new LookupResult<>(items, missing);
+    }
+
+    /**
+     * Load entities by ID in chunks of at most {@link #CHUNK_SIZE} IDs.
+     *
+     * @param ids    the distinct IDs to load
+     * @param idOf   extracts the ID of an entity
+     * @param loader loads the entities for one chunk of IDs, in any order
+     * @param <T>    the entity type
+     * @return the found entities keyed by ID
+     */
+    public static <T> Map<Long, T> loadAll(List<Long> ids, Function<T, Long> idOf,
+                                           Function<List<Long>, ? extends Collection<T>> loader) {
+        Map<Long, T> loaded = new HashMap<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            for (T entity : loader.apply(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())))) {
+                loaded.put(idOf.apply(entity), entity);
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.company.common.batch;
+
+import java.util.List;
+
+/**
+ * Outcome of a multi-get request.
+ *
+ * @param items   the found items, in the order their IDs were first requested
+ * @param missing the requested IDs nothing was found for, in request order
+ * @param <T>     the item type
+ */
+public record LookupResult<T>(List<T> items, List<Long> missing) {
+}
@@ -0,0 +1,64 @@
+package com.example.company.common.config;
+
+import com.example.company.common.admission.AdmissionControlInterceptor;
+import com.example.company.common.admission.Bulkhead;
+import com.example.company.common.admission.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link AdmissionControlInterceptor} for the API paths in {@code app.admission.paths}.
+ *
+ * <p>Admitted requests beyond the connection pool size would only queue again inside the pool, where they
+ * wait up to Hikari's connection timeout instead of the bulkhead's queue target. Unless configured, the read
+ * bulkhead therefore admits as many requests as the pool has connections, and the write bulkhead half as many,
+ * so writes can never hold every connection.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(
+            AdmissionControlProperties properties, MeterRegistry registry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        AdmissionControlProperties.RateLimit rateLimit = properties.rateLimit();
+        RateLimiter rateLimiter = rateLimit.enabled()
+                ? new RateLimiter(rateLimit.requestsPerSecond(), rateLimit.burst(), rateLimit.maxClients())
+                : null;
+        int readConcurrent = maxConcurrent(properties.read(), poolSize);
+        int writeConcurrent = maxConcurrent(properties.write(), Math.max(1, poolSize / 2));
+        if (writeConcurrent >= poolSize) {
+            logger.warn("app.admission.write.max-concurrent ({}) is not below the connection pool size ({}); "
+                    + "writes can take every connection from reads", writeConcurrent, poolSize);
+        }
+        return new AdmissionControlInterceptor(rateLimiter, rateLimit.apiKeyHeader(),
+                new Bulkhead("read", readConcurrent, properties.read().queueTarget(), registry),
+                new Bulkhead("write", writeConcurrent, properties.write().queueTarget(), registry),
+                registry);
+    }
+
+    static int maxConcurrent(AdmissionControlProperties.Bulkhead bulkhead, int derived) {
+        return bulkhead.maxConcurrent() != null ? bulkhead.maxConcurrent() : derived;
+    }
+
+    @Bean
+    public WebMvcConfigurer admissionControlConfigurer(AdmissionControlInterceptor interceptor,
+                                                       AdmissionControlProperties properties) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns(properties.paths());
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.company.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for admission control of API requests.
+ *
+ * @param enabled   whether requests are rate limited and admitted through bulkheads
+ * @param paths     request path patterns admission control applies to
+ * @param rateLimit per-client rate limit
+ * @param read      bulkhead for {@code GET} and {@code HEAD} requests
+ * @param write     bulkhead for all other requests
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue({"/api/products/**", "/api/users/**"}) List<String> paths,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue Bulkhead read,
+        @DefaultValue Bulkhead write) {
+
+    /**
+     * @param enabled           whether clients are rate limited
+     * @param requestsPerSecond sustained request rate allowed per client
+     * @param burst             requests a client may send at once after being idle
+     * @param apiKeyHeader      header identifying the client, limited in addition to the remote address
+     * @param maxClients        most clients tracked at a time
+     */
+    public record RateLimit(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("50") double requestsPerSecond,
+            @DefaultValue("100") int burst,
+            @DefaultValue("X-API-Key") String apiKeyHeader,
+            @DefaultValue("100000") long maxClients) {
+    }
+
+    /**
+     * @param maxConcurrent requests admitted at once; when unset, derived from the connection pool size by
+     *                      {@link AdmissionControlConfig}
+     * @param queueTarget   longest a request may wait for a permit before it is rejected with {@code 503}
+     */
+    public record Bulkhead(
+            Integer maxConcurrent,
+            @DefaultValue("100ms") Duration queueTarget) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.company.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for the bulk create endpoints.
+ *
+ * @param maxItems  maximum number of items accepted in one request
+ * @param flushSize number of inserts after which the persistence context is flushed and cleared; best kept a
+ *                  multiple of {@code hibernate.jdbc.batch_size}
+ */
+@ConfigurationProperties(prefix = "app.batch")
+public record BatchProperties(
+        @DefaultValue("10000") int maxItems,
+        @DefaultValue("500") int flushSize) {
+
+    /**
+     * Check that a bulk request is within the configured size.
+     *
+     * @param size the number of items in the request
+     * @throws IllegalArgumentException if the request is empty or too large
+     */
+    public void checkSize(int size) {
+        if (size == 0) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (size > maxItems) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxItems + " items");
+        }
+    }
+}
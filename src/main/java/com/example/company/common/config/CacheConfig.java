@@ -0,0 +1,50 @@
+package com.example.company.common.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Configuration for the Caffeine-backed entity caches.
+ *
+ * <p>The caching advice is ordered ahead of the transaction advice, so cache hits are served
+ * without opening a transaction or borrowing a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Cache manager used when running on virtual threads.
+     *
+     * <p>A synchronous Caffeine cache runs {@code @Cacheable(sync = true)} loaders inside
+     * {@code ConcurrentHashMap.compute}, which holds a monitor for the duration of the database query and so
+     * pins the carrier thread. In async mode the map only stores a future; the loader runs on its own virtual
+     * thread from the {@link CacheLoadExecutor} and the caller parks on the future without pinning. Otherwise
+     * the caches are built exactly as the auto-configured manager would build them.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public CaffeineCacheManager cacheManager(@Value("${spring.cache.cache-names}") List<String> cacheNames,
+                                             @Value("${spring.cache.caffeine.spec}") String spec,
+                                             CacheLoadExecutor cacheLoadExecutor) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(spec).executor(cacheLoadExecutor::execute));
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(cacheNames);
+        return cacheManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public CacheLoadExecutor cacheLoadExecutor() {
+        return new CacheLoadExecutor();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.company.common.config;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.sql.SqlStatementCounter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs asynchronous cache loads, each on its own virtual thread.
+ *
+ * <p>A load runs on behalf of the request that missed, which parks until it completes, so the request's
+ * {@link PrimaryStickiness} and {@link SqlStatementCounter} scopes are carried over to the loading thread: a
+ * client that just wrote still reads its write, and the load's statements count towards the request.
+ * Deliberately not an {@link java.util.concurrent.Executor}, so it is never picked up as the application's
+ * task executor.
+ */
+public class CacheLoadExecutor implements AutoCloseable {
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-load-", 0).factory());
+
+    /**
+     * @param task the task to run with the calling thread's scopes
+     */
+    public void execute(Runnable task) {
+        executor.execute(SqlStatementCounter.propagate(PrimaryStickiness.propagate(task)));
+    }
+
+    /**
+     * Wait for running loads to finish and stop accepting new ones.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
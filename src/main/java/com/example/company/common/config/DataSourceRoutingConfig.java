@@ -0,0 +1,91 @@
+package com.example.company.common.config;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.datasource.ReadWriteRoutingDataSource;
+import com.example.company.common.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single {@code spring.datasource} pool with a primary pool plus replica pools, and routes
+ * read-only transactions to the replicas.
+ *
+ * <p>The pools are not beans themselves: the application sees one data source, so the statement counting of
+ * {@link SqlStatementConfig} wraps the router once and counts statements whichever pool runs them. Each pool
+ * publishes its own HikariCP metrics, tagged {@code pool=primary} or {@code pool=replica-<n>}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(Environment environment, DataSourceRoutingProperties properties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        String username = environment.getProperty("spring.datasource.username");
+        String password = environment.getProperty("spring.datasource.password");
+        HikariDataSource primary = pool(binder, environment, "primary",
+                environment.getRequiredProperty("spring.datasource.url"), username, password, meterRegistry);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : properties.replicas()) {
+            HikariDataSource pool = pool(binder, environment, "replica-" + (replicas.size() + 1), replica.url(),
+                    replica.username() != null ? replica.username() : username,
+                    replica.password() != null ? replica.password() : password, meterRegistry);
+            pool.setReadOnly(true);
+            replicas.add(pool);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.strategy());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(DataSourceRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.stickiness());
+    }
+
+    /**
+     * Makes the rest of the request read from the primary once it has committed a write.
+     */
+    @Bean
+    public TransactionExecutionListener readYourWritesListener(DataSourceRoutingProperties properties) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly() && !properties.stickiness().isZero()) {
+                    PrimaryStickiness.recordWrite();
+                }
+            }
+        };
+    }
+
+    private static HikariDataSource pool(Binder binder, Environment environment, String name, String url,
+                                         String username, String password,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        String driverClassName = environment.getProperty("spring.datasource.driver-class-name");
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        meterRegistry.ifAvailable(registry ->
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+}
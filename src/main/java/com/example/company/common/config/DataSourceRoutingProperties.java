@@ -0,0 +1,33 @@
+package com.example.company.common.config;
+
+import com.example.company.common.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for routing read-only transactions to database replicas.
+ *
+ * @param enabled    whether to route; when off, {@code spring.datasource} is the only data source
+ * @param strategy   how a replica is chosen for each read-only connection
+ * @param stickiness how long after committing a write a client keeps reading from the primary; zero turns
+ *                   read-your-writes off
+ * @param replicas   the replica connections; each pool uses the {@code spring.datasource.hikari} settings
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record DataSourceRoutingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("round-robin") ReplicaRoutingDataSource.Strategy strategy,
+        @DefaultValue("2s") Duration stickiness,
+        @DefaultValue List<Replica> replicas) {
+
+    /**
+     * @param url      JDBC URL of the replica
+     * @param username user name, or null for the primary's
+     * @param password password, or null for the primary's
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
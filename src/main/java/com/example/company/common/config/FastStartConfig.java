@@ -0,0 +1,40 @@
+package com.example.company.common.config;
+
+import com.example.company.common.liquibase.SchemaChecksumPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Startup shortcuts used by the {@code fast-start} profile.
+ *
+ * <p>With {@code spring.main.lazy-initialization} enabled, only the API documentation beans are actually
+ * deferred: everything on the request path stays eager, so the first request does not pay for building the
+ * web stack, the caches or the JPA repositories. Skipping Liquibase is enabled separately with
+ * {@code app.liquibase.skip-when-current}. Neither is a bean condition, so an AOT-processed build can switch
+ * both at runtime.
+ */
+@Configuration
+public class FastStartConfig {
+
+    private static final String OPEN_API_CONFIG = OpenApiConfig.class.getName();
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerUnlessApiDocs() {
+        return (beanName, definition, beanType) -> !isApiDocs(beanType);
+    }
+
+    @Bean
+    static BeanPostProcessor schemaChecksumPostProcessor(Environment environment) {
+        return new SchemaChecksumPostProcessor(
+                environment.getProperty("app.liquibase.skip-when-current", Boolean.class, false));
+    }
+
+    private static boolean isApiDocs(Class<?> beanType) {
+        String name = beanType.getName();
+        return name.startsWith("org.springdoc.") || name.startsWith("io.swagger.")
+                || name.startsWith(OPEN_API_CONFIG);
+    }
+}
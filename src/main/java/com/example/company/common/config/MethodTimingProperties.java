@@ -0,0 +1,22 @@
+package com.example.company.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration for the service and repository method timers.
+ *
+ * @param enabled              whether service and repository methods are timed
+ * @param percentilesHistogram whether to publish a percentile histogram, so percentiles can be aggregated
+ *                             across instances in Prometheus
+ * @param slo                  service level objective bucket boundaries, published in addition to the histogram
+ */
+@ConfigurationProperties(prefix = "app.metrics.methods")
+public record MethodTimingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean percentilesHistogram,
+        @DefaultValue({"1ms", "5ms", "10ms", "25ms", "50ms", "100ms", "250ms", "500ms", "1s"}) List<Duration> slo) {
+}
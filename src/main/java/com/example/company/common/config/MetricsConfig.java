@@ -0,0 +1,72 @@
+package com.example.company.common.config;
+
+import com.example.company.common.metrics.MethodTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+
+/**
+ * Timers with percentile histograms and SLO buckets around every service and repository method, published as
+ * {@code app.service.invocations} and {@code app.repository.invocations}.
+ *
+ * <p>The advisors are infrastructure beans, so they join the proxies that already carry the caching and
+ * transaction advice instead of adding another proxy layer. They are ordered outside both, so service timings
+ * include cache hits and the whole transaction, as callers see them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.metrics.methods.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    private static final int ORDER = Ordered.LOWEST_PRECEDENCE - 2;
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry,
+                                        ObjectProvider<MethodTimingProperties> properties) {
+        return advisor("app.service.invocations", type -> AnnotatedElementUtils.hasAnnotation(type, Service.class),
+                registry, properties);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor repositoryTimingAdvisor(ObjectProvider<MeterRegistry> registry,
+                                           ObjectProvider<MethodTimingProperties> properties) {
+        return advisor("app.repository.invocations", Repository.class::isAssignableFrom, registry, properties);
+    }
+
+    private static Advisor advisor(String metricName, ClassFilter classFilter, ObjectProvider<MeterRegistry> registry,
+                                   ObjectProvider<MethodTimingProperties> properties) {
+        MethodTimingInterceptor interceptor = new MethodTimingInterceptor(metricName,
+                SingletonSupplier.of(registry::getObject), SingletonSupplier.of(properties::getObject));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut(classFilter), interceptor);
+        advisor.setOrder(ORDER);
+        return advisor;
+    }
+
+    private static Pointcut pointcut(ClassFilter classFilter) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(classFilter);
+        return pointcut;
+    }
+}
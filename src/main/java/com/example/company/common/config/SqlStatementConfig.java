@@ -0,0 +1,37 @@
+package com.example.company.common.config;
+
+import com.example.company.common.sql.CountingDataSource;
+import com.example.company.common.sql.SqlStatementFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so statements can be counted per request, and registers the filter that enforces
+ * the statement budget.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                    return new CountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatementFilter sqlStatementFilter(SqlStatementProperties properties) {
+        return new SqlStatementFilter(properties);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.company.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for per-request SQL statement counting.
+ *
+ * @param enabled         whether statements executed through the application's data source are counted
+ * @param maxStatements   statement budget per request; requests that issue more are logged
+ * @param repeatThreshold number of executions of the same statement in one request that is logged as a
+ *                        likely N+1 query
+ * @param responseHeaders whether to report the count and database time in {@code X-SQL-Statement-Count} and
+ *                        {@code Server-Timing} response headers
+ */
+@ConfigurationProperties(prefix = "app.sql")
+public record SqlStatementProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int maxStatements,
+        @DefaultValue("5") int repeatThreshold,
+        @DefaultValue("false") boolean responseHeaders) {
+}
@@ -0,0 +1,116 @@
+package com.example.company.common.datasource;
+
+/**
+ * Read-your-writes state of the current thread: whether read-only work has to go to the primary because the
+ * replicas may not have caught up with a recent write. Read by {@link ReplicaRoutingDataSource}.
+ *
+ * <p>{@link ReadYourWritesFilter} opens a scope per request that is sticky if the client wrote recently and
+ * becomes sticky when the request commits a write. Background jobs that compare memory with the database pin
+ * themselves to the primary with {@link #pin()}, since a lagging replica would look like drift.
+ */
+public final class PrimaryStickiness {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private PrimaryStickiness() {
+    }
+
+    /**
+     * Open a scope on the current thread.
+     *
+     * @param sticky  whether reads go to the primary from the start
+     * @param onWrite run on the first write committed in the scope, e.g. to tell the client to stay sticky
+     * @return the scope, to be closed on the same thread
+     */
+    public static Scope start(boolean sticky, Runnable onWrite) {
+        Scope scope = new Scope(CURRENT.get(), sticky, onWrite);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Send all reads on the current thread to the primary until the scope is closed.
+     *
+     * @return the scope, to be closed on the same thread
+     */
+    public static Scope pin() {
+        return start(true, () -> {
+        });
+    }
+
+    /**
+     * Carry the current thread's scope over to a task that runs on another thread on its behalf, so it reads
+     * from the primary whenever the calling thread would, and a write it commits makes the calling request
+     * sticky. The calling thread must wait for the task to finish and must not close the scope meanwhile.
+     *
+     * @param task the task to run elsewhere
+     * @return the task, running with the calling thread's scope
+     */
+    public static Runnable propagate(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * @return whether read-only work on the current thread has to use the primary
+     */
+    public static boolean isActive() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.sticky;
+    }
+
+    /**
+     * Note that a write was committed on the current thread; later reads in the scope go to the primary.
+     */
+    public static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope != null && !scope.written) {
+            scope.written = true;
+            scope.sticky = true;
+            scope.onWrite.run();
+        }
+    }
+
+    /**
+     * Read-your-writes state opened by {@link #start(boolean, Runnable)}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Runnable onWrite;
+        private boolean sticky;
+        private boolean written;
+
+        private Scope(Scope parent, boolean sticky, Runnable onWrite) {
+            this.parent = parent;
+            this.sticky = sticky || (parent != null && parent.sticky);
+            this.onWrite = onWrite;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.company.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ *
+ * <p>Connections are handed out lazily: the physical connection is only fetched at the first statement, by
+ * which time the transaction manager has marked it read-only or not, and the target pool is picked from that
+ * flag. Closing this data source closes every pool.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+
+    /**
+     * @param primary  the pool for writes, and for reads that have to see them
+     * @param replicas the pools for read-only transactions
+     * @param strategy how to choose among the replicas
+     */
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      ReplicaRoutingDataSource.Strategy strategy) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        setTargetDataSource(primary);
+        setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas, strategy));
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
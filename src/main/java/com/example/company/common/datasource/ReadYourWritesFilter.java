@@ -0,0 +1,79 @@
+package com.example.company.common.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for clients of a replicated database. A request that commits a write gets a
+ * {@value #COOKIE} cookie holding the time until which its client reads from the primary; requests that carry
+ * an unexpired cookie read from the primary instead of a replica, so the client sees its own writes even while
+ * the replicas lag.
+ *
+ * <p>The cookie value is checked against the server clock and capped at the configured window, so a client
+ * cannot pin itself to the primary for longer than that.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "read-primary-until";
+
+    private final Duration stickiness;
+
+    /**
+     * @param stickiness how long after a write its client reads from the primary
+     */
+    public ReadYourWritesFilter(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        long until = stickyUntil(request);
+        boolean sticky = until > now && until <= now + stickiness.toMillis();
+        try (PrimaryStickiness.Scope ignored = PrimaryStickiness.start(sticky, () -> setCookie(response))) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void setCookie(HttpServletResponse response) {
+        // Writes commit before the handler renders its response, so the headers are normally still open
+        if (response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(COOKIE,
+                        Long.toString(System.currentTimeMillis() + stickiness.toMillis()))
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .maxAge(stickiness.toSeconds() + 1)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
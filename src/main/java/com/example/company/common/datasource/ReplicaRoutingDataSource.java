@@ -0,0 +1,99 @@
+package com.example.company.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source for read-only work: hands out connections from one of several replica pools, or from the
+ * primary when the current request has to read its own writes ({@link PrimaryStickiness}).
+ *
+ * <p>A replica that cannot supply a connection is skipped for that request and the primary is used instead,
+ * so a replica outage degrades to reading from the primary rather than failing reads.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * How a replica is chosen for each connection.
+     */
+    public enum Strategy {
+        /**
+         * Take the replicas in turn.
+         */
+        ROUND_ROBIN,
+        /**
+         * Take the replica with the fewest connections in use, the first on ties.
+         */
+        LEAST_CONNECTIONS
+    }
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary  the primary pool, used when sticky or when the chosen replica fails
+     * @param replicas the replica pools; with none, every connection comes from the primary
+     * @param strategy how to choose among the replicas
+     */
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Strategy strategy) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.strategy = strategy;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replicas.isEmpty() || PrimaryStickiness.isActive()) {
+            return primary.getConnection();
+        }
+        HikariDataSource replica = choose();
+        try {
+            return replica.getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            // Hikari reports a pool that cannot make its first connection with an unchecked exception
+            logger.warn("Replica {} unavailable, reading from the primary: {}", replica.getPoolName(),
+                    ex.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Like the Hikari pools behind it, which only hand out connections with their configured credentials
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool credentials");
+    }
+
+    HikariDataSource choose() {
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+        }
+        HikariDataSource least = replicas.getFirst();
+        int leastActive = activeConnections(least);
+        for (int i = 1; i < replicas.size(); i++) {
+            int active = activeConnections(replicas.get(i));
+            if (active < leastActive) {
+                least = replicas.get(i);
+                leastActive = active;
+            }
+        }
+        return least;
+    }
+
+    private static int activeConnections(HikariDataSource pool) {
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean == null ? 0 : mxBean.getActiveConnections();
+    }
+}
@@ -1,17 +1,31 @@
 package com.example.company.common.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import tools.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Global exception handler for the application.
@@ -21,15 +35,72 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /**
+     * Start of every 404 body, up to the detail member.
+     */
+    private static final byte[] NOT_FOUND_PREFIX =
+            "{\"type\":\"about:blank\",\"title\":\"Not Found\",\"status\":404,\"detail\":"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NOT_FOUND_ID_SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String UNNAMED_RESOURCE = "other";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ThrottledLog notFoundLog = new ThrottledLog(logger, Duration.ofSeconds(10));
+    private final Map<String, Counter> notFoundCounters = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> notFoundPrefixes = new ConcurrentHashMap<>();
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * A requested resource does not exist. Misses can arrive in floods, e.g. from crawlers probing IDs, so
+     * each one is counted in {@code app.errors.not.found} but logged at most once per 10 seconds, and the
+     * {@code application/problem+json} body is assembled from bytes encoded once per resource type.
+     */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        logger.error("Resource not found: {}", ex.getMessage());
+    public ResponseEntity<byte[]> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        String resource = ex.getResourceName() == null ? UNNAMED_RESOURCE : ex.getResourceName();
+        notFoundCounters.computeIfAbsent(resource, this::notFoundCounter).increment();
+        notFoundLog.warn(() -> "Resource not found: " + ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(notFoundBody(ex));
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        logger.warn("Conflict: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        logger.warn("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
         ErrorResponse error = new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
+                HttpStatus.CONFLICT.value(),
+                "Request conflicts with existing data",
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        logger.warn("Bad request: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
                 ex.getMessage(),
                 LocalDateTime.now()
         );
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -49,6 +120,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * A transaction could not start, typically because no pooled connection became free within the pool's
+     * connection timeout. The pool is saturated rather than broken, so ask the client to retry. With read/write
+     * routing the connection is only fetched at the first statement, so the same timeout surfaces as a
+     * resource failure instead.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(NestedRuntimeException ex) {
+        logger.warn("Service unavailable: {}", ex.getMostSpecificCause().getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service is busy, please retry later",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Admission control turned the request away: the client is over its rate limit, or the server is at
+     * capacity. Logged at debug level only, since under overload there is one per rejected request.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejectedException(AdmissionRejectedException ex) {
+        logger.debug("Request rejected by admission control: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                ex.getStatus().value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        // Whole seconds, rounded up so the client does not come back before the wait is over
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex) {
         logger.error("Unexpected error occurred", ex);
@@ -60,5 +169,39 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private byte[] notFoundBody(ResourceNotFoundException ex) {
+        if (ex.getResourceName() == null) {
+            return concat(NOT_FOUND_PREFIX, objectMapper.writeValueAsBytes(ex.getMessage()), new byte[]{'}'});
+        }
+        byte[] prefix = notFoundPrefixes.computeIfAbsent(ex.getResourceName(), this::notFoundPrefix);
+        return concat(prefix, String.valueOf(ex.getId()).getBytes(StandardCharsets.US_ASCII), NOT_FOUND_ID_SUFFIX);
+    }
+
+    /**
+     * Encode the body up to the ID: the common prefix and the detail string without its closing quote.
+     */
+    private byte[] notFoundPrefix(String resourceName) {
+        byte[] detail = objectMapper.writeValueAsBytes(resourceName + " not found with id: ");
+        byte[] prefix = new byte[NOT_FOUND_PREFIX.length + detail.length - 1];
+        System.arraycopy(NOT_FOUND_PREFIX, 0, prefix, 0, NOT_FOUND_PREFIX.length);
+        System.arraycopy(detail, 0, prefix, NOT_FOUND_PREFIX.length, detail.length - 1);
+        return prefix;
+    }
+
+    private Counter notFoundCounter(String resource) {
+        return Counter.builder("app.errors.not.found")
+                .description("Requests answered with 404 because a resource does not exist")
+                .tag("resource", resource)
+                .register(meterRegistry);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second, byte[] third) {
+        byte[] result = new byte[first.length + second.length + third.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        System.arraycopy(third, 0, result, first.length + second.length, third.length);
+        return result;
+    }
+
     public record ErrorResponse(int status, String message, LocalDateTime timestamp) {}
 }
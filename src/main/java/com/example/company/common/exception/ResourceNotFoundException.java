@@ -2,14 +2,43 @@ package com.example.company.common.exception;
 
 /**
  * Exception thrown when a requested resource is not found.
+ *
+ * <p>Misses are routine, e.g. a crawler probing IDs that do not exist, so the exception does not capture a
+ * stack trace, and a message for a resource ID is only built when it is asked for.
  */
 public class ResourceNotFoundException extends RuntimeException {
 
+    private final String resourceName;
+    private final Long id;
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.resourceName = null;
+        this.id = null;
     }
 
     public ResourceNotFoundException(String resourceName, Long id) {
-        super(String.format("%s not found with id: %d", resourceName, id));
+        super(null, null, false, false);
+        this.resourceName = resourceName;
+        this.id = id;
+    }
+
+    @Override
+    public String getMessage() {
+        return resourceName == null ? super.getMessage() : resourceName + " not found with id: " + id;
+    }
+
+    /**
+     * @return the kind of resource that was not found, or null if the exception only has a message
+     */
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    /**
+     * @return the ID that was not found, or null if the exception only has a message
+     */
+    public Long getId() {
+        return id;
     }
 }
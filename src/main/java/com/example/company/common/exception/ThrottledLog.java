@@ -0,0 +1,49 @@
+package com.example.company.common.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Logs a recurring event at most once per interval, together with the number of occurrences left out since the
+ * previous line, so a flood of identical errors costs a counter increment each rather than a log line each.
+ */
+final class ThrottledLog {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final AtomicLong nextLogNanos;
+    private final LongAdder suppressed = new LongAdder();
+
+    ThrottledLog(Logger logger, Duration interval) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nextLogNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Log the message at warn level, unless a message was already logged within the interval.
+     *
+     * @param message supplies the message; only called when it is logged
+     */
+    void warn(Supplier<String> message) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long next = nextLogNanos.get();
+        if (now - next < 0 || !nextLogNanos.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return;
+        }
+        long skipped = suppressed.sumThenReset();
+        if (skipped == 0) {
+            logger.warn(message.get());
+        } else {
+            logger.warn("{} ({} more since the last one logged)", message.get(), skipped);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.company.common.liquibase;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skips Liquibase at startup when the changelog has not changed since it was last applied in full.
+ *
+ * <p>Liquibase parses the whole changelog and compares every changeset with {@code DATABASECHANGELOG} on each
+ * start, even when there is nothing to do. This post-processor hashes the changelog files and the active
+ * contexts instead, and compares the hash with the one stored in {@code schema_checksum} after the last
+ * successful update. If they match, Liquibase is told not to run; otherwise it runs as usual and the new hash is
+ * stored afterwards. A database without the table, such as a fresh one, simply runs Liquibase.
+ *
+ * <p>The post-processor is always registered and checks its flag at runtime, so an AOT-processed build behaves
+ * the same whichever profiles it was processed with.
+ */
+public class SchemaChecksumPostProcessor implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaChecksumPostProcessor.class);
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    private final ResourcePatternResolver resources = new PathMatchingResourcePatternResolver();
+    // Checksums to store once the corresponding Liquibase bean has finished its update
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    /**
+     * @param enabled whether to skip Liquibase when the checksum is current; when false this does nothing
+     */
+    public SchemaChecksumPostProcessor(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof SpringLiquibase liquibase) {
+            String checksum = checksum(liquibase);
+            if (checksum.equals(storedChecksum(liquibase.getDataSource()))) {
+                logger.info("Database schema matches changelog checksum {}, skipping Liquibase", checksum);
+                liquibase.setShouldRun(false);
+            } else {
+                pending.put(beanName, checksum);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String checksum = pending.remove(beanName);
+        if (checksum != null && bean instanceof SpringLiquibase liquibase) {
+            storeChecksum(liquibase.getDataSource(), checksum);
+        }
+        return bean;
+    }
+
+    /**
+     * @param liquibase the Liquibase bean
+     * @return SHA-256 over the active contexts and every file in the changelog's directory tree
+     */
+    String checksum(SpringLiquibase liquibase) {
+        String changeLog = liquibase.getChangeLog();
+        String path = changeLog.startsWith(CLASSPATH_PREFIX) ? changeLog.substring(CLASSPATH_PREFIX.length())
+                : changeLog;
+        String directory = path.contains("/") ? path.substring(0, path.lastIndexOf('/') + 1) : "";
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(liquibase.getContexts()).getBytes(StandardCharsets.UTF_8));
+            List<Resource> files = Arrays.stream(resources.getResources("classpath*:" + directory + "**/*"))
+                    .filter(Resource::isReadable)
+                    .sorted(Comparator.comparing(file -> relativeName(file, directory)))
+                    .toList();
+            for (Resource file : files) {
+                digest.update(relativeName(file, directory).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = file.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read changelog " + changeLog, ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Name of a changelog file relative to the classpath root, the same whether it is read from a directory
+     * or from inside the boot jar.
+     */
+    private static String relativeName(Resource resource, String directory) {
+        try {
+            String uri = resource.getURI().toString();
+            int start = directory.isEmpty() ? -1 : uri.lastIndexOf("/" + directory);
+            return start < 0 ? uri : uri.substring(start + 1);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String storedChecksum(DataSource dataSource) {
+        try {
+            List<String> checksums = new JdbcTemplate(dataSource)
+                    .queryForList("SELECT checksum FROM schema_checksum WHERE id = 1", String.class);
+            return checksums.isEmpty() ? null : checksums.getFirst();
+        } catch (DataAccessException ex) {
+            // No table yet: the changelog has never been applied in full on this database
+            logger.debug("No stored schema checksum: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void storeChecksum(DataSource dataSource, String checksum) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.from(Instant.now());
+        if (jdbc.update("UPDATE schema_checksum SET checksum = ?, updated_at = ? WHERE id = 1", checksum, now) == 0) {
+            try {
+                jdbc.update("INSERT INTO schema_checksum (id, checksum, updated_at) VALUES (1, ?, ?)", checksum, now);
+            } catch (DuplicateKeyException ex) {
+                // Another instance recorded it concurrently after applying the same changelog
+                jdbc.update("UPDATE schema_checksum SET checksum = ?, updated_at = ? WHERE id = 1", checksum, now);
+            }
+        }
+        logger.info("Recorded changelog checksum {}", checksum);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.company.common.metrics;
+
+import com.example.company.common.config.MethodTimingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records a timer per intercepted method, tagged with the domain, class, method, outcome and exception.
+ *
+ * <p>Timers are looked up once per class and method and then reused, so a call costs two map lookups and one
+ * timer update on top of the method itself. The registry and properties are resolved on first use, which
+ * lets this interceptor be created with the infrastructure beans without pulling the registry in early.
+ */
+public class MethodTimingInterceptor implements MethodInterceptor {
+
+    private static final String DOMAIN_PACKAGE = ".domain.";
+
+    private final String metricName;
+    private final Supplier<MeterRegistry> registry;
+    private final Supplier<MethodTimingProperties> properties;
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param metricName the timer name
+     * @param registry   supplies the registry to register timers with
+     * @param properties supplies the histogram and SLO settings
+     */
+    public MethodTimingInterceptor(String metricName, Supplier<MeterRegistry> registry,
+                                   Supplier<MethodTimingProperties> properties) {
+        this.metricName = metricName;
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            timersFor(invocation).success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timersFor(invocation).failure(ex).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private MethodTimers timersFor(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Method method = invocation.getMethod();
+        Class<?> targetClass = target != null ? target.getClass() : method.getDeclaringClass();
+        return timers.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> new MethodTimers(tags(ownerOf(targetClass), method)));
+    }
+
+    private Tags tags(Class<?> owner, Method method) {
+        return Tags.of("domain", domainOf(owner), "class", owner.getSimpleName(), "method", method.getName());
+    }
+
+    /**
+     * Repository calls go through a JDK proxy, so use the application's repository interface it implements.
+     */
+    private static Class<?> ownerOf(Class<?> targetClass) {
+        if (Repository.class.isAssignableFrom(targetClass)) {
+            for (Class<?> type : targetClass.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework.")) {
+                    return type;
+                }
+            }
+        }
+        return targetClass;
+    }
+
+    private static String domainOf(Class<?> owner) {
+        String name = owner.getName();
+        int start = name.indexOf(DOMAIN_PACKAGE);
+        if (start < 0) {
+            return "none";
+        }
+        start += DOMAIN_PACKAGE.length();
+        int end = name.indexOf('.', start);
+        return end < 0 ? "none" : name.substring(start, end);
+    }
+
+    private Timer timer(Tags tags, String outcome, String exception) {
+        MethodTimingProperties settings = properties.get();
+        return Timer.builder(metricName)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram(settings.percentilesHistogram())
+                .serviceLevelObjectives(settings.slo().toArray(Duration[]::new))
+                .register(registry.get());
+    }
+
+    private final class MethodTimers {
+
+        final Tags tags;
+        final Timer success;
+        final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodTimers(Tags tags) {
+            this.tags = tags;
+            this.success = timer(tags, "success", "none");
+        }
+
+        Timer failure(Throwable ex) {
+            return failures.computeIfAbsent(ex.getClass(),
+                    type -> timer(tags, "error", type.getSimpleName()));
+        }
+    }
+}
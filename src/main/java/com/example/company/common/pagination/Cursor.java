@@ -0,0 +1,101 @@
+package com.example.company.common.pagination;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset paginated listing: the sort key and id of the last item on a page. The next page is
+ * sought from the values carried in the cursor, so it needs no lookup of that item and still works after the
+ * item has been deleted.
+ *
+ * <p>Clients see the cursor as an opaque token, the URL-safe Base64 of {@code id} or {@code id:key}; they
+ * should pass it back unchanged rather than build one.
+ *
+ * @param id  the id of the last item
+ * @param key the sort key of the last item in string form, or null when the listing is ordered by id
+ */
+public record Cursor(long id, String key) {
+
+    /**
+     * @param id the id of the last item of a listing ordered by id
+     * @return the cursor
+     */
+    public static Cursor of(long id) {
+        return new Cursor(id, null);
+    }
+
+    /**
+     * @param id  the id of the last item
+     * @param key the sort key of the last item
+     * @return the cursor
+     */
+    public static Cursor of(long id, Object key) {
+        return new Cursor(id, key instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(key));
+    }
+
+    /**
+     * @return the token handed to clients
+     */
+    public String encode() {
+        String value = key == null ? Long.toString(id) : id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token a token from {@link #encode()}, or null
+     * @return the cursor, or null if there is no token
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return separator < 0
+                    ? of(Long.parseLong(value))
+                    : new Cursor(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * @return the sort key
+     * @throws IllegalArgumentException if the cursor has none, e.g. it was issued for another sort order
+     */
+    public String stringKey() {
+        if (key == null) {
+            throw new IllegalArgumentException("Cursor does not match the sort order");
+        }
+        return key;
+    }
+
+    /**
+     * @return the sort key as a decimal
+     * @throws IllegalArgumentException if the cursor has no decimal key
+     */
+    public BigDecimal decimalKey() {
+        try {
+            return new BigDecimal(stringKey());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor does not match the sort order");
+        }
+    }
+
+    /**
+     * @return the sort key as a date-time
+     * @throws IllegalArgumentException if the cursor has no date-time key
+     */
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(stringKey());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor does not match the sort order");
+        }
+    }
+}
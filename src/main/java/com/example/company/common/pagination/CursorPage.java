@@ -0,0 +1,62 @@
+package com.example.company.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset (cursor) paginated listing.
+ *
+ * @param items      the items on this page
+ * @param nextCursor the encoded {@link Cursor} to pass as {@code after} to fetch the next page, or {@code null}
+ *                   on the last page
+ * @param <T>        the item type
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Response header carrying the cursor of the next page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Hard server-side cap on the page size, regardless of what the client asks for.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Resolve the effective page size for a requested limit.
+     *
+     * @param limit the requested limit, may be null
+     * @return the limit clamped to {@link #MAX_LIMIT}, or {@link #DEFAULT_LIMIT} when none was requested
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of {@code limit + 1}; the extra row only signals
+     * that another page exists and is not returned.
+     *
+     * @param rows     the fetched rows, at most {@code limit + 1}
+     * @param limit    the page size
+     * @param cursorOf builds the cursor of an item from its sort key and id
+     * @param <T>      the item type
+     * @return the page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+}
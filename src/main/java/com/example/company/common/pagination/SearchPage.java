@@ -0,0 +1,40 @@
+package com.example.company.common.pagination;
+
+import java.util.List;
+
+/**
+ * A single page of relevance-ranked search results, paginated by offset.
+ *
+ * @param items the items on this page
+ * @param total the total number of matches, or {@code null} when it is not known
+ * @param <T>   the item type
+ */
+public record SearchPage<T>(List<T> items, Long total) {
+
+    /**
+     * Response header carrying the total number of matches.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * Cap on the offset, so deep pages cannot force ranking of arbitrarily many matches.
+     */
+    public static final int MAX_OFFSET = 10_000;
+
+    /**
+     * Resolve the effective offset for a requested offset.
+     *
+     * @param offset the requested offset, may be null
+     * @return the offset, 0 when none was requested
+     * @throws IllegalArgumentException if the offset is negative or above {@link #MAX_OFFSET}
+     */
+    public static int checkOffset(Integer offset) {
+        if (offset == null) {
+            return 0;
+        }
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new IllegalArgumentException("Offset must be between 0 and " + MAX_OFFSET);
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.company.common.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source that reports every executed statement to {@link SqlStatementCounter}.
+ *
+ * <p>Connections and statements are wrapped in JDK proxies: {@code execute*} calls are timed, everything else
+ * is passed straight through. With no counting scope open on the thread, the cost per statement is one
+ * thread-local lookup.
+ */
+public class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    /**
+     * Close the target, such as a connection pool, so replacing the pool's bean does not lose its shutdown.
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    /**
+     * Handles {@code equals} and {@code hashCode} on the proxy itself.
+     *
+     * @return the result, or null if the method is not one of them
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> args != null && args.length == 1 ? proxy == args[0] : null;
+            case "hashCode" -> args == null ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static String firstSqlArgument(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String sql ? sql : null;
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()},
+                        new StatementHandler(statement, firstSqlArgument(args)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @param sql the SQL the statement was prepared with, null for plain statements
+     */
+    private record StatementHandler(Statement target, String sql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identity(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                String executed = null;
+                if (!name.endsWith("Batch")) {
+                    // Plain statements carry their SQL as the argument, prepared statements were created with it
+                    executed = args != null && args.length > 0 ? firstSqlArgument(args) : sql;
+                }
+                SqlStatementCounter.record(executed, System.nanoTime() - start);
+            }
+        }
+    }
+}
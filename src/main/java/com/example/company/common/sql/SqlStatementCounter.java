@@ -0,0 +1,137 @@
+package com.example.company.common.sql;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements executed on the current thread while a scope is open, and the time spent
+ * executing them. Statements are reported by {@link CountingDataSource}; scopes nest, and a statement counts
+ * towards every open scope.
+ *
+ * <pre>{@code
+ * try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+ *     productService.deleteProduct(id);
+ *     assert statements.statements() == 1;
+ * }
+ * }</pre>
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Carry the current thread's scope over to a task that runs on another thread on its behalf, so the
+     * statements it executes count towards the scopes open on the calling thread. The calling thread must wait
+     * for the task to finish and must not close the scope meanwhile.
+     *
+     * @param task the task to run elsewhere
+     * @return the task, running with the calling thread's scope
+     */
+    public static Runnable propagate(Runnable task) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Start counting on the current thread.
+     *
+     * @return the scope, to be closed on the same thread
+     */
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @param sql   the statement text, or null for a JDBC batch, which is never treated as a repeat
+     * @param nanos the time spent executing it
+     */
+    static void record(String sql, long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.record(sql, nanos);
+        }
+    }
+
+    /**
+     * Statements counted since {@link #start()}.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> executions = new HashMap<>();
+        private int statements;
+        private long nanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * @return the number of statements executed, each JDBC batch counting once
+         */
+        public int statements() {
+            return statements;
+        }
+
+        /**
+         * @return the time spent executing statements
+         */
+        public Duration time() {
+            return Duration.ofNanos(nanos);
+        }
+
+        /**
+         * @param threshold the minimum number of executions
+         * @return the statements executed at least {@code threshold} times with their counts, most frequent
+         * first
+         */
+        public Map<String, Integer> repeatedStatements(int threshold) {
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            executions.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+            return repeated;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+
+        private void record(String sql, long elapsed) {
+            statements++;
+            nanos += elapsed;
+            if (sql != null) {
+                executions.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+}
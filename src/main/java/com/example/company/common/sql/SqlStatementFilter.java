@@ -0,0 +1,125 @@
+package com.example.company.common.sql;
+
+import com.example.company.common.config.SqlStatementProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements each request issues. Requests over {@link SqlStatementProperties#maxStatements()}
+ * and statements repeated {@link SqlStatementProperties#repeatThreshold()} times or more, the usual sign of
+ * an N+1 query, are logged as warnings. Optionally the count and database time are added to the response as
+ * {@code X-SQL-Statement-Count} and {@code Server-Timing: db;dur=<ms>}.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String TIMING_HEADER = "Server-Timing";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final SqlStatementProperties properties;
+
+    public SqlStatementFilter(SqlStatementProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            if (properties.responseHeaders()) {
+                HeaderWritingResponse wrapped = new HeaderWritingResponse(response, statements);
+                chain.doFilter(request, wrapped);
+                wrapped.writeHeaders();
+            } else {
+                chain.doFilter(request, response);
+            }
+            checkBudget(request, statements);
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatementCounter.Scope statements) {
+        if (statements.statements() > properties.maxStatements()) {
+            logger.warn("{} {} issued {} SQL statements in {} ms, over the budget of {}", request.getMethod(),
+                    request.getRequestURI(), statements.statements(), millis(statements), properties.maxStatements());
+        }
+        statements.repeatedStatements(properties.repeatThreshold()).forEach((sql, count) ->
+                logger.warn("{} {} executed the same statement {} times, possible N+1 query: {}",
+                        request.getMethod(), request.getRequestURI(), count, sql));
+    }
+
+    private static String millis(SqlStatementCounter.Scope statements) {
+        return String.format(Locale.ROOT, "%.3f", statements.time().toNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Adds the headers just before the response is committed. By the time the body is written the handler has
+     * run, so every statement of the request has been counted.
+     */
+    private static final class HeaderWritingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Scope statements;
+        private boolean written;
+
+        HeaderWritingResponse(HttpServletResponse response, SqlStatementCounter.Scope statements) {
+            super(response);
+            this.statements = statements;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(COUNT_HEADER, Integer.toString(statements.statements()));
+            addHeader(TIMING_HEADER, "db;dur=" + millis(statements));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.company.common.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts prices to and from a {@code long} count of cents, the scale of the {@code DECIMAL(10,2)} price
+ * column, so in-memory structures can add and compare money exactly without {@link BigDecimal}s.
+ */
+public final class Cents {
+
+    /**
+     * Number of decimal places of a price.
+     */
+    public static final int SCALE = 2;
+
+    private Cents() {
+    }
+
+    /**
+     * @param amount the amount; a value with more decimals is rounded half up, as the database does
+     * @return the amount in cents
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long of(BigDecimal amount) {
+        return of(amount, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * @param amount   the amount
+     * @param rounding how to round a value with more decimals, e.g. up for the lower bound of a range
+     * @return the amount in cents
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static long of(BigDecimal amount, RoundingMode rounding) {
+        return amount.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param cents an amount in cents
+     * @return the amount with two decimals
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
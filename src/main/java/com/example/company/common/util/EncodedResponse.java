@@ -0,0 +1,40 @@
+package com.example.company.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body encoded once and kept in both plain and gzip form, together with the headers that
+ * describe it, so it can be sent again without serializing or compressing anything.
+ *
+ * @param body    the encoded body
+ * @param gzipped the body compressed with gzip
+ * @param headers response headers that belong to the body, such as pagination cursors
+ */
+public record EncodedResponse(byte[] body, byte[] gzipped, Map<String, String> headers) {
+
+    /**
+     * @param body    the encoded body
+     * @param headers response headers that belong to the body
+     * @return the response, with the gzip form compressed up front
+     */
+    public static EncodedResponse of(byte[] body, Map<String, String> headers) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new EncodedResponse(body, compressed.toByteArray(), Map.copyOf(headers));
+    }
+
+    /**
+     * @return approximate heap footprint in bytes, for bounding a cache by size
+     */
+    public int weight() {
+        return body.length + gzipped.length;
+    }
+}
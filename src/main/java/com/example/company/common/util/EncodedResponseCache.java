@@ -0,0 +1,73 @@
+package com.example.company.common.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of {@link EncodedResponse}s.
+ *
+ * <p>Keys are expected to include a version of the underlying data, so a change never has to evict
+ * anything: requests simply start asking for new keys and old entries age out. Entries also expire a fixed
+ * time after they were encoded, however often they are read, so a response whose version failed to notice a
+ * change is not served for longer than that. When several requests miss
+ * the same key at once, the first one encodes the response on its own thread and the others wait for that
+ * result instead of encoding it again. No lock is held while encoding.
+ *
+ * @param <K> the key type
+ */
+public class EncodedResponseCache<K> {
+
+    private final AsyncCache<K, EncodedResponse> cache;
+
+    /**
+     * @param maxBytes upper bound on the total size of the cached bodies
+     * @param maxAge   how long a response is served after it was encoded
+     */
+    public EncodedResponseCache(long maxBytes, Duration maxAge) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((K key, EncodedResponse response) -> response.weight())
+                .expireAfterWrite(maxAge)
+                .buildAsync();
+    }
+
+    /**
+     * Return the cached response for a key, encoding it on a miss.
+     *
+     * @param key     the cache key
+     * @param encoder produces the response; runs at most once per key at a time
+     * @return the response
+     */
+    public EncodedResponse get(K key, Supplier<EncodedResponse> encoder) {
+        CompletableFuture<EncodedResponse> pending = new CompletableFuture<>();
+        CompletableFuture<EncodedResponse> existing = cache.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            EncodedResponse response = encoder.get();
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            // A failed future is dropped from the cache, so the next request tries again
+            pending.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static EncodedResponse await(CompletableFuture<EncodedResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.company.common.util;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A sparse fieldset requested with {@code ?fields=a,b,c}: the JSON properties of a resource the client
+ * wants back, in the order it listed them.
+ */
+public final class FieldSelection {
+
+    private static final TypeReference<Map<String, Object>> PROPERTIES = new TypeReference<>() {
+    };
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Parse a fieldset parameter.
+     *
+     * @param param   comma-separated property names
+     * @param allowed the properties the resource has
+     * @return the selection
+     * @throws IllegalArgumentException if no field is named or a field is not one of {@code allowed}
+     */
+    public static FieldSelection parse(String param, Set<String> allowed) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (String field : param.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unsupported field: " + name);
+            }
+            fields.add(name);
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be selected");
+        }
+        return new FieldSelection(fields);
+    }
+
+    /**
+     * @param available the properties a narrower projection of the resource provides
+     * @return whether that projection has every selected field, so it can be read instead of the full resource
+     */
+    public boolean isCoveredBy(Set<String> available) {
+        return available.containsAll(fields);
+    }
+
+    /**
+     * Reduce an item to the selected properties. Values are converted with the same mapper that writes
+     * responses, so they are formatted exactly as in the full representation.
+     *
+     * @param objectMapper the response mapper
+     * @param item         the item
+     * @return the selected properties, in the order they were requested
+     */
+    public Map<String, Object> apply(ObjectMapper objectMapper, Object item) {
+        Map<String, Object> properties = objectMapper.convertValue(item, PROPERTIES);
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            if (properties.containsKey(field)) {
+                selected.put(field, properties.get(field));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @param objectMapper the response mapper
+     * @param items        the items
+     * @return each item reduced to the selected properties
+     * @see #apply(ObjectMapper, Object)
+     */
+    public List<Map<String, Object>> apply(ObjectMapper objectMapper, List<?> items) {
+        List<Map<String, Object>> selected = new ArrayList<>(items.size());
+        for (Object item : items) {
+            selected.add(apply(objectMapper, item));
+        }
+        return selected;
+    }
+}
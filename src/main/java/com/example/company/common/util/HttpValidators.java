@@ -0,0 +1,95 @@
+package com.example.company.common.util;
+
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Helpers for the validators ({@code ETag}, {@code Last-Modified}) of entity responses.
+ *
+ * <p>When a {@link ResponseEntity} for a GET carries validators, Spring MVC answers a matching
+ * {@code If-None-Match} or {@code If-Modified-Since} with 304 and skips writing the body.
+ */
+public final class HttpValidators {
+
+    private HttpValidators() {
+    }
+
+    /**
+     * Strong entity tag of one version of a row: the row changes exactly when {@code updatedAt} does. The
+     * time is taken to the microsecond, the precision the database stores it with.
+     *
+     * @param id        the entity ID
+     * @param updatedAt the entity's last update time
+     * @return the quoted entity tag
+     */
+    public static String etag(Long id, LocalDateTime updatedAt) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        return "\"" + id + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    /**
+     * Start a 200 response with validators derived from the entity's ID and update time.
+     *
+     * @param id        the entity ID
+     * @param updatedAt the entity's last update time, in the system time zone; without it no validators are set
+     * @return the response builder
+     */
+    public static ResponseEntity.BodyBuilder ok(Long id, LocalDateTime updatedAt) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (id != null && updatedAt != null) {
+            response.eTag(etag(id, updatedAt))
+                    .lastModified(updatedAt.atZone(ZoneId.systemDefault()));
+        }
+        return response;
+    }
+
+    /**
+     * Entity tag of the gzip-encoded variant of a representation. The two encodings have different bytes, so
+     * they must not share a strong tag.
+     *
+     * @param etag the quoted tag of the unencoded representation
+     * @return the quoted tag of the gzip variant
+     */
+    public static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * @param acceptEncoding the {@code Accept-Encoding} request header, may be null
+     * @return whether the client accepts a gzip-encoded body
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !hasZeroQuality(parameters);
+            }
+            if (name.equals("*")) {
+                wildcard = !hasZeroQuality(parameters);
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static boolean hasZeroQuality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
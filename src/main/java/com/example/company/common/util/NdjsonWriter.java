@@ -0,0 +1,66 @@
+package com.example.company.common.util;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes values as newline-delimited JSON (one JSON document per line) to an output stream.
+ * Output is buffered and flushed to the client every {@code flushEvery} lines, so memory use
+ * stays constant no matter how many values are written.
+ */
+public class NdjsonWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_FLUSH_EVERY = 500;
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+    private final int flushEvery;
+    private long lines;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        this(objectMapper, out, DEFAULT_FLUSH_EVERY);
+    }
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream out, int flushEvery) {
+        this.writer = objectMapper.writer();
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Write a value as a single line.
+     *
+     * @param value the value to serialize
+     * @throws UncheckedIOException if the client went away or the stream failed
+     */
+    public void write(Object value) {
+        try {
+            out.write(writer.writeValueAsBytes(value));
+            out.write('\n');
+            if (++lines % flushEvery == 0) {
+                out.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Flush any buffered lines to the underlying stream.
+     *
+     * @throws IOException if the stream failed
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    public long getLines() {
+        return lines;
+    }
+}
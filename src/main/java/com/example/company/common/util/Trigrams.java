@@ -0,0 +1,125 @@
+package com.example.company.common.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Extracts character trigrams from text, encoded as {@code long} keys so they can be stored and
+ * compared without allocating strings.
+ *
+ * <p>Text is lower-cased and split into words of letters and digits. Indexed words are padded the
+ * way PostgreSQL's {@code pg_trgm} does it (two leading blanks, one trailing), so "cat" yields
+ * {@code "  c", " ca", "cat", "at "}. Query words of three or more characters only yield their inner
+ * trigrams, which makes any substring of an indexed word match all of its query trigrams; shorter
+ * query words yield their leading padded trigrams and therefore match as word prefixes.
+ */
+public final class Trigrams {
+
+    private static final long[] EMPTY = new long[0];
+    private static final char PAD = ' ';
+
+    private Trigrams() {
+    }
+
+    /**
+     * Trigrams of text to be indexed.
+     *
+     * @param text the text, may be null
+     * @return the distinct trigram keys in ascending order
+     */
+    public static long[] of(String text) {
+        return extract(text, true);
+    }
+
+    /**
+     * Trigrams of a search query.
+     *
+     * @param text the query, may be null
+     * @return the distinct trigram keys in ascending order
+     */
+    public static long[] ofQuery(String text) {
+        return extract(text, false);
+    }
+
+    /**
+     * Merge two sorted, distinct key arrays.
+     *
+     * @return the distinct keys of both arrays in ascending order
+     */
+    public static long[] union(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            long next;
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                next = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                next = b[j++];
+            } else {
+                next = a[i++];
+                j++;
+            }
+            result[size++] = next;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static long[] extract(String text, boolean padded) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        long[] keys = new long[2 * length + 1];
+        int size = 0;
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(normalized.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(normalized.charAt(i))) {
+                i++;
+            }
+            int wordLength = i - start;
+            if (wordLength == 0) {
+                break;
+            }
+            if (padded || wordLength < 3) {
+                // Positions in the virtual string "  " + word + " "; queries stop before the trailing blank
+                int count = padded ? wordLength + 1 : wordLength;
+                for (int k = 0; k < count; k++) {
+                    keys[size++] = encode(paddedCharAt(normalized, start, wordLength, k),
+                            paddedCharAt(normalized, start, wordLength, k + 1),
+                            paddedCharAt(normalized, start, wordLength, k + 2));
+                }
+            } else {
+                for (int k = start; k + 2 < i; k++) {
+                    keys[size++] = encode(normalized.charAt(k), normalized.charAt(k + 1), normalized.charAt(k + 2));
+                }
+            }
+        }
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(keys, 0, size);
+        int distinct = 1;
+        for (int k = 1; k < size; k++) {
+            if (keys[k] != keys[distinct - 1]) {
+                keys[distinct++] = keys[k];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static char paddedCharAt(String text, int start, int wordLength, int position) {
+        int offset = position - 2;
+        return offset >= 0 && offset < wordLength ? text.charAt(start + offset) : PAD;
+    }
+
+    private static long encode(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+}
@@ -1,15 +1,48 @@
 package com.example.company.domain.product.controller;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.common.util.EncodedResponse;
+import com.example.company.common.util.EncodedResponseCache;
+import com.example.company.common.util.FieldSelection;
+import com.example.company.common.util.HttpValidators;
+import com.example.company.common.util.NdjsonWriter;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.dto.StockAdjustment;
+import com.example.company.domain.product.dto.StockDelta;
+import com.example.company.domain.product.dto.StockLevel;
 import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.model.ProductSortField;
+import com.example.company.domain.product.service.CatalogVersion;
 import com.example.company.domain.product.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * REST controller for Product domain operations.
@@ -19,25 +52,167 @@ import java.util.List;
 @Tag(name = "Products", description = "Product management endpoints")
 public class ProductController {
 
+    private static final Set<String> PRODUCT_FIELDS =
+            Set.of("id", "name", "description", "price", "stockQuantity", "createdAt", "updatedAt");
+
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final EncodedResponseCache<VersionedPageKey> pageCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper,
+                             @Value("${app.products.page-cache.max-size:32MB}") DataSize pageCacheSize,
+                             @Value("${app.products.page-cache.max-age:1m}") Duration pageCacheMaxAge) {
         this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.pageCache = new EncodedResponseCache<>(pageCacheSize.toBytes(), pageCacheMaxAge);
     }
 
     @GetMapping
-    @Operation(summary = "Get all products", description = "Retrieve a list of all products")
-    public ResponseEntity<List<Product>> getAllProducts(@RequestParam(required = false) String name) {
+    @Operation(summary = "Get all products",
+            description = "Retrieve a page of products; the next page cursor is returned in the X-Next-Cursor "
+                    + "header. With name, search name and description by relevance, paginated by offset. With "
+                    + "minPrice and/or maxPrice, list the products in that price range ordered by price. "
+                    + "Returns 304 when the catalog has not changed since the ETag or date sent by the client")
+    @ApiResponse(responseCode = "200", description = "The page of products",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = Product.class))))
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String name,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(required = false) Integer offset,
+                                            @RequestParam(required = false) BigDecimal minPrice,
+                                            @RequestParam(required = false) BigDecimal maxPrice,
+                                            WebRequest request) {
+        boolean priceRange = isPriceRange(minPrice, maxPrice, name, sort);
         if (name != null && !name.isEmpty()) {
-            return ResponseEntity.ok(productService.searchProductsByName(name));
+            CatalogVersion.Stamp version = productService.getCatalogVersion();
+            if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+                // checkNotModified has already turned the response into a 304 with the validators set
+                return null;
+            }
+            return toResponse(productService.searchProductsByName(name, offset, limit), version);
+        }
+        if (priceRange) {
+            return cachedPage(new PageKey(after, limit, sort, minPrice, maxPrice, null), request,
+                    () -> productService.getProductsByPriceRange(minPrice, maxPrice, after, limit));
+        }
+        return cachedPage(new PageKey(after, limit, sort, null, null, null), request,
+                () -> productService.getProductsPage(after, limit, sort));
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get selected fields of products",
+            description = "Same listing as without fields, but each product only has the comma-separated "
+                    + "fields. A selection within id, name, price and stockQuantity is read without loading "
+                    + "descriptions and timestamps")
+    public ResponseEntity<?> getProductFields(@RequestParam String fields,
+                                              @RequestParam(required = false) String name,
+                                              @RequestParam(required = false) String after,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) String sort,
+                                              @RequestParam(required = false) Integer offset,
+                                              @RequestParam(required = false) BigDecimal minPrice,
+                                              @RequestParam(required = false) BigDecimal maxPrice,
+                                              WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, PRODUCT_FIELDS);
+        boolean priceRange = isPriceRange(minPrice, maxPrice, name, sort);
+        if (name != null && !name.isEmpty()) {
+            CatalogVersion.Stamp version = productService.getCatalogVersion();
+            if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+                return null;
+            }
+            SearchPage<Product> page = productService.searchProductsByName(name, offset, limit);
+            return toResponse(new SearchPage<>(selection.apply(objectMapper, page.items()), page.total()), version);
+        }
+        return cachedPage(new PageKey(after, limit, sort, minPrice, maxPrice, fields), request, () -> {
+            CursorPage<?> page;
+            if (priceRange) {
+                page = productService.getProductsByPriceRange(minPrice, maxPrice, after, limit);
+            } else if (selection.isCoveredBy(ProductSummary.FIELDS)) {
+                page = productService.getProductSummariesPage(after, limit, sort);
+            } else {
+                page = productService.getProductsPage(after, limit, sort);
+            }
+            return new CursorPage<>(selection.apply(objectMapper, page.items()), page.nextCursor());
+        });
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get products by IDs",
+            description = "Retrieve the products with the comma-separated IDs in one call, in request order; IDs "
+                    + "no product exists for are listed under missing. With fields, each product only has the "
+                    + "comma-separated fields")
+    public ResponseEntity<LookupResult<?>> getProductsByIds(@RequestParam List<Long> ids,
+                                                            @RequestParam(required = false) String fields) {
+        return toResponse(productService.getProductsByIds(ids), fields);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up products by IDs",
+            description = "Same as GET with ids, for ID lists too long for a URL: the body is a JSON array of up "
+                    + "to app.batch.max-items IDs")
+    public ResponseEntity<LookupResult<?>> lookupProducts(@RequestBody List<Long> ids,
+                                                          @RequestParam(required = false) String fields) {
+        return toResponse(productService.getProductsByIds(ids), fields);
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get inventory statistics",
+            description = "Retrieve the live SKU count, units in stock, inventory value (sum of price times stock) "
+                    + "and a histogram of products by stock quantity, maintained in memory as products change")
+    public ResponseEntity<ProductStats> getProductStats() {
+        return ResponseEntity.ok(productService.getProductStats());
+    }
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Get low-stock products",
+            description = "Retrieve a page of product stock levels at or below the threshold (0-100), ordered by "
+                    + "product ID; the next page cursor is returned in the X-Next-Cursor header. Returns 304 when "
+                    + "the catalog has not changed since the ETag or date sent by the client")
+    public ResponseEntity<List<StockLevel>> getLowStockProducts(@RequestParam(defaultValue = "10") int threshold,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                WebRequest request) {
+        CatalogVersion.Stamp version = productService.getCatalogVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified().toEpochMilli())) {
+            return null;
         }
-        return ResponseEntity.ok(productService.getAllProducts());
+        return toResponse(productService.getLowStockProducts(threshold, after, limit), version);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export products", description = "Stream all products as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            productService.exportProducts(writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID", description = "Retrieve a specific product by its ID")
+    @Operation(summary = "Get product by ID",
+            description = "Retrieve a specific product by its ID; returns 304 when the product has not changed "
+                    + "since the ETag or date sent by the client")
     public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+        Product product = productService.findProductById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        return HttpValidators.ok(product.getId(), product.getUpdatedAt()).body(product);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get selected fields of a product",
+            description = "Retrieve a specific product with only the comma-separated fields")
+    public ResponseEntity<Map<String, Object>> getProductFieldsById(@PathVariable Long id,
+                                                                    @RequestParam String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, PRODUCT_FIELDS);
+        Product product = productService.findProductById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        return HttpValidators.ok(product.getId(), product.getUpdatedAt()).body(selection.apply(objectMapper, product));
     }
 
     @PostMapping
@@ -47,16 +222,128 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create products in bulk",
+            description = "Create up to app.batch.max-items products in one request. Each item is validated on its "
+                    + "own: valid items are created, invalid ones are reported by index and skipped")
+    public ResponseEntity<BatchResult> createProducts(@RequestBody List<Product> products) {
+        return ResponseEntity.ok(productService.createProducts(products));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update product", description = "Update an existing product")
     public ResponseEntity<Product> updateProduct(@PathVariable Long id, @Valid @RequestBody Product product) {
         return ResponseEntity.ok(productService.updateProduct(id, product));
     }
 
+    @PostMapping("/{id}/stock/adjust")
+    @Operation(summary = "Adjust product stock",
+            description = "Add to or remove from the stock in one atomic update; returns 409 if the stock "
+                    + "would go below zero")
+    public ResponseEntity<StockLevel> adjustStock(@PathVariable Long id, @Valid @RequestBody StockDelta request) {
+        return ResponseEntity.ok(productService.adjustStock(id, request.delta()));
+    }
+
+    @PostMapping("/stock/adjust")
+    @Operation(summary = "Adjust stock of several products",
+            description = "Apply all adjustments atomically; if any product is missing or would go below zero, "
+                    + "none is applied")
+    public ResponseEntity<List<StockLevel>> adjustStocks(@RequestBody List<StockAdjustment> adjustments) {
+        return ResponseEntity.ok(productService.adjustStocks(adjustments));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete product", description = "Delete a product by ID")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Serve a listing page from the encoded page cache. Entries are keyed by catalog version, so the first
+     * request after a change encodes the page again, and concurrent requests for it wait for that one encoding.
+     * The cached bytes are written to the response as they are, in gzip form when the client accepts it.
+     */
+    private ResponseEntity<byte[]> cachedPage(PageKey page, WebRequest request, Supplier<CursorPage<?>> loader) {
+        CatalogVersion.Stamp version = productService.getCatalogVersion();
+        boolean gzip = HttpValidators.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        // Each content coding is a distinct representation, so it gets its own entity tag
+        String etag = gzip ? HttpValidators.gzipVariant(version.etag()) : version.etag();
+        if (request.checkNotModified(etag, version.lastModified().toEpochMilli())) {
+            return null;
+        }
+        EncodedResponse encoded = pageCache.get(new VersionedPageKey(version, page), () -> encode(loader.get()));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .lastModified(version.lastModified())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        encoded.headers().forEach(response::header);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzipped());
+        }
+        return response.body(encoded.body());
+    }
+
+    private ResponseEntity<LookupResult<?>> toResponse(LookupResult<Product> result, String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(result);
+        }
+        FieldSelection selection = FieldSelection.parse(fields, PRODUCT_FIELDS);
+        return ResponseEntity.ok(new LookupResult<>(selection.apply(objectMapper, result.items()), result.missing()));
+    }
+
+    private EncodedResponse encode(CursorPage<?> page) {
+        Map<String, String> headers = page.nextCursor() == null
+                ? Map.of()
+                : Map.of(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        return EncodedResponse.of(objectMapper.writeValueAsBytes(page.items()), headers);
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page, CatalogVersion.Stamp version) {
+        ResponseEntity.BodyBuilder response = ok(version);
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(SearchPage<T> page, CatalogVersion.Stamp version) {
+        ResponseEntity.BodyBuilder response = ok(version);
+        if (page.total() != null) {
+            response.header(SearchPage.TOTAL_COUNT_HEADER, page.total().toString());
+        }
+        return response.body(page.items());
+    }
+
+    private static ResponseEntity.BodyBuilder ok(CatalogVersion.Stamp version) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified());
+    }
+
+    /**
+     * @return whether the listing is restricted to a price range; such a listing is always ordered by price
+     * @throws IllegalArgumentException if a price range is combined with a name search or another sort key
+     */
+    private static boolean isPriceRange(BigDecimal minPrice, BigDecimal maxPrice, String name, String sort) {
+        if (minPrice == null && maxPrice == null) {
+            return false;
+        }
+        if (name != null && !name.isEmpty()) {
+            throw new IllegalArgumentException("minPrice and maxPrice cannot be combined with name");
+        }
+        ProductSortField sortField = ProductSortField.fromParam(sort);
+        if (sortField != ProductSortField.ID && sortField != ProductSortField.PRICE) {
+            throw new IllegalArgumentException("A price range is always sorted by price");
+        }
+        return true;
+    }
+
+    private record PageKey(String after, Integer limit, String sort, BigDecimal minPrice, BigDecimal maxPrice,
+                           String fields) {
+    }
+
+    private record VersionedPageKey(CatalogVersion.Stamp version, PageKey page) {
+    }
 }
@@ -0,0 +1,52 @@
+package com.example.company.domain.product.controller;
+
+import com.example.company.domain.product.dto.Reservation;
+import com.example.company.domain.product.dto.ReservationRequest;
+import com.example.company.domain.product.service.StockReservationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for stock reservations.
+ */
+@RestController
+@RequestMapping("/api/products")
+@Tag(name = "Stock Reservations", description = "Hold product stock during checkout")
+public class StockReservationController {
+
+    private final StockReservationService reservationService;
+
+    public StockReservationController(StockReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping("/{id}/reservations")
+    @Operation(summary = "Reserve stock",
+            description = "Hold stock until the reservation is confirmed, released or expires; returns 409 if "
+                    + "not enough stock is available")
+    public ResponseEntity<Reservation> reserve(@PathVariable Long id,
+                                               @Valid @RequestBody ReservationRequest request) {
+        Reservation reservation = reservationService.reserve(id, request.quantity());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @PostMapping("/reservations/{reservationId}/confirm")
+    @Operation(summary = "Confirm reservation", description = "Turn a reservation into a sale")
+    public ResponseEntity<Void> confirm(@PathVariable UUID reservationId) {
+        reservationService.confirm(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/reservations/{reservationId}")
+    @Operation(summary = "Release reservation", description = "Cancel a reservation and return its stock")
+    public ResponseEntity<Void> release(@PathVariable UUID reservationId) {
+        reservationService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.company.domain.product.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap summary of the product table that changes with every insert, delete and most updates, polled to notice
+ * catalog changes made through other instances.
+ *
+ * @param count         the number of products
+ * @param lastUpdatedAt the latest update time of any product, or null if there are none
+ */
+public record CatalogState(Long count, LocalDateTime lastUpdatedAt) {
+}
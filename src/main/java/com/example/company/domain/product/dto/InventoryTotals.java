@@ -0,0 +1,13 @@
+package com.example.company.domain.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregates over a range of products, as computed by the database for reconciliation.
+ *
+ * @param skuCount the number of products
+ * @param units    the total stock quantity
+ * @param value    the total of price times stock quantity
+ */
+public record InventoryTotals(Long skuCount, Long units, BigDecimal value) {
+}
@@ -0,0 +1,13 @@
+package com.example.company.domain.product.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Price aggregates over a range of products, as computed by the database for reconciliation.
+ *
+ * @param count      the number of products
+ * @param priceSum   the total of the prices
+ * @param idPriceSum the total of ID times price, which also changes when two products swap prices
+ */
+public record PriceTotals(Long count, BigDecimal priceSum, BigDecimal idPriceSum) {
+}
@@ -0,0 +1,24 @@
+package com.example.company.domain.product.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Live inventory statistics over the whole catalog.
+ *
+ * @param skuCount       the number of products
+ * @param totalUnits     the total stock quantity
+ * @param inventoryValue the total of price times stock quantity
+ * @param stockHistogram the number of products per stock range, in ascending order
+ */
+public record ProductStats(long skuCount, long totalUnits, BigDecimal inventoryValue,
+                           List<StockBucket> stockHistogram) {
+
+    /**
+     * @param minStock the lowest stock quantity in the range, or null for no lower bound
+     * @param maxStock the highest stock quantity in the range, or null for no upper bound
+     * @param count    the number of products with stock in the range
+     */
+    public record StockBucket(Integer minStock, Integer maxStock, long count) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.company.domain.product.dto;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Listing projection of a product: the columns a catalog page needs, without the description and the
+ * timestamps.
+ *
+ * @param id            the product ID
+ * @param name          the product name
+ * @param price         the price
+ * @param stockQuantity the stock quantity
+ */
+public record ProductSummary(Long id, String name, BigDecimal price, Integer stockQuantity) {
+
+    /**
+     * JSON properties this projection provides.
+     */
+    public static final Set<String> FIELDS = Set.of("id", "name", "price", "stockQuantity");
+}
@@ -0,0 +1,15 @@
+package com.example.company.domain.product.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A hold on product stock that must be confirmed or released before it expires.
+ *
+ * @param id        the reservation ID
+ * @param productId the reserved product
+ * @param quantity  the reserved quantity
+ * @param expiresAt when the hold lapses and the stock becomes available again
+ */
+public record Reservation(UUID id, Long productId, int quantity, Instant expiresAt) {
+}
@@ -0,0 +1,14 @@
+package com.example.company.domain.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Request body for reserving product stock.
+ *
+ * @param quantity the quantity to reserve
+ */
+public record ReservationRequest(
+        @NotNull(message = "Quantity is required")
+        @Positive(message = "Quantity must be greater than 0") Integer quantity) {
+}
@@ -0,0 +1,14 @@
+package com.example.company.domain.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One item of a bulk stock adjustment.
+ *
+ * @param productId the product to adjust
+ * @param delta     the quantity to add; negative to remove stock
+ */
+public record StockAdjustment(
+        @NotNull(message = "Product ID is required") Long productId,
+        @NotNull(message = "Delta is required") Integer delta) {
+}
@@ -0,0 +1,11 @@
+package com.example.company.domain.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for adjusting the stock of a single product.
+ *
+ * @param delta the quantity to add; negative to remove stock
+ */
+public record StockDelta(@NotNull(message = "Delta is required") Integer delta) {
+}
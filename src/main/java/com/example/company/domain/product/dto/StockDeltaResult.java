@@ -0,0 +1,13 @@
+package com.example.company.domain.product.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of writing stock deltas that were granted elsewhere, such as confirmed reservations.
+ *
+ * @param levels   the new stock level of each updated product
+ * @param rejected the deltas per product ID that were not written because the stock would have gone negative
+ */
+public record StockDeltaResult(List<StockLevel> levels, Map<Long, Integer> rejected) {
+}
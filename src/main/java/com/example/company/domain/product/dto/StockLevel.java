@@ -0,0 +1,10 @@
+package com.example.company.domain.product.dto;
+
+/**
+ * The stock of a product, as returned by stock adjustments and the low-stock listing.
+ *
+ * @param productId     the product ID
+ * @param stockQuantity the current stock quantity
+ */
+public record StockLevel(Long productId, Integer stockQuantity) {
+}
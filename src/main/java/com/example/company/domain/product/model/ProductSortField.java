@@ -0,0 +1,54 @@
+package com.example.company.domain.product.model;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort keys supported by the product listing. Every key is paired with the id as a tie-breaker so
+ * that {@code (sort_key, id)} is unique and can be used as a keyset seek predicate.
+ */
+public enum ProductSortField {
+
+    ID("id"),
+    PRICE("price"),
+    CREATED_AT("createdAt"),
+    NAME("name");
+
+    private final String property;
+
+    ProductSortField(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @return the {@code (sort_key, id)} ordering backed by the matching composite index
+     */
+    public Sort toSort() {
+        if (this == ID) {
+            return Sort.by(Sort.Order.asc("id"));
+        }
+        return Sort.by(Sort.Order.asc(property), Sort.Order.asc("id"));
+    }
+
+    /**
+     * Resolve a sort key from its request parameter value.
+     *
+     * @param value the parameter value, e.g. {@code price} or {@code createdAt}; null means {@link #ID}
+     * @return the sort key
+     * @throws IllegalArgumentException if the value is not a supported sort key
+     */
+    public static ProductSortField fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ProductSortField field : values()) {
+            if (field.property.equalsIgnoreCase(value)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + value);
+    }
+}
@@ -1,30 +1,357 @@
 package com.example.company.domain.product.repository;
 
+import com.example.company.domain.product.dto.CatalogState;
+import com.example.company.domain.product.dto.InventoryTotals;
+import com.example.company.domain.product.dto.PriceTotals;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.dto.StockLevel;
 import com.example.company.domain.product.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Product entity.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
+
+    /**
+     * JDBC fetch size used when streaming the whole table, so rows are pulled from the
+     * database cursor in batches instead of being materialized all at once.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Highest threshold the low-stock listing accepts; matches the predicate of the partial index
+     * {@code idx_products_low_stock}.
+     */
+    int LOW_STOCK_MAX_THRESHOLD = 100;
+
+    /**
+     * Highest price the {@code DECIMAL(10,2)} price column can hold; the upper bound of an open price range.
+     */
+    BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    /**
+     * Select clause of the {@link ProductSummary} projection. It reads only the listing columns, leaving
+     * the description and timestamps in the table.
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.company.domain.product.dto.ProductSummary("
+            + "p.id, p.name, p.price, p.stockQuantity) FROM Product p";
 
     /**
      * Find products by name containing the search term (case-insensitive).
      *
-     * @param name the search term
+     * @param name     the search term
+     * @param pageable page size and ordering
      * @return list of matching products
      */
-    List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /**
+     * Find products whose name or description contains the search term, ranked by trigram similarity
+     * of the name. PostgreSQL only: relies on {@code pg_trgm} and the GIN trigram indexes.
+     *
+     * @param query  the search term with LIKE wildcards escaped
+     * @param limit  maximum number of products to return
+     * @param offset number of products to skip
+     * @return matching products, most similar first
+     */
+    @Query(value = "SELECT * FROM products "
+            + "WHERE lower(name) LIKE '%' || lower(:query) || '%' "
+            + "OR lower(description) LIKE '%' || lower(:query) || '%' "
+            + "ORDER BY similarity(lower(name), lower(:query)) DESC, id "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Product> searchByTrigramSimilarity(@Param("query") String query, @Param("limit") int limit,
+                                            @Param("offset") int offset);
+
+    /**
+     * Fetch the page of products with stock at or below {@code threshold}, following {@code afterId} in id
+     * order. The query repeats the predicate of the partial index {@code idx_products_low_stock} as a literal,
+     * so the planner can answer it from that index.
+     *
+     * @param threshold the stock threshold, at most {@link #LOW_STOCK_MAX_THRESHOLD}
+     * @param afterId   the id of the last product on the previous page, or 0 for the first page
+     * @param pageable  page size
+     * @return the next page of low-stock products
+     */
+    @Query("SELECT new com.example.company.domain.product.dto.StockLevel(p.id, p.stockQuantity) FROM Product p "
+            + "WHERE p.stockQuantity <= " + LOW_STOCK_MAX_THRESHOLD
+            + " AND p.stockQuantity <= :threshold AND p.id > :afterId ORDER BY p.id")
+    List<StockLevel> findLowStock(@Param("threshold") int threshold, @Param("afterId") long afterId,
+                                  Pageable pageable);
+
+    /**
+     * Fetch the first page of products in the order given by the pageable's sort.
+     *
+     * @param pageable page size and {@code (sort_key, id)} ordering
+     * @return the first page of products, without a count query
+     */
+    @Query("SELECT p FROM Product p")
+    List<Product> findFirstPage(Pageable pageable);
+
+    /**
+     * Fetch the page of products following the given id, ordered by id.
+     *
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of products
+     */
+    @Query("SELECT p FROM Product p WHERE p.id > :afterId")
+    List<Product> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Fetch the page of products following {@code (price, afterId)}, ordered by price then id.
+     * The leading {@code price >= :price} lets the database start an index range scan at the cursor.
+     *
+     * @param price    the price of the last product on the previous page
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of products
+     */
+    @Query("SELECT p FROM Product p WHERE p.price >= :price AND (p.price > :price OR p.id > :afterId)")
+    List<Product> findPageAfterPrice(@Param("price") BigDecimal price, @Param("afterId") Long afterId,
+                                     Pageable pageable);
+
+    /**
+     * Fetch the page of products following {@code (createdAt, afterId)}, ordered by creation time then id.
+     *
+     * @param createdAt the creation time of the last product on the previous page
+     * @param afterId   the id of the last product on the previous page
+     * @param pageable  page size and ordering
+     * @return the next page of products
+     */
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :createdAt "
+            + "AND (p.createdAt > :createdAt OR p.id > :afterId)")
+    List<Product> findPageAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Fetch the page of products following {@code (name, afterId)}, ordered by name then id.
+     *
+     * @param name     the name of the last product on the previous page
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of products
+     */
+    @Query("SELECT p FROM Product p WHERE p.name >= :name AND (p.name > :name OR p.id > :afterId)")
+    List<Product> findPageAfterName(@Param("name") String name, @Param("afterId") Long afterId,
+                                    Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findFirstPage(Pageable)}.
+     *
+     * @param pageable page size and {@code (sort_key, id)} ordering
+     * @return the first page of product summaries
+     */
+    @Query(SUMMARY_SELECT)
+    List<ProductSummary> findSummaryFirstPage(Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findPageAfterId(Long, Pageable)}.
+     *
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of product summaries
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.id > :afterId")
+    List<ProductSummary> findSummaryPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findPageAfterPrice(BigDecimal, Long, Pageable)}.
+     *
+     * @param price    the price of the last product on the previous page
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of product summaries
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.price >= :price AND (p.price > :price OR p.id > :afterId)")
+    List<ProductSummary> findSummaryPageAfterPrice(@Param("price") BigDecimal price, @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findPageAfterName(String, Long, Pageable)}.
+     *
+     * @param name     the name of the last product on the previous page
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of product summaries
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.name >= :name AND (p.name > :name OR p.id > :afterId)")
+    List<ProductSummary> findSummaryPageAfterName(@Param("name") String name, @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * Stream all products ordered by id. Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of products backed by a database cursor
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    /**
+     * Add {@code delta} to a product's stock in a single conditional UPDATE. The row is only changed if the
+     * result is not negative, so concurrent decrements cannot oversell.
+     *
+     * @param id        the product ID
+     * @param delta     the quantity to add; negative to remove stock
+     * @param updatedAt the new modification time
+     * @return 1 if the stock was adjusted, 0 if the product does not exist or has too little stock
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.updatedAt = :updatedAt "
+            + "WHERE p.id = :id AND p.stockQuantity + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Delete a product with a single DELETE, without loading it first.
+     *
+     * @param id the product ID
+     * @return 1 if the product was deleted, 0 if it does not exist
+     */
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    /**
+     * Read a product's stock without loading the entity.
+     *
+     * @param id the product ID
+     * @return the stock quantity, or empty if the product does not exist
+     */
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantity(@Param("id") Long id);
+
+    /**
+     * Fetch the first page of products priced within a range, ordered by price then id, from the
+     * {@code (price, id)} index.
+     *
+     * @param minPrice lowest price, inclusive
+     * @param maxPrice highest price, inclusive
+     * @param pageable page size and {@code (price, id)} ordering
+     * @return the first page of products in the range
+     */
+    @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
+    List<Product> findPriceRangeFirstPage(@Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+
+    /**
+     * Fetch the page of products priced within a range following {@code (price, afterId)}, ordered by price
+     * then id.
+     *
+     * @param minPrice lowest price, inclusive
+     * @param maxPrice highest price, inclusive
+     * @param price    the price of the last product on the previous page
+     * @param afterId  the id of the last product on the previous page
+     * @param pageable page size and {@code (price, id)} ordering
+     * @return the next page of products in the range
+     */
+    @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice "
+            + "AND p.price >= :price AND (p.price > :price OR p.id > :afterId)")
+    List<Product> findPriceRangePageAfter(@Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice, @Param("price") BigDecimal price,
+                                          @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Aggregate the products in an ID range, for reconciling the in-memory inventory statistics.
+     *
+     * @param fromId the lowest product ID in the range
+     * @param toId   the highest product ID in the range
+     * @return the product count, total stock and total of price times stock in the range
+     */
+    @Query("SELECT new com.example.company.domain.product.dto.InventoryTotals(COUNT(p), "
+            + "COALESCE(SUM(p.stockQuantity), 0L), COALESCE(SUM(p.price * p.stockQuantity), 0)) "
+            + "FROM Product p WHERE p.id BETWEEN :fromId AND :toId")
+    InventoryTotals sumInventory(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Summarize the whole table for change detection; the maximum is read from the {@code updated_at} index.
+     *
+     * @return the product count and the latest update time
+     */
+    @Query("SELECT new com.example.company.domain.product.dto.CatalogState(COUNT(p), MAX(p.updatedAt)) "
+            + "FROM Product p")
+    CatalogState findCatalogState();
+
+    /**
+     * Aggregate the prices in an ID range, for reconciling the in-memory price index.
+     *
+     * @param fromId the lowest product ID in the range
+     * @param toId   the highest product ID in the range
+     * @return the product count, total price and total of ID times price in the range
+     */
+    @Query("SELECT new com.example.company.domain.product.dto.PriceTotals(COUNT(p), COALESCE(SUM(p.price), 0), "
+            + "COALESCE(SUM(p.id * p.price), 0)) FROM Product p WHERE p.id BETWEEN :fromId AND :toId")
+    PriceTotals sumPrices(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Count the products whose stock is within a range.
+     *
+     * @param min the lowest stock quantity, inclusive
+     * @param max the highest stock quantity, inclusive
+     * @return the number of products
+     */
+    long countByStockQuantityBetween(int min, int max);
+
+    /**
+     * @return the highest product ID, or null if there are no products
+     */
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Long findMaxId();
+
+    /**
+     * Fetch the listing projection of the products in an ID range.
+     *
+     * @param fromId the lowest product ID in the range
+     * @param toId   the highest product ID in the range
+     * @return the products in the range, in no particular order
+     */
+    @Query(SUMMARY_SELECT + " WHERE p.id BETWEEN :fromId AND :toId")
+    List<ProductSummary> findSummariesBetween(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Find the products updated at or after a point in time, e.g. the changes made since a catalog snapshot
+     * was written or since the previous poll of the change feed.
+     *
+     * @param since the earliest update time, inclusive
+     * @return the products updated since then, in no particular order
+     */
+    List<Product> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+    /**
+     * Fetch a page of product IDs in ascending order, read from the primary key index alone.
+     *
+     * @param afterId  the last ID of the previous page, or 0 for the first page
+     * @param pageable page size
+     * @return the IDs following {@code afterId}
+     */
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
 
     /**
-     * Find products with stock quantity less than or equal to specified value.
+     * Find which of the given product IDs still exist, read from the primary key index alone.
      *
-     * @param quantity the stock quantity threshold
-     * @return list of products with low stock
+     * @param ids the IDs to check
+     * @return the subset of {@code ids} that belong to existing products
      */
-    List<Product> findByStockQuantityLessThanEqual(Integer quantity);
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
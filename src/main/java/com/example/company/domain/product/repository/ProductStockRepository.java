@@ -0,0 +1,28 @@
+package com.example.company.domain.product.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stock adjustments that read the new quantity back in the same statement, where the database supports it.
+ * Implemented by {@link ProductStockRepositoryImpl} and mixed into {@link ProductRepository}.
+ */
+public interface ProductStockRepository {
+
+    /**
+     * @return whether {@link #adjustStockReturning(Long, int, LocalDateTime)} is available, i.e. the database
+     * is PostgreSQL
+     */
+    boolean supportsAdjustStockReturning();
+
+    /**
+     * Add {@code delta} to a product's stock like {@link ProductRepository#adjustStock(Long, int, LocalDateTime)}
+     * and return the new quantity in the same round trip, with {@code UPDATE ... RETURNING}. PostgreSQL only.
+     *
+     * @param id        the product ID
+     * @param delta     the quantity to add; negative to remove stock
+     * @param updatedAt the new modification time
+     * @return the new stock quantity, or empty if the product does not exist or has too little stock
+     */
+    Optional<Integer> adjustStockReturning(Long id, int delta, LocalDateTime updatedAt);
+}
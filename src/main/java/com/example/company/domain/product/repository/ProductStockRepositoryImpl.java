@@ -0,0 +1,45 @@
+package com.example.company.domain.product.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link ProductStockRepository} backed by a native {@code UPDATE ... RETURNING}. H2 has no {@code RETURNING}
+ * clause, so the dialect is checked once, on first use.
+ */
+class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean returningSupported;
+
+    @Override
+    public boolean supportsAdjustStockReturning() {
+        Boolean supported = returningSupported;
+        if (supported == null) {
+            supported = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+            returningSupported = supported;
+        }
+        return supported;
+    }
+
+    @Override
+    public Optional<Integer> adjustStockReturning(Long id, int delta, LocalDateTime updatedAt) {
+        List<?> rows = entityManager.createNativeQuery("UPDATE products "
+                        + "SET stock_quantity = stock_quantity + :delta, updated_at = :updatedAt "
+                        + "WHERE id = :id AND stock_quantity + :delta >= 0 RETURNING stock_quantity")
+                .setParameter("id", id)
+                .setParameter("delta", delta)
+                .setParameter("updatedAt", updatedAt)
+                .getResultList();
+        return rows.stream().findFirst().map(stockQuantity -> ((Number) stockQuantity).intValue());
+    }
+}
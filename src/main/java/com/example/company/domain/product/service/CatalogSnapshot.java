@@ -0,0 +1,390 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.util.Cents;
+import com.example.company.domain.product.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Read-only binary snapshot of the product catalog, memory-mapped from a file.
+ *
+ * <p>Layout, big-endian:
+ * <pre>
+ * header   magic "PCAT", format version, created-at epoch millis, row count, row width, string table offset
+ * rows     one fixed-width row per product in ascending ID order:
+ *          id, price in cents, stock, name offset/length, description offset/length (-1 when null),
+ *          created-at and updated-at as epoch microseconds (Long.MIN_VALUE when null)
+ * strings  UTF-8 bytes of every name and description, addressed by the offsets in the rows
+ * </pre>
+ *
+ * <p>The file is mapped with {@link FileChannel#map}, so rows are read straight from the page cache and take
+ * no heap. Looking a product up by ID is a binary search over the fixed-width rows, and scanning names compares
+ * bytes in place; only the rows actually returned are turned into {@link Product} objects. Mappings are limited
+ * to 2 GB, which is tens of millions of products.
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x50434154;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int HEADER_CREATED_AT = 8;
+    private static final int HEADER_ROW_COUNT = 16;
+    private static final int HEADER_ROW_WIDTH = 20;
+    private static final int HEADER_STRINGS_OFFSET = 24;
+
+    private static final int ROW_ID = 0;
+    private static final int ROW_PRICE = 8;
+    private static final int ROW_STOCK = 16;
+    private static final int ROW_NAME_OFFSET = 20;
+    private static final int ROW_NAME_LENGTH = 24;
+    private static final int ROW_DESCRIPTION_OFFSET = 28;
+    private static final int ROW_DESCRIPTION_LENGTH = 32;
+    private static final int ROW_CREATED_AT = 36;
+    private static final int ROW_UPDATED_AT = 44;
+    private static final int ROW_BYTES = 52;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int stringsOffset;
+    private final Instant createdAt;
+
+    private CatalogSnapshot(ByteBuffer buffer, int size, int stringsOffset, Instant createdAt) {
+        this.buffer = buffer;
+        this.size = size;
+        this.stringsOffset = stringsOffset;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Map a snapshot file. The mapping stays valid after the file is replaced or deleted.
+     *
+     * @param path the snapshot file
+     * @return the mapped snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot " + path + " is too large to map: " + length + " bytes");
+            }
+            if (length < HEADER_BYTES) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                || buffer.getInt(HEADER_ROW_WIDTH) != ROW_BYTES) {
+            throw new IOException("Not a catalog snapshot of format version " + FORMAT_VERSION + ": " + path);
+        }
+        int size = buffer.getInt(HEADER_ROW_COUNT);
+        long stringsOffset = buffer.getLong(HEADER_STRINGS_OFFSET);
+        if (size < 0 || stringsOffset != HEADER_BYTES + (long) size * ROW_BYTES || stringsOffset > buffer.limit()) {
+            throw new IOException("Truncated catalog snapshot: " + path);
+        }
+        return new CatalogSnapshot(buffer, size, (int) stringsOffset,
+                Instant.ofEpochMilli(buffer.getLong(HEADER_CREATED_AT)));
+    }
+
+    /**
+     * @return the number of products in the snapshot
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return when the export this snapshot was written from started
+     */
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Find the row of a product.
+     *
+     * @param id the product ID
+     * @return the row index, or {@code -(insertion point) - 1} if the product is not in the snapshot
+     */
+    public int indexOf(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = id(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @param row the row index
+     * @return the product ID of the row
+     */
+    public long id(int row) {
+        return buffer.getLong(rowOffset(row) + ROW_ID);
+    }
+
+    /**
+     * Whether the row's name contains the query, ignoring ASCII case. Compares bytes in the mapping without
+     * decoding the name.
+     *
+     * @param row   the row index
+     * @param query the query as returned by {@link #query(String)}
+     * @return whether the name contains the query
+     */
+    public boolean nameContains(int row, byte[] query) {
+        int offset = rowOffset(row);
+        int start = stringsOffset + buffer.getInt(offset + ROW_NAME_OFFSET);
+        int last = start + buffer.getInt(offset + ROW_NAME_LENGTH) - query.length;
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < query.length; j++) {
+                if (lowerAscii(buffer.get(i + j)) != query[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fold only ASCII letters, like {@link #nameContains(int, byte[])} does for the name: full Unicode lowercasing
+     * can change the length or bytes of other characters, e.g. the Kelvin sign, so they would never match.
+     *
+     * @param text the search text
+     * @return the text in the form {@link #nameContains(int, byte[])} compares
+     */
+    public static byte[] query(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = lowerAscii(bytes[i]);
+        }
+        return bytes;
+    }
+
+    /**
+     * Whether a text contains the query, ignoring ASCII case, matching it the way
+     * {@link #nameContains(int, byte[])} matches a row's name.
+     *
+     * @param text  the text to search
+     * @param query the query as returned by {@link #query(String)}
+     * @return whether the text contains the query
+     */
+    static boolean contains(String text, byte[] query) {
+        byte[] bytes = query(text);
+        outer:
+        for (int i = 0; i <= bytes.length - query.length; i++) {
+            for (int j = 0; j < query.length; j++) {
+                if (bytes[i + j] != query[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Materialize a row.
+     *
+     * @param row the row index
+     * @return a new, detached product with the row's values
+     */
+    public Product product(int row) {
+        int offset = rowOffset(row);
+        return new Product(
+                buffer.getLong(offset + ROW_ID),
+                string(buffer.getInt(offset + ROW_NAME_OFFSET), buffer.getInt(offset + ROW_NAME_LENGTH)),
+                string(buffer.getInt(offset + ROW_DESCRIPTION_OFFSET),
+                        buffer.getInt(offset + ROW_DESCRIPTION_LENGTH)),
+                Cents.toDecimal(buffer.getLong(offset + ROW_PRICE)),
+                buffer.getInt(offset + ROW_STOCK),
+                timestamp(buffer.getLong(offset + ROW_CREATED_AT)),
+                timestamp(buffer.getLong(offset + ROW_UPDATED_AT)));
+    }
+
+    private static int rowOffset(int row) {
+        return HEADER_BYTES + row * ROW_BYTES;
+    }
+
+    private String string(int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(stringsOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte lowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static LocalDateTime timestamp(long epochMicros) {
+        if (epochMicros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000),
+                (int) Math.floorMod(epochMicros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+    private static long epochMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    /**
+     * Writes a snapshot file. Products must be added in ascending ID order. Rows and strings are spooled to
+     * temporary files next to the target and assembled on {@link #commit()}, which replaces the target
+     * atomically, so readers never see a partial file.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path target;
+        private final Instant createdAt;
+        private final Path rowsFile;
+        private final Path stringsFile;
+        private final DataOutputStream rows;
+        private final DataOutputStream strings;
+        private int size;
+        private long stringBytes;
+        private long lastId = Long.MIN_VALUE;
+
+        /**
+         * @param target    the snapshot file to write
+         * @param createdAt when the export being written started
+         * @throws IOException if the temporary files cannot be created
+         */
+        public Writer(Path target, Instant createdAt) throws IOException {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            this.target = target;
+            this.createdAt = createdAt;
+            this.rowsFile = Files.createTempFile(directory, target.getFileName().toString(), ".rows");
+            this.stringsFile = Files.createTempFile(directory, target.getFileName().toString(), ".strings");
+            this.rows = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(rowsFile)));
+            this.strings = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(stringsFile)));
+        }
+
+        /**
+         * @param product the next product, with an ID greater than the previous one
+         * @throws IOException              if the row cannot be written
+         * @throws IllegalArgumentException if the ID is not ascending
+         */
+        public void add(Product product) throws IOException {
+            if (product.getId() <= lastId) {
+                throw new IllegalArgumentException("Products must be added in ascending ID order");
+            }
+            lastId = product.getId();
+            rows.writeLong(product.getId());
+            rows.writeLong(Cents.of(product.getPrice()));
+            rows.writeInt(product.getStockQuantity());
+            writeString(product.getName());
+            writeString(product.getDescription());
+            rows.writeLong(epochMicros(product.getCreatedAt()));
+            rows.writeLong(epochMicros(product.getUpdatedAt()));
+            size++;
+        }
+
+        /**
+         * Assemble the snapshot and move it into place.
+         *
+         * @return the number of products written
+         * @throws IOException if the file cannot be written or is too large to map
+         */
+        public int commit() throws IOException {
+            rows.close();
+            strings.close();
+            long stringsOffset = HEADER_BYTES + (long) size * ROW_BYTES;
+            if (stringsOffset + stringBytes > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot would exceed 2 GB");
+            }
+            Path assembled = Files.createTempFile(target.toAbsolutePath().getParent(),
+                    target.getFileName().toString(), ".tmp");
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(createdAt.toEpochMilli())
+                        .putInt(size)
+                        .putInt(ROW_BYTES)
+                        .putLong(stringsOffset)
+                        .flip();
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+                append(out, rowsFile);
+                append(out, stringsFile);
+                out.force(true);
+            } catch (IOException ex) {
+                Files.deleteIfExists(assembled);
+                throw ex;
+            }
+            Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+            strings.close();
+            Files.deleteIfExists(rowsFile);
+            Files.deleteIfExists(stringsFile);
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                rows.writeInt(0);
+                rows.writeInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            rows.writeInt((int) stringBytes);
+            rows.writeInt(bytes.length);
+            strings.write(bytes);
+            stringBytes += bytes.length;
+            if (stringBytes > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot string table would exceed 2 GB");
+            }
+        }
+
+        private static void append(FileChannel out, Path file) throws IOException {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                long position = 0;
+                long length = in.size();
+                while (position < length) {
+                    position += in.transferTo(position, length - position, out);
+                }
+            }
+        }
+    }
+}
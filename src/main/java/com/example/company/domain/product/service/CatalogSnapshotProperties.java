@@ -0,0 +1,22 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for the binary catalog snapshot.
+ *
+ * @param path          the snapshot file; snapshots are neither written nor read when unset
+ * @param writeInterval delay between snapshot writes
+ * @param serve         whether to map the snapshot at startup and answer product reads from it, with changes
+ *                      committed since it was written overlaid from the database
+ */
+@ConfigurationProperties(prefix = "app.products.snapshot")
+public record CatalogSnapshotProperties(
+        Path path,
+        @DefaultValue("15m") Duration writeInterval,
+        @DefaultValue("false") boolean serve) {
+}
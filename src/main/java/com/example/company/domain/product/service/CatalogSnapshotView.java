@@ -0,0 +1,344 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Read-only view of the catalog served from a memory-mapped {@link CatalogSnapshot} with recent changes laid
+ * over it, used when {@code app.products.snapshot.serve} is enabled.
+ *
+ * <p>At startup the snapshot file is mapped and every product updated since it was written, plus a tombstone
+ * for every product deleted since, is read from the database into the overlay; after that committed changes
+ * arrive as {@link ProductChangeListener} events. Changes committed by other instances arrive the same way,
+ * from the {@link ProductChangeFeed}: it polls the rows updated since its previous poll and finds deleted rows
+ * by comparing IDs with the table, so the overlay catches up within its intervals. A polled row can be older
+ * than a local change recorded meanwhile, so saves older than the overlaid or snapshot row are skipped. The
+ * overlay is a sorted map, so lookups check it first and ID-ordered reads merge it with the snapshot rows. When
+ * a newer snapshot is written the view switches to it and drops the overlay entries it already contains.
+ */
+@Component
+public class CatalogSnapshotView implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotView.class);
+
+    /**
+     * Changes stamped by other instances shortly before the snapshot was written are overlaid too, in case
+     * their clocks are behind.
+     */
+    static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(1);
+
+    private static final int ID_PAGE_SIZE = 10_000;
+
+    private final ProductRepository productRepository;
+    private final CatalogSnapshotProperties properties;
+    private final ConcurrentSkipListMap<Long, Change> overlay = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean recording;
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshotView(ProductRepository productRepository, CatalogSnapshotProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        // Record changes from the start, so none committed while the snapshot is being opened are missed
+        this.recording = properties.serve() && properties.path() != null;
+    }
+
+    /**
+     * @return whether reads are answered from the snapshot
+     */
+    public boolean isServing() {
+        return snapshot != null;
+    }
+
+    /**
+     * Map the snapshot file and overlay the changes made since it was written. Does nothing unless serving is
+     * enabled; if there is no readable snapshot, the view stays off and reads go to the database.
+     *
+     * @return whether the view is now serving
+     */
+    public boolean open() {
+        if (!recording) {
+            return false;
+        }
+        Path path = properties.path();
+        try {
+            if (!Files.isReadable(path)) {
+                logger.info("No catalog snapshot at {}; reading products from the database", path);
+            } else {
+                CatalogSnapshot opened = CatalogSnapshot.open(path);
+                // Changes a lagging replica has not applied yet would never be overlaid
+                try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+                    overlayChangesSince(opened);
+                }
+                snapshot = opened;
+                logger.info("Serving {} products from catalog snapshot {} written at {}, {} changed since",
+                        opened.size(), path, opened.createdAt(), overlay.size());
+                return true;
+            }
+        } catch (IOException ex) {
+            logger.warn("Cannot read catalog snapshot {}; reading products from the database", path, ex);
+        }
+        recording = false;
+        overlay.clear();
+        return false;
+    }
+
+    /**
+     * Switch to a newly written snapshot, if serving.
+     *
+     * @param path             the new snapshot file
+     * @param exportedSequence the {@link #currentSequence()} read before the export for the snapshot started;
+     *                         every change up to it is in the new snapshot
+     * @throws IOException if the file cannot be mapped
+     */
+    public void replace(Path path, long exportedSequence) throws IOException {
+        if (snapshot == null) {
+            return;
+        }
+        snapshot = CatalogSnapshot.open(path);
+        overlay.values().removeIf(change -> change.sequence() <= exportedSequence);
+    }
+
+    /**
+     * @return the sequence number of the last recorded change
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        if (!recording) {
+            return;
+        }
+        long changeSequence = sequence.incrementAndGet();
+        Product saved = copy(product);
+        overlay.compute(product.getId(), (key, change) -> {
+            Product current = change != null ? change.product() : snapshotProduct(key);
+            if (current != null && isOlder(saved.getUpdatedAt(), current.getUpdatedAt())) {
+                return change;
+            }
+            return new Change(changeSequence, saved);
+        });
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        if (!recording) {
+            return;
+        }
+        long changeSequence = sequence.incrementAndGet();
+        overlay.compute(id, (key, change) -> {
+            Product current = change != null ? change.product() : snapshotProduct(key);
+            if (current == null) {
+                return change;
+            }
+            Product updated = copy(current);
+            updated.setStockQuantity(stockQuantity);
+            return new Change(changeSequence, updated);
+        });
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        if (recording) {
+            overlay.put(id, new Change(sequence.incrementAndGet(), null));
+        }
+    }
+
+    /**
+     * @param id the product ID
+     * @return the product, or empty if it does not exist
+     */
+    public Optional<Product> find(long id) {
+        Change change = overlay.get(id);
+        if (change != null) {
+            return Optional.ofNullable(change.product()).map(CatalogSnapshotView::copy);
+        }
+        return Optional.ofNullable(snapshotProduct(id));
+    }
+
+    /**
+     * @param after the ID of the last product on the previous page, or null for the first page
+     * @param limit maximum number of products to return
+     * @return the products following {@code after} in ID order
+     */
+    public List<Product> page(Long after, int limit) {
+        CatalogSnapshot current = snapshot;
+        List<Product> rows = new ArrayList<>(Math.min(limit, 64));
+        walk(current, after, row -> {
+            rows.add(current.product(row));
+            return rows.size() < limit;
+        }, product -> {
+            rows.add(copy(product));
+            return rows.size() < limit;
+        });
+        return rows;
+    }
+
+    /**
+     * Find products whose name contains the search term, ignoring ASCII case, in ID order. Snapshot rows are
+     * matched in the mapping without being materialized.
+     *
+     * @param name   the search term
+     * @param offset number of matches to skip
+     * @param limit  maximum number of matches to return
+     * @return the requested page of matches, without a total
+     */
+    public SearchPage<Product> search(String name, int offset, int limit) {
+        CatalogSnapshot current = snapshot;
+        byte[] query = CatalogSnapshot.query(name);
+        List<Product> rows = new ArrayList<>(Math.min(limit, 64));
+        int[] skipped = {0};
+        walk(current, null, row -> {
+            if (current.nameContains(row, query)) {
+                if (skipped[0] < offset) {
+                    skipped[0]++;
+                } else {
+                    rows.add(current.product(row));
+                }
+            }
+            return rows.size() < limit;
+        }, product -> {
+            if (CatalogSnapshot.contains(product.getName(), query)) {
+                if (skipped[0] < offset) {
+                    skipped[0]++;
+                } else {
+                    rows.add(copy(product));
+                }
+            }
+            return rows.size() < limit;
+        });
+        return new SearchPage<>(rows, null);
+    }
+
+    /**
+     * Feed every product to a consumer in ID order, e.g. to load the in-memory projections without reading
+     * the table.
+     *
+     * @param consumer receives each product in turn
+     * @return the number of products
+     */
+    public long forEach(Consumer<Product> consumer) {
+        CatalogSnapshot current = snapshot;
+        long[] count = {0};
+        walk(current, null, row -> {
+            consumer.accept(current.product(row));
+            count[0]++;
+            return true;
+        }, product -> {
+            consumer.accept(copy(product));
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Visit snapshot rows and overlaid products after {@code after} in ID order, skipping rows the overlay
+     * replaces or deletes, until a visitor returns false.
+     */
+    private void walk(CatalogSnapshot current, Long after, IntPredicate onRow, Predicate<Product> onChange) {
+        int row = 0;
+        if (after != null) {
+            int position = current.indexOf(after);
+            row = position >= 0 ? position + 1 : -position - 1;
+        }
+        Iterator<Map.Entry<Long, Change>> changes =
+                (after == null ? overlay : overlay.tailMap(after, false)).entrySet().iterator();
+        Map.Entry<Long, Change> change = changes.hasNext() ? changes.next() : null;
+        while (row < current.size() || change != null) {
+            long rowId = row < current.size() ? current.id(row) : Long.MAX_VALUE;
+            if (change != null && change.getKey() <= rowId) {
+                if (change.getKey() == rowId) {
+                    row++;
+                }
+                Product product = change.getValue().product();
+                change = changes.hasNext() ? changes.next() : null;
+                if (product != null && !onChange.test(product)) {
+                    return;
+                }
+            } else if (!onRow.test(row++)) {
+                return;
+            }
+        }
+    }
+
+    private void overlayChangesSince(CatalogSnapshot opened) {
+        LocalDateTime since = LocalDateTime.ofInstant(opened.createdAt().minus(CLOCK_SKEW_MARGIN),
+                ZoneId.systemDefault());
+        // Changes already recorded as events are at least as new as the rows read here, so they win
+        for (Product product : productRepository.findByUpdatedAtGreaterThanEqual(since)) {
+            overlay.putIfAbsent(product.getId(), new Change(0, product));
+        }
+        // Deleted products leave no row behind, so compare the IDs in the table with the snapshot's
+        int row = 0;
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = productRepository.findIdsAfter(afterId, PageRequest.of(0, ID_PAGE_SIZE));
+            for (long id : ids) {
+                while (row < opened.size() && opened.id(row) < id) {
+                    overlay.putIfAbsent(opened.id(row++), new Change(0, null));
+                }
+                if (row < opened.size() && opened.id(row) == id) {
+                    row++;
+                }
+                afterId = id;
+            }
+        } while (ids.size() == ID_PAGE_SIZE);
+        while (row < opened.size()) {
+            overlay.putIfAbsent(opened.id(row++), new Change(0, null));
+        }
+    }
+
+    private static boolean isOlder(LocalDateTime updatedAt, LocalDateTime currentAt) {
+        return updatedAt != null && currentAt != null && updatedAt.isBefore(currentAt);
+    }
+
+    private Product snapshotProduct(long id) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        int row = current.indexOf(id);
+        return row >= 0 ? current.product(row) : null;
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStockQuantity(), product.getCreatedAt(), product.getUpdatedAt());
+    }
+
+    /**
+     * A change laid over the snapshot.
+     *
+     * @param sequence order in which changes were recorded; 0 for changes read at startup
+     * @param product  the product's new state, or null if it was deleted
+     */
+    private record Change(long sequence, Product product) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.company.domain.product.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Periodically writes the catalog to the {@link CatalogSnapshot} file configured by
+ * {@code app.products.snapshot.path}, and switches the {@link CatalogSnapshotView} to the new file when it
+ * serves reads.
+ */
+@Component
+public class CatalogSnapshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotWriter.class);
+
+    private final ProductService productService;
+    private final CatalogSnapshotView snapshotView;
+    private final CatalogSnapshotProperties properties;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public CatalogSnapshotWriter(ProductService productService, CatalogSnapshotView snapshotView,
+                                 CatalogSnapshotProperties properties) {
+        this.productService = productService;
+        this.snapshotView = snapshotView;
+        this.properties = properties;
+    }
+
+    /**
+     * Write a snapshot of the catalog. Does nothing when no path is configured; on failure the previous
+     * snapshot stays in place and the write is retried next time.
+     */
+    @Scheduled(fixedDelayString = "${app.products.snapshot.write-interval:15m}",
+            initialDelayString = "${app.products.snapshot.write-interval:15m}")
+    public void write() {
+        Path path = properties.path();
+        if (path == null || !writeLock.tryLock()) {
+            return;
+        }
+        try {
+            // Changes recorded before the export starts are all in the new snapshot
+            long sequence = snapshotView.currentSequence();
+            int count = productService.writeCatalogSnapshot(path, Instant.now());
+            snapshotView.replace(path, sequence);
+            logger.info("Wrote catalog snapshot of {} products to {}", count, path);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Failed to write catalog snapshot to {}, will retry", path, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
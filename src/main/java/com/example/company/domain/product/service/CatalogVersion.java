@@ -0,0 +1,115 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.domain.product.dto.CatalogState;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version stamp of the product catalog as a whole, used as the validator for conditional GETs on product
+ * listings.
+ *
+ * <p>Every product change committed by this instance bumps the version, so as long as the stamp is unchanged
+ * every listing computed from the catalog is unchanged too and can be answered with 304 without running a
+ * query. Changes committed elsewhere are noticed by polling the product count and latest update time every
+ * {@link ProductChangeFeedProperties#pollInterval()}, and by the {@link ProductChangeFeed}, so a stamp cannot
+ * outlive a change by more than about one poll. The stamp lives in this process only: each instance starts from
+ * a random epoch, so after a restart or on another instance clients simply get a full response instead of a
+ * stale one.
+ */
+@Component
+public class CatalogVersion implements ProductChangeListener {
+
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+    private final ProductRepository productRepository;
+    private final Clock clock;
+    private final AtomicReference<Stamp> current;
+    private volatile CatalogState lastState;
+
+    @Autowired
+    public CatalogVersion(ProductRepository productRepository) {
+        this(productRepository, Clock.systemUTC());
+    }
+
+    CatalogVersion(ProductRepository productRepository, Clock clock) {
+        this.productRepository = productRepository;
+        this.clock = clock;
+        this.current = new AtomicReference<>(new Stamp(epoch, 0, clock.instant()));
+    }
+
+    /**
+     * Read the stamp before computing a listing: a change committed while the listing is computed then moves
+     * the version past the returned stamp, so a listing is never tagged with a stamp newer than its data.
+     *
+     * @return the current catalog version
+     */
+    public Stamp current() {
+        return current.get();
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        bump();
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        bump();
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        bump();
+    }
+
+    /**
+     * Bump the version if the product count or latest update time has changed since the previous poll, e.g.
+     * because another instance deleted a product.
+     *
+     * @return whether the version was bumped
+     */
+    @Scheduled(fixedDelayString = "${app.products.change-feed.poll-interval:10s}",
+            initialDelayString = "${app.products.change-feed.poll-interval:10s}")
+    public boolean refresh() {
+        CatalogState state;
+        // A lagging replica could report a state older than a change this instance already served
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            state = productRepository.findCatalogState();
+        }
+        CatalogState previous = lastState;
+        lastState = state;
+        if (previous == null || previous.equals(state)) {
+            return false;
+        }
+        bump();
+        return true;
+    }
+
+    private void bump() {
+        Instant now = clock.instant();
+        current.updateAndGet(stamp -> new Stamp(epoch, stamp.version() + 1, now));
+    }
+
+    /**
+     * @param epoch        random per-process prefix
+     * @param version      number of changes since startup
+     * @param lastModified when the catalog last changed, or startup time
+     */
+    public record Stamp(String epoch, long version, Instant lastModified) {
+
+        /**
+         * @return the strong entity tag for this version, quoted
+         */
+        public String etag() {
+            return "\"" + epoch + "-" + version + "\"";
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.util.Cents;
+import com.example.company.domain.product.dto.InventoryTotals;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running inventory totals over the whole catalog: SKU count, units in stock, inventory value and a stock
+ * histogram, kept current from committed product changes so that reading them never scans {@code products}.
+ *
+ * <p>Each change is applied as the difference between the product's previous and new state. Money is held as
+ * a long count of {@link Cents}, so the totals are exact and cheap to update; the totals themselves are
+ * {@link LongAdder}s, so reads cost the same whatever the catalog size. A read concurrent with a change may see
+ * some totals before the change and some after.
+ *
+ * <p>Totals can drift when a change reaches the database without an event, e.g. SQL run by hand. A periodic
+ * reconciliation compares the totals of each product ID range with aggregates computed by the database,
+ * several ranges in parallel, and reloads only the ranges that differ.
+ */
+@Component
+public class InventoryStats implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryStats.class);
+
+    /**
+     * Inclusive upper bounds of the stock histogram buckets; one more bucket holds everything above the last.
+     */
+    static final int[] STOCK_BUCKET_MAX = {0, 10, 100, 1000};
+
+    /**
+     * Width of the product ID ranges reconciled as one unit.
+     */
+    static final long RECONCILE_CHUNK_IDS = 10_000;
+
+    private final ProductRepository productRepository;
+    private final InventoryStatsProperties properties;
+    private final ConcurrentSkipListMap<Long, Holding> holdings = new ConcurrentSkipListMap<>();
+    private final LongAdder skuCount = new LongAdder();
+    private final LongAdder totalUnits = new LongAdder();
+    private final LongAdder totalValueCents = new LongAdder();
+    private final LongAdder[] stockBuckets = new LongAdder[STOCK_BUCKET_MAX.length + 1];
+    // Bumped by every event, so reconciliation can tell whether a change raced with its database read
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean ready;
+
+    public InventoryStats(ProductRepository productRepository, InventoryStatsProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        for (int i = 0; i < stockBuckets.length; i++) {
+            stockBuckets[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        changes.incrementAndGet();
+        put(product.getId(), new Holding(Cents.of(product.getPrice()), product.getStockQuantity()));
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        changes.incrementAndGet();
+        while (true) {
+            Holding previous = holdings.get(id);
+            if (previous == null) {
+                // Price unknown; reconciliation picks the product up
+                return;
+            }
+            Holding next = new Holding(previous.priceCents(), stockQuantity);
+            if (holdings.replace(id, previous, next)) {
+                apply(previous, next);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        changes.incrementAndGet();
+        remove(id);
+    }
+
+    @Override
+    public void onLoadComplete() {
+        ready = true;
+    }
+
+    /**
+     * @return whether the initial load has completed and the totals cover the whole catalog
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the current totals, read in constant time
+     */
+    public ProductStats snapshot() {
+        long[] counts = new long[stockBuckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = stockBuckets[i].sum();
+        }
+        return stats(skuCount.sum(), totalUnits.sum(), totalValueCents.sum(), counts);
+    }
+
+    /**
+     * Compute the statistics with aggregate queries, for use before the initial load has completed.
+     *
+     * @return the statistics as of now in the database
+     */
+    public ProductStats computeFromDatabase() {
+        InventoryTotals totals = productRepository.sumInventory(Long.MIN_VALUE, Long.MAX_VALUE);
+        long[] counts = new long[stockBuckets.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = productRepository.countByStockQuantityBetween(
+                    i == 0 ? Integer.MIN_VALUE : STOCK_BUCKET_MAX[i - 1] + 1,
+                    i == STOCK_BUCKET_MAX.length ? Integer.MAX_VALUE : STOCK_BUCKET_MAX[i]);
+        }
+        return stats(totals.skuCount(), totals.units(), Cents.of(totals.value()), counts);
+    }
+
+    /**
+     * Compare the totals with the database range by range and reload the ranges that differ.
+     *
+     * @return the number of products whose state was corrected
+     */
+    @Scheduled(fixedDelayString = "${app.products.stats.reconcile-interval:10m}",
+            initialDelayString = "${app.products.stats.reconcile-interval:10m}")
+    public int reconcile() {
+        if (!ready) {
+            return 0;
+        }
+        Long maxId = productRepository.findMaxId();
+        long upper = Math.max(maxId == null ? 0 : maxId, holdings.isEmpty() ? 0 : holdings.lastKey());
+        List<Callable<Integer>> ranges = new ArrayList<>();
+        for (long from = 1; from <= upper; from += RECONCILE_CHUNK_IDS) {
+            long rangeFrom = from;
+            long rangeTo = Math.min(upper, from + RECONCILE_CHUNK_IDS - 1);
+            ranges.add(() -> reconcileRange(rangeFrom, rangeTo));
+        }
+        int corrected = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(properties.reconcileParallelism(),
+                Thread.ofVirtual().name("inventory-reconcile-", 0).factory())) {
+            for (Future<Integer> range : executor.invokeAll(ranges)) {
+                corrected += range.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return corrected;
+        } catch (ExecutionException ex) {
+            logger.error("Inventory statistics reconciliation failed, will retry", ex.getCause());
+            return corrected;
+        }
+        if (corrected > 0) {
+            logger.warn("Inventory statistics had drifted from the database; corrected {} products", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileRange(long from, long to) {
+        // A lagging replica would look like drift, so compare with the primary
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            long changesBefore = changes.get();
+            InventoryTotals expected = productRepository.sumInventory(from, to);
+            if (matches(expected, holdings.subMap(from, true, to, true).values())) {
+                return 0;
+            }
+            List<ProductSummary> rows = productRepository.findSummariesBetween(from, to);
+            if (changes.get() != changesBefore) {
+                // The difference may just be a change still on its way here; check again next time
+                logger.debug("Skipping reconciliation of products {}-{}: changed while reading", from, to);
+                return 0;
+            }
+            int corrected = 0;
+            Set<Long> present = new HashSet<>();
+            for (ProductSummary row : rows) {
+                present.add(row.id());
+                Holding actual = new Holding(Cents.of(row.price()), row.stockQuantity());
+                if (!actual.equals(holdings.get(row.id()))) {
+                    put(row.id(), actual);
+                    corrected++;
+                }
+            }
+            for (Long id : holdings.subMap(from, true, to, true).keySet()) {
+                if (!present.contains(id) && remove(id)) {
+                    corrected++;
+                }
+            }
+            return corrected;
+        }
+    }
+
+    private static boolean matches(InventoryTotals expected, Collection<Holding> holdings) {
+        long count = 0;
+        long units = 0;
+        long valueCents = 0;
+        for (Holding holding : holdings) {
+            count++;
+            units += holding.stock();
+            valueCents += holding.valueCents();
+        }
+        return count == expected.skuCount() && units == expected.units()
+                && valueCents == Cents.of(expected.value());
+    }
+
+    private void put(long id, Holding next) {
+        while (true) {
+            Holding previous = holdings.get(id);
+            if (previous == null ? holdings.putIfAbsent(id, next) == null : holdings.replace(id, previous, next)) {
+                apply(previous, next);
+                return;
+            }
+        }
+    }
+
+    private boolean remove(long id) {
+        Holding previous = holdings.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        apply(previous, null);
+        return true;
+    }
+
+    private void apply(Holding previous, Holding next) {
+        if (previous != null) {
+            skuCount.decrement();
+            totalUnits.add(-previous.stock());
+            totalValueCents.add(-previous.valueCents());
+            stockBuckets[bucketOf(previous.stock())].decrement();
+        }
+        if (next != null) {
+            skuCount.increment();
+            totalUnits.add(next.stock());
+            totalValueCents.add(next.valueCents());
+            stockBuckets[bucketOf(next.stock())].increment();
+        }
+    }
+
+    private static int bucketOf(int stock) {
+        int bucket = 0;
+        while (bucket < STOCK_BUCKET_MAX.length && stock > STOCK_BUCKET_MAX[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static ProductStats stats(long skuCount, long units, long valueCents, long[] bucketCounts) {
+        List<ProductStats.StockBucket> histogram = new ArrayList<>(bucketCounts.length);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            histogram.add(new ProductStats.StockBucket(
+                    i == 0 ? null : STOCK_BUCKET_MAX[i - 1] + 1,
+                    i == STOCK_BUCKET_MAX.length ? null : STOCK_BUCKET_MAX[i],
+                    bucketCounts[i]));
+        }
+        return new ProductStats(skuCount, units, Cents.toDecimal(valueCents), histogram);
+    }
+
+    /**
+     * State of one product as far as the totals are concerned.
+     */
+    private record Holding(long priceCents, int stock) {
+
+        long valueCents() {
+            return priceCents * stock;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory inventory statistics.
+ *
+ * @param reconcileInterval    delay between reconciliations of the running totals against the database
+ * @param reconcileParallelism   number of product ID ranges reconciled concurrently, each on its own connection
+ */
+@ConfigurationProperties(prefix = "app.products.stats")
+public record InventoryStatsProperties(
+        @DefaultValue("10m") Duration reconcileInterval,
+        @DefaultValue("4") int reconcileParallelism) {
+}
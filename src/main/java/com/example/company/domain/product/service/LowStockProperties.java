@@ -0,0 +1,16 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory set of low-stock products.
+ *
+ * @param reconcileInterval delay between comparisons of the set with the low-stock rows in the database
+ */
+@ConfigurationProperties(prefix = "app.products.low-stock")
+public record LowStockProperties(
+        @DefaultValue("5m") Duration reconcileInterval) {
+}
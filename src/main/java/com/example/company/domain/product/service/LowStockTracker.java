@@ -0,0 +1,162 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.domain.product.dto.StockLevel;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory set of the products whose stock is at or below {@link ProductRepository#LOW_STOCK_MAX_THRESHOLD},
+ * kept current from committed product changes so the low-stock listing can be answered without a query.
+ *
+ * <p>Entries are ordered by product ID, matching the keyset order of the database query. Reads do not lock.
+ *
+ * <p>Changes made through other instances arrive from the {@link ProductChangeFeed}, and a polled row can be
+ * older than a local change delivered just before it. A periodic reconciliation therefore reads the low-stock
+ * rows from the partial index page by page and corrects the pages that differ.
+ */
+@Component
+public class LowStockTracker implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockTracker.class);
+
+    private static final int RECONCILE_PAGE_SIZE = 10_000;
+
+    private final ProductRepository productRepository;
+    private final ConcurrentSkipListMap<Long, Integer> stockById = new ConcurrentSkipListMap<>();
+    // Bumped by every event, so reconciliation can tell whether a change raced with its database read
+    private final AtomicLong changes = new AtomicLong();
+    private volatile boolean ready;
+
+    public LowStockTracker(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        onStockChanged(product.getId(), product.getStockQuantity());
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        changes.incrementAndGet();
+        if (stockQuantity <= ProductRepository.LOW_STOCK_MAX_THRESHOLD) {
+            stockById.put(id, stockQuantity);
+        } else {
+            stockById.remove(id);
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        changes.incrementAndGet();
+        stockById.remove(id);
+    }
+
+    @Override
+    public void onLoadComplete() {
+        ready = true;
+    }
+
+    /**
+     * @return whether the initial load has completed and pages are answered from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Fetch a page of low-stock products in ID order.
+     *
+     * @param threshold the stock threshold, at most {@link ProductRepository#LOW_STOCK_MAX_THRESHOLD}
+     * @param afterId   the ID of the last product on the previous page, or null for the first page
+     * @param limit     maximum number of products to return
+     * @return the products with stock at or below {@code threshold} following {@code afterId}
+     */
+    public List<StockLevel> page(int threshold, Long afterId, int limit) {
+        ConcurrentNavigableMap<Long, Integer> tail = afterId == null ? stockById : stockById.tailMap(afterId, false);
+        List<StockLevel> rows = new ArrayList<>(Math.min(limit, 64));
+        for (Map.Entry<Long, Integer> entry : tail.entrySet()) {
+            if (rows.size() == limit) {
+                break;
+            }
+            if (entry.getValue() <= threshold) {
+                rows.add(new StockLevel(entry.getKey(), entry.getValue()));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Compare the set with the low-stock rows in the database, one page of IDs at a time, and correct the
+     * pages that differ.
+     *
+     * @return the number of products whose entry was corrected
+     */
+    @Scheduled(fixedDelayString = "${app.products.low-stock.reconcile-interval:5m}",
+            initialDelayString = "${app.products.low-stock.reconcile-interval:5m}")
+    public int reconcile() {
+        if (!ready) {
+            return 0;
+        }
+        int corrected = 0;
+        long afterId = 0;
+        List<StockLevel> rows;
+        // A lagging replica would look like drift, so compare with the primary
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            do {
+                long changesBefore = changes.get();
+                rows = productRepository.findLowStock(ProductRepository.LOW_STOCK_MAX_THRESHOLD, afterId,
+                        PageRequest.of(0, RECONCILE_PAGE_SIZE));
+                long from = afterId + 1;
+                long to = rows.size() == RECONCILE_PAGE_SIZE ? rows.getLast().productId() : Long.MAX_VALUE;
+                if (changes.get() == changesBefore) {
+                    corrected += reconcileRange(from, to, rows);
+                } else {
+                    // The difference may just be a change still on its way here; check again next time
+                    logger.debug("Skipping reconciliation of low stock {}-{}: changed while reading", from, to);
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.getLast().productId();
+                }
+            } while (rows.size() == RECONCILE_PAGE_SIZE);
+        }
+        if (corrected > 0) {
+            logger.warn("Low-stock set had drifted from the database; corrected {} products", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileRange(long from, long to, List<StockLevel> rows) {
+        Map<Long, Integer> actual = new HashMap<>(rows.size() * 2);
+        for (StockLevel row : rows) {
+            actual.put(row.productId(), row.stockQuantity());
+        }
+        int corrected = 0;
+        for (Map.Entry<Long, Integer> row : actual.entrySet()) {
+            if (!row.getValue().equals(stockById.put(row.getKey(), row.getValue()))) {
+                corrected++;
+            }
+        }
+        for (Long id : stockById.subMap(from, true, to, true).keySet()) {
+            if (!actual.containsKey(id)) {
+                stockById.remove(id);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+}
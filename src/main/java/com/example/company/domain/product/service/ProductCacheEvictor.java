@@ -0,0 +1,41 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts committed product changes from the product cache, so the next read loads the new state.
+ */
+@Component
+public class ProductCacheEvictor implements ProductChangeListener {
+
+    private final CacheManager cacheManager;
+
+    public ProductCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        evict(product.getId());
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        evict(id);
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        evict(id);
+    }
+
+    private void evict(Long id) {
+        Cache cache = cacheManager.getCache(ProductService.PRODUCT_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.batch.IdLookup;
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Feeds product changes committed by other instances, or by anything else that writes the table, to the other
+ * {@link ProductChangeListener}s, so the in-memory projections of every instance converge on the database.
+ *
+ * <p>Products updated since the previous poll are read by {@code updated_at} and delivered as
+ * {@link ProductChangeListener#onSaved(Product)}; each poll reaches back {@link #CLOCK_SKEW_MARGIN} for clock
+ * skew between instances and transactions that commit a while after stamping their rows, and a row already
+ * delivered or saved locally with the same update time is not delivered again. Deleted products leave no row
+ * behind, so deletes are found less often by comparing the IDs in the table with the known ones, and delivered
+ * as {@link ProductChangeListener#onDeleted(Long)}.
+ *
+ * <p>Deletes committed while the startup load is still reading the table are delivered again once it has
+ * completed, in case the load read the row before it was deleted. A row read by a poll can still be older than
+ * a local change delivered meanwhile, so listeners skip saves older than the state they hold.
+ */
+@Component
+public class ProductChangeFeed implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductChangeFeed.class);
+
+    /**
+     * How far before the previous poll each poll starts reading.
+     */
+    static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(1);
+
+    private static final int ID_PAGE_SIZE = 10_000;
+
+    private final ProductRepository productRepository;
+    private final List<ProductChangeListener> listeners;
+    // Update time of each product saved within the poll window, as last delivered or saved locally
+    private final Map<Long, LocalDateTime> delivered = new ConcurrentHashMap<>();
+    // IDs of the products known to exist, guarded by itself; IDs beyond the int range are not tracked
+    private final BitSet known = new BitSet();
+    private final Set<Long> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime polledFrom = LocalDateTime.now();
+    private volatile boolean ready;
+
+    public ProductChangeFeed(ProductRepository productRepository, List<ProductChangeListener> listeners) {
+        this.productRepository = productRepository;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        setKnown(product.getId(), true);
+        LocalDateTime updatedAt = product.getUpdatedAt();
+        if (updatedAt != null && !updatedAt.isBefore(polledFrom.minus(CLOCK_SKEW_MARGIN))) {
+            delivered.merge(product.getId(), updatedAt, (previous, next) -> next.isAfter(previous) ? next : previous);
+        }
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        // The adjustment stamped the row before committing, so the row a poll reads is not newer than now
+        delivered.put(id, LocalDateTime.now());
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        setKnown(id, false);
+        delivered.remove(id);
+        if (!ready) {
+            deletedDuringLoad.add(id);
+        }
+    }
+
+    @Override
+    public void onLoadComplete() {
+        ready = true;
+        for (Long id : deletedDuringLoad) {
+            deliver(listener -> listener.onDeleted(id));
+        }
+        deletedDuringLoad.clear();
+    }
+
+    /**
+     * Deliver the products updated since the previous poll that this instance has not seen yet.
+     *
+     * @return the number of delivered products
+     */
+    @Scheduled(fixedDelayString = "${app.products.change-feed.poll-interval:10s}",
+            initialDelayString = "${app.products.change-feed.poll-interval:10s}")
+    public int poll() {
+        if (!ready) {
+            return 0;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = polledFrom.minus(CLOCK_SKEW_MARGIN);
+        List<Product> rows;
+        // A lagging replica would hold back changes past the point the next poll starts from
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            rows = productRepository.findByUpdatedAtGreaterThanEqual(since);
+        }
+        int count = 0;
+        for (Product row : rows) {
+            if (markDelivered(row.getId(), row.getUpdatedAt())) {
+                setKnown(row.getId(), true);
+                deliver(listener -> listener.onSaved(row));
+                count++;
+            }
+        }
+        polledFrom = startedAt;
+        delivered.values().removeIf(updatedAt -> updatedAt.isBefore(since));
+        if (count > 0) {
+            logger.debug("Delivered {} products changed elsewhere", count);
+        }
+        return count;
+    }
+
+    /**
+     * Deliver a delete for every known product that is no longer in the table.
+     *
+     * @return the number of delivered deletes
+     */
+    @Scheduled(fixedDelayString = "${app.products.change-feed.delete-check-interval:5m}",
+            initialDelayString = "${app.products.change-feed.delete-check-interval:5m}")
+    public int checkDeletes() {
+        if (!ready) {
+            return 0;
+        }
+        BitSet present = new BitSet();
+        List<Long> candidates = new ArrayList<>();
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            long afterId = 0;
+            List<Long> ids;
+            do {
+                ids = productRepository.findIdsAfter(afterId, PageRequest.of(0, ID_PAGE_SIZE));
+                for (long id : ids) {
+                    if (id <= Integer.MAX_VALUE) {
+                        present.set((int) id);
+                    }
+                    afterId = id;
+                }
+            } while (ids.size() == ID_PAGE_SIZE);
+            synchronized (known) {
+                BitSet gone = (BitSet) known.clone();
+                gone.andNot(present);
+                for (int id = gone.nextSetBit(0); id >= 0; id = gone.nextSetBit(id + 1)) {
+                    candidates.add((long) id);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+            // Products saved after the scan read their ID range are missing from it, so check the rest again
+            Set<Long> existing = new HashSet<>();
+            for (int from = 0; from < candidates.size(); from += IdLookup.CHUNK_SIZE) {
+                existing.addAll(productRepository.findExistingIds(
+                        candidates.subList(from, Math.min(from + IdLookup.CHUNK_SIZE, candidates.size()))));
+            }
+            candidates.removeAll(existing);
+        }
+        for (Long id : candidates) {
+            setKnown(id, false);
+            delivered.remove(id);
+            deliver(listener -> listener.onDeleted(id));
+        }
+        if (!candidates.isEmpty()) {
+            logger.info("Delivered {} products deleted elsewhere", candidates.size());
+        }
+        return candidates.size();
+    }
+
+    private boolean markDelivered(long id, LocalDateTime updatedAt) {
+        boolean[] newer = {false};
+        delivered.compute(id, (key, previous) -> {
+            if (previous != null && !updatedAt.isAfter(previous)) {
+                return previous;
+            }
+            newer[0] = true;
+            return updatedAt;
+        });
+        return newer[0];
+    }
+
+    private void setKnown(long id, boolean exists) {
+        if (id < 0 || id > Integer.MAX_VALUE) {
+            return;
+        }
+        synchronized (known) {
+            known.set((int) id, exists);
+        }
+    }
+
+    private void deliver(Consumer<ProductChangeListener> notification) {
+        for (ProductChangeListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                logger.error("Product change listener {} failed", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the feed of product changes made by other instances.
+ *
+ * @param pollInterval        delay between reads of the products updated since the previous read; bounds how long
+ *                            the in-memory projections miss a change made through another instance
+ * @param deleteCheckInterval delay between comparisons of the product IDs in the table with the known ones, which
+ *                            is how deletes made through another instance are found
+ */
+@ConfigurationProperties(prefix = "app.products.change-feed")
+public record ProductChangeFeedProperties(
+        @DefaultValue("10s") Duration pollInterval,
+        @DefaultValue("5m") Duration deleteCheckInterval) {
+}
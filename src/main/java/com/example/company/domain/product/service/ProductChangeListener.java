@@ -0,0 +1,40 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+
+/**
+ * Receives committed product changes so that in-memory projections of the catalog stay in sync
+ * with the database. Implementations are picked up as beans and fed by {@link ProductService}:
+ * once with every product at startup, then with each change after its transaction commits.
+ */
+public interface ProductChangeListener {
+
+    /**
+     * A product was loaded, created or updated.
+     *
+     * @param product the current state of the product
+     */
+    void onSaved(Product product);
+
+    /**
+     * A product's stock was adjusted in place, without the rest of the product being reloaded.
+     *
+     * @param id            the product ID
+     * @param stockQuantity the new stock quantity
+     */
+    default void onStockChanged(Long id, int stockQuantity) {
+    }
+
+    /**
+     * A product was deleted.
+     *
+     * @param id the ID of the deleted product
+     */
+    void onDeleted(Long id);
+
+    /**
+     * The initial load of every product has completed; the projection is now complete.
+     */
+    default void onLoadComplete() {
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.util.Cents;
+import com.example.company.domain.product.dto.PriceTotals;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process index of products ordered by {@code (price, id)}, the order of the price-range listing.
+ *
+ * <p>Prices are held in {@link Cents} in two parallel primitive arrays sorted by price then ID, so a range page
+ * is a binary search for its first entry followed by a sequential read: O(log n + k), without the database. A
+ * write shifts the tail of the arrays, which is a single memory move even for a few hundred thousand products.
+ * Each product's price and update time are also kept in three parallel arrays sorted by ID, where new products,
+ * whose IDs come from a sequence, are appended. That is 40 bytes per product, up to twice that while the arrays
+ * have room to grow, or about 8 MB for 100,000 products. During the initial load only the arrays by ID are
+ * filled, and the price order is sorted once when the load completes.
+ *
+ * <p>Reads run concurrently; writes take a short exclusive lock.
+ *
+ * <p>Changes made through other instances arrive from the {@link ProductChangeFeed}; a save older than the
+ * indexed state of the product is ignored, since a polled row can be older than a local change delivered just
+ * before it. A periodic reconciliation compares price aggregates of each product ID range with the database and
+ * reloads only the ranges that differ.
+ */
+@Component
+public class ProductPriceIndex implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductPriceIndex.class);
+
+    /**
+     * Width of the product ID ranges reconciled as one unit.
+     */
+    static final long RECONCILE_CHUNK_IDS = 10_000;
+
+    /**
+     * Update time of an entry whose update time is not known, older than any other.
+     */
+    private static final long UNKNOWN_UPDATE = Long.MIN_VALUE;
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Bumped by every event, so reconciliation can tell whether a change raced with its database read
+    private final AtomicLong changes = new AtomicLong();
+    // Entries in (price, id) order
+    private long[] prices = new long[0];
+    private long[] ids = new long[0];
+    private int size;
+    // Entries in ID order, with the update time in epoch microseconds
+    private long[] entryIds = new long[0];
+    private long[] entryPrices = new long[0];
+    private long[] entryUpdates = new long[0];
+    private int entries;
+    private volatile boolean ready;
+
+    public ProductPriceIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        changes.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            long updatedAt = micros(product.getUpdatedAt());
+            int at = entryIndex(product.getId());
+            if (at >= 0 && updatedAt != UNKNOWN_UPDATE && updatedAt < entryUpdates[at]) {
+                return;
+            }
+            put(product.getId(), Cents.of(product.getPrice()), updatedAt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        changes.incrementAndGet();
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onLoadComplete() {
+        lock.writeLock().lock();
+        try {
+            // Entries are in ID order, so a stable sort by price leaves equal prices in ID order
+            Integer[] sorted = new Integer[entries];
+            Arrays.setAll(sorted, i -> i);
+            Arrays.sort(sorted, Comparator.comparingLong(i -> entryPrices[i]));
+            size = entries;
+            prices = new long[Math.max(size, 16)];
+            ids = new long[prices.length];
+            for (int i = 0; i < size; i++) {
+                ids[i] = entryIds[sorted[i]];
+                prices[i] = entryPrices[sorted[i]];
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compare the indexed prices with the database range by range and reload the ranges that differ.
+     *
+     * @return the number of products whose entry was corrected
+     */
+    @Scheduled(fixedDelayString = "${app.products.price-index.reconcile-interval:10m}",
+            initialDelayString = "${app.products.price-index.reconcile-interval:10m}")
+    public int reconcile() {
+        if (!ready) {
+            return 0;
+        }
+        int corrected = 0;
+        // A lagging replica would look like drift, so compare with the primary
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            Long maxId = productRepository.findMaxId();
+            long upper = Math.max(maxId == null ? 0 : maxId, lastIndexedId());
+            for (long from = 1; from <= upper; from += RECONCILE_CHUNK_IDS) {
+                corrected += reconcileRange(from, Math.min(upper, from + RECONCILE_CHUNK_IDS - 1));
+            }
+        }
+        if (corrected > 0) {
+            logger.warn("Price index had drifted from the database; corrected {} products", corrected);
+        }
+        return corrected;
+    }
+
+    private int reconcileRange(long from, long to) {
+        long changesBefore = changes.get();
+        PriceTotals expected = productRepository.sumPrices(from, to);
+        if (matches(expected, from, to)) {
+            return 0;
+        }
+        List<ProductSummary> rows = productRepository.findSummariesBetween(from, to);
+        lock.writeLock().lock();
+        try {
+            if (changes.get() != changesBefore) {
+                // The difference may just be a change still on its way here; check again next time
+                logger.debug("Skipping reconciliation of prices {}-{}: changed while reading", from, to);
+                return 0;
+            }
+            int corrected = 0;
+            Set<Long> present = new HashSet<>();
+            for (ProductSummary row : rows) {
+                present.add(row.id());
+                long cents = Cents.of(row.price());
+                int at = entryIndex(row.id());
+                if (at < 0 || entryPrices[at] != cents) {
+                    // The listing projection has no update time; the next save is taken as newer
+                    put(row.id(), cents, UNKNOWN_UPDATE);
+                    corrected++;
+                }
+            }
+            List<Long> absent = new ArrayList<>();
+            for (int i = entryPosition(from); i < entries && entryIds[i] <= to; i++) {
+                if (!present.contains(entryIds[i])) {
+                    absent.add(entryIds[i]);
+                }
+            }
+            for (long id : absent) {
+                remove(id);
+                corrected++;
+            }
+            return corrected;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean matches(PriceTotals expected, long from, long to) {
+        long count = 0;
+        BigDecimal priceSum = BigDecimal.ZERO;
+        BigDecimal idPriceSum = BigDecimal.ZERO;
+        lock.readLock().lock();
+        try {
+            for (int i = entryPosition(from); i < entries && entryIds[i] <= to; i++) {
+                BigDecimal price = Cents.toDecimal(entryPrices[i]);
+                count++;
+                priceSum = priceSum.add(price);
+                idPriceSum = idPriceSum.add(price.multiply(BigDecimal.valueOf(entryIds[i])));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count == expected.count() && priceSum.compareTo(expected.priceSum()) == 0
+                && idPriceSum.compareTo(expected.idPriceSum()) == 0;
+    }
+
+    private long lastIndexedId() {
+        lock.readLock().lock();
+        try {
+            return entries == 0 ? 0 : entryIds[entries - 1];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(long id, long cents, long updatedAt) {
+        int at = entryIndex(id);
+        if (at >= 0) {
+            long previous = entryPrices[at];
+            entryPrices[at] = cents;
+            entryUpdates[at] = updatedAt;
+            if (ready && previous != cents) {
+                removeEntry(previous, id);
+                insertEntry(cents, id);
+            }
+            return;
+        }
+        at = -at - 1;
+        if (entries == entryIds.length) {
+            entryIds = Arrays.copyOf(entryIds, Math.max(16, entries * 2));
+            entryPrices = Arrays.copyOf(entryPrices, entryIds.length);
+            entryUpdates = Arrays.copyOf(entryUpdates, entryIds.length);
+        }
+        System.arraycopy(entryIds, at, entryIds, at + 1, entries - at);
+        System.arraycopy(entryPrices, at, entryPrices, at + 1, entries - at);
+        System.arraycopy(entryUpdates, at, entryUpdates, at + 1, entries - at);
+        entryIds[at] = id;
+        entryPrices[at] = cents;
+        entryUpdates[at] = updatedAt;
+        entries++;
+        if (ready) {
+            insertEntry(cents, id);
+        }
+    }
+
+    private void remove(long id) {
+        int at = entryIndex(id);
+        if (at < 0) {
+            return;
+        }
+        long previous = entryPrices[at];
+        System.arraycopy(entryIds, at + 1, entryIds, at, entries - at - 1);
+        System.arraycopy(entryPrices, at + 1, entryPrices, at, entries - at - 1);
+        System.arraycopy(entryUpdates, at + 1, entryUpdates, at, entries - at - 1);
+        entries--;
+        if (ready) {
+            removeEntry(previous, id);
+        }
+    }
+
+    /**
+     * @return the position of the entry for a product ID, or {@code -(insertion point) - 1} if it has none
+     */
+    private int entryIndex(long id) {
+        return Arrays.binarySearch(entryIds, 0, entries, id);
+    }
+
+    /**
+     * @return the position of the first entry with an ID at or above {@code id}
+     */
+    private int entryPosition(long id) {
+        int at = entryIndex(id);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    /**
+     * Truncates to microseconds, the precision the database keeps for a stored update time.
+     */
+    private static long micros(LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return UNKNOWN_UPDATE;
+        }
+        return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+
+    /**
+     * @return whether the initial load has completed and ranges are answered from the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Fetch the IDs of the first page of products within a price range, in {@code (price, id)} order.
+     *
+     * @param minCents lowest price in cents, inclusive
+     * @param maxCents highest price in cents, inclusive
+     * @param limit    maximum number of IDs to return
+     * @return the matching product IDs, or empty if the index is not loaded yet
+     */
+    public Optional<List<Long>> range(long minCents, long maxCents, int limit) {
+        return range(minCents, maxCents, Long.MIN_VALUE, Long.MIN_VALUE, limit);
+    }
+
+    /**
+     * Fetch the IDs of a page of products within a price range that follow {@code (afterCents, afterId)}, in
+     * {@code (price, id)} order. The position is taken from the previous page's cursor, so the product it ended
+     * with need not be indexed any more.
+     *
+     * @param minCents   lowest price in cents, inclusive
+     * @param maxCents   highest price in cents, inclusive
+     * @param afterCents the price in cents of the last product on the previous page
+     * @param afterId    the ID of the last product on the previous page
+     * @param limit      maximum number of IDs to return
+     * @return the matching product IDs, or empty if the index is not loaded yet
+     */
+    public Optional<List<Long>> range(long minCents, long maxCents, long afterCents, long afterId, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            // First entry at or above the minimum and strictly after (afterCents, afterId)
+            int from = Math.max(position(minCents, Long.MIN_VALUE), position(afterCents, afterId + 1));
+            List<Long> page = new ArrayList<>(Math.min(limit, 64));
+            for (int i = from; i < size && prices[i] <= maxCents && page.size() < limit; i++) {
+                page.add(ids[i]);
+            }
+            return Optional.of(page);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the index of the first entry at or after {@code (price, id)}
+     */
+    private int position(long price, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price || (prices[mid] == price && ids[mid] < id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertEntry(long price, long id) {
+        int at = position(price, id);
+        if (size == prices.length) {
+            prices = Arrays.copyOf(prices, Math.max(16, size * 2));
+            ids = Arrays.copyOf(ids, prices.length);
+        }
+        System.arraycopy(prices, at, prices, at + 1, size - at);
+        System.arraycopy(ids, at, ids, at + 1, size - at);
+        prices[at] = price;
+        ids[at] = id;
+        size++;
+    }
+
+    private void removeEntry(long price, long id) {
+        int at = position(price, id);
+        if (at == size || prices[at] != price || ids[at] != id) {
+            return;
+        }
+        System.arraycopy(prices, at + 1, prices, at, size - at - 1);
+        System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+        size--;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory price index.
+ *
+ * @param reconcileInterval delay between comparisons of the indexed prices with the database
+ */
+@ConfigurationProperties(prefix = "app.products.price-index")
+public record ProductPriceIndexProperties(
+        @DefaultValue("10m") Duration reconcileInterval) {
+}
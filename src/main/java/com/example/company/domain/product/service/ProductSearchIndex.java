@@ -0,0 +1,377 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.util.Trigrams;
+import com.example.company.domain.product.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram inverted index over product name and description.
+ *
+ * <p>Each trigram maps to a sorted primitive array of product IDs. A query matches a product when
+ * the product contains at least {@code minCoverage} of the query's trigrams; matches are ranked by
+ * coverage, with extra weight for trigrams found in the name and for names close to the query.
+ * Candidates are drawn only from the rarest posting lists a match must appear in, so common
+ * trigrams do not make every query scan the whole catalog. Those lists are merged in ID order without
+ * collecting the candidates, and only the {@code offset + limit} best matches are kept and sorted.
+ *
+ * <p>Memory use is roughly 16 bytes per distinct trigram per product. Reads run concurrently;
+ * writes take a short exclusive lock.
+ *
+ * <p>Changes made through other instances arrive from the {@link ProductChangeFeed}, which may deliver a row
+ * read before a newer local change; a save older than the indexed state of the product is ignored. A save that
+ * leaves the name and description as they were, such as a price or stock change, only replaces the product's
+ * entry, and one that changes them only touches the posting lists of the trigrams added or removed. A deleted
+ * product is remembered for {@link #TOMBSTONE_TTL}, longer than a feed poll can take, and saves of it are ignored
+ * meanwhile: product IDs are not reused, so such a save is a row the feed read before the delete.
+ */
+@Component
+public class ProductSearchIndex implements ProductChangeListener {
+
+    private static final long[] EMPTY_TRIGRAMS = new long[0];
+
+    private static final Comparator<Hit> BY_RELEVANCE =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id);
+
+    /**
+     * Returned by the candidate merge once every list is exhausted; product IDs never reach it.
+     */
+    private static final long NO_CANDIDATE = Long.MAX_VALUE;
+
+    /**
+     * How long saves of a deleted product are ignored.
+     */
+    static final Duration TOMBSTONE_TTL = ProductChangeFeed.CLOCK_SKEW_MARGIN.multipliedBy(2);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, IndexedProduct> products = new HashMap<>();
+    // Deletion time of recently deleted products, oldest first
+    private final LinkedHashMap<Long, Instant> tombstones = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final double minCoverage;
+    private final Clock clock;
+    private volatile boolean ready;
+
+    @Autowired
+    public ProductSearchIndex(ProductSearchProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ProductSearchIndex(ProductSearchProperties properties, Clock clock) {
+        this.enabled = properties.mode() == ProductSearchProperties.Mode.MEMORY;
+        this.minCoverage = properties.minCoverage();
+        this.clock = clock;
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        if (!enabled) {
+            return;
+        }
+        long id = product.getId();
+        long[] nameTrigrams = Trigrams.of(product.getName());
+        long[] trigrams = Trigrams.union(nameTrigrams, Trigrams.of(product.getDescription()));
+        LocalDateTime updatedAt = product.getUpdatedAt();
+        lock.writeLock().lock();
+        try {
+            expireTombstones();
+            if (tombstones.containsKey(id)) {
+                return;
+            }
+            IndexedProduct previous = products.get(id);
+            if (previous != null && isOlder(updatedAt, previous.updatedAt())) {
+                return;
+            }
+            products.put(id, new IndexedProduct(nameTrigrams, trigrams, updatedAt));
+            if (previous == null || !Arrays.equals(previous.trigrams(), trigrams)) {
+                updatePostings(id, previous == null ? EMPTY_TRIGRAMS : previous.trigrams(), trigrams);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            expireTombstones();
+            tombstones.remove(id);
+            tombstones.put(id, clock.instant());
+            IndexedProduct previous = products.remove(id);
+            if (previous != null) {
+                updatePostings(id, previous.trigrams(), EMPTY_TRIGRAMS);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onLoadComplete() {
+        ready = true;
+    }
+
+    /**
+     * @return whether the initial load has completed and searches are answered from the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param query  the search text
+     * @param offset number of ranked matches to skip
+     * @param limit  maximum number of matches to return
+     * @return the requested page of matching product IDs in relevance order, or empty if the index
+     * is not loaded yet
+     */
+    public Optional<SearchHits> search(String query, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        long[] queryTrigrams = Trigrams.ofQuery(query);
+        if (queryTrigrams.length == 0) {
+            return Optional.of(new SearchHits(List.of(), 0));
+        }
+        int minMatches = Math.max(1, (int) Math.ceil(queryTrigrams.length * minCoverage));
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        // Worst kept hit at the head, so each candidate is compared with it alone
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(keep, 1024) + 1, BY_RELEVANCE.reversed());
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = candidateLists(queryTrigrams, minMatches);
+            int[] positions = new int[lists.length];
+            while (true) {
+                long id = nextCandidate(lists, positions);
+                if (id == NO_CANDIDATE) {
+                    break;
+                }
+                double score = score(products.get(id), queryTrigrams, minMatches);
+                if (Double.isNaN(score)) {
+                    continue;
+                }
+                total++;
+                if (top.size() < keep) {
+                    top.add(new Hit(id, score));
+                } else if (keep > 0 && ranksAbove(id, score, top.peek())) {
+                    top.poll();
+                    top.add(new Hit(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Hit[] ranked = top.toArray(new Hit[0]);
+        Arrays.sort(ranked, BY_RELEVANCE);
+        List<Long> ids = new ArrayList<>(Math.max(0, ranked.length - offset));
+        for (int i = offset; i < ranked.length; i++) {
+            ids.add(ranked[i].id());
+        }
+        return Optional.of(new SearchHits(ids, total));
+    }
+
+    /**
+     * A product matching at least {@code minMatches} of the query trigrams must appear in at least one
+     * of the {@code queryTrigrams.length - minMatches + 1} shortest posting lists.
+     */
+    private PostingList[] candidateLists(long[] queryTrigrams, int minMatches) {
+        PostingList[] lists = new PostingList[queryTrigrams.length];
+        for (int i = 0; i < queryTrigrams.length; i++) {
+            lists[i] = postings.getOrDefault(queryTrigrams[i], PostingList.EMPTY);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+        return Arrays.copyOf(lists, queryTrigrams.length - minMatches + 1);
+    }
+
+    /**
+     * Merge step over the sorted candidate lists: the smallest ID not returned yet, each ID once, advancing
+     * every list past it. Queries have few trigrams, so a linear scan of the list heads beats a heap.
+     */
+    private static long nextCandidate(PostingList[] lists, int[] positions) {
+        long next = NO_CANDIDATE;
+        for (int i = 0; i < lists.length; i++) {
+            if (positions[i] < lists[i].size()) {
+                next = Math.min(next, lists[i].get(positions[i]));
+            }
+        }
+        if (next != NO_CANDIDATE) {
+            for (int i = 0; i < lists.length; i++) {
+                if (positions[i] < lists[i].size() && lists[i].get(positions[i]) == next) {
+                    positions[i]++;
+                }
+            }
+        }
+        return next;
+    }
+
+    private static boolean ranksAbove(long id, double score, Hit hit) {
+        return score > hit.score() || (score == hit.score() && id < hit.id());
+    }
+
+    /**
+     * @return the relevance of the product to the query, or NaN if it matches too few query trigrams
+     */
+    private static double score(IndexedProduct product, long[] queryTrigrams, int minMatches) {
+        int matches = 0;
+        int nameMatches = 0;
+        for (long trigram : queryTrigrams) {
+            if (Arrays.binarySearch(product.trigrams(), trigram) >= 0) {
+                matches++;
+                if (Arrays.binarySearch(product.nameTrigrams(), trigram) >= 0) {
+                    nameMatches++;
+                }
+            }
+        }
+        if (matches < minMatches) {
+            return Double.NaN;
+        }
+        double coverage = (double) matches / queryTrigrams.length;
+        double nameCoverage = (double) nameMatches / queryTrigrams.length;
+        double nameSimilarity = (double) nameMatches
+                / (queryTrigrams.length + product.nameTrigrams().length - nameMatches);
+        return coverage + nameCoverage + nameSimilarity;
+    }
+
+    private static boolean isOlder(LocalDateTime updatedAt, LocalDateTime indexedAt) {
+        return updatedAt != null && indexedAt != null && updatedAt.isBefore(indexedAt);
+    }
+
+    /**
+     * Move a product's postings from its previous trigrams to its current ones, touching only the lists of
+     * trigrams in one set but not the other. Both arrays are sorted.
+     */
+    private void updatePostings(long id, long[] previous, long[] current) {
+        int i = 0;
+        int j = 0;
+        while (i < previous.length || j < current.length) {
+            if (j == current.length || (i < previous.length && previous[i] < current[j])) {
+                removePosting(id, previous[i++]);
+            } else if (i == previous.length || current[j] < previous[i]) {
+                postings.computeIfAbsent(current[j++], key -> new PostingList()).add(id);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private void removePosting(long id, long trigram) {
+        PostingList list = postings.get(trigram);
+        if (list != null && list.remove(id) && list.size() == 0) {
+            postings.remove(trigram);
+        }
+    }
+
+    private void expireTombstones() {
+        Instant expired = clock.instant().minus(TOMBSTONE_TTL);
+        Iterator<Instant> deletedAt = tombstones.values().iterator();
+        while (deletedAt.hasNext() && !deletedAt.next().isAfter(expired)) {
+            deletedAt.remove();
+        }
+    }
+
+    /**
+     * A page of search results.
+     *
+     * @param ids   the matching product IDs on this page, most relevant first
+     * @param total the total number of matches
+     */
+    public record SearchHits(List<Long> ids, int total) {
+    }
+
+    private record IndexedProduct(long[] nameTrigrams, long[] trigrams, LocalDateTime updatedAt) {
+    }
+
+    private record Hit(long id, double score) {
+    }
+
+    /**
+     * Sorted, growable array of product IDs.
+     */
+    private static final class PostingList {
+
+        static final PostingList EMPTY = new PostingList();
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long get(int index) {
+            return ids[index];
+        }
+
+        void add(long id) {
+            // IDs usually arrive in ascending order during the initial load, so check the tail first
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration for product search.
+ *
+ * @param mode        where searches are answered: the in-process trigram index or the database
+ * @param minCoverage fraction of the query trigrams a product must contain to match, between 0 and 1
+ */
+@ConfigurationProperties(prefix = "app.search")
+public record ProductSearchProperties(
+        @DefaultValue("memory") Mode mode,
+        @DefaultValue("0.7") double minCoverage) {
+
+    public enum Mode {
+        /**
+         * Search the in-process trigram index; falls back to the database until the index is loaded.
+         */
+        MEMORY,
+        /**
+         * Search with PostgreSQL {@code pg_trgm}, backed by the GIN trigram indexes.
+         */
+        DATABASE
+    }
+}
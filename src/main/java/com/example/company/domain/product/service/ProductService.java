@@ -1,14 +1,58 @@
 package com.example.company.domain.product.service;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.IdLookup;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.config.BatchProperties;
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.exception.ConflictException;
 import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.Cursor;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.common.util.Cents;
+import com.example.company.common.util.TransactionHooks;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.dto.StockAdjustment;
+import com.example.company.domain.product.dto.StockDeltaResult;
+import com.example.company.domain.product.dto.StockLevel;
 import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.model.ProductSortField;
 import com.example.company.domain.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for Product domain operations.
@@ -17,11 +61,82 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ProductService {
 
+    /**
+     * Name of the read-through cache in front of {@link #findProductById(Long)}.
+     */
+    public static final String PRODUCT_CACHE = "products";
+
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
     private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSearchProperties searchProperties;
+    private final LowStockTracker lowStockTracker;
+    private final CatalogVersion catalogVersion;
+    private final InventoryStats inventoryStats;
+    private final ProductPriceIndex priceIndex;
+    private final CatalogSnapshotView snapshotView;
+    private final List<ProductChangeListener> changeListeners;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, EntityManager entityManager,
+                          CacheManager cacheManager, ProductSearchIndex searchIndex,
+                          ProductSearchProperties searchProperties, LowStockTracker lowStockTracker,
+                          CatalogVersion catalogVersion, InventoryStats inventoryStats, ProductPriceIndex priceIndex,
+                          CatalogSnapshotView snapshotView, List<ProductChangeListener> changeListeners,
+                          Validator validator, BatchProperties batchProperties) {
         this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.searchProperties = searchProperties;
+        this.lowStockTracker = lowStockTracker;
+        this.catalogVersion = catalogVersion;
+        this.inventoryStats = inventoryStats;
+        this.priceIndex = priceIndex;
+        this.snapshotView = snapshotView;
+        this.changeListeners = changeListeners;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+    }
+
+    /**
+     * Feed every product to the registered {@link ProductChangeListener}s once the application has started.
+     * When the {@link CatalogSnapshotView} serves reads, they are fed from the snapshot instead of the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadChangeListeners() {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        logger.info("Loading products into {} in-memory projections", changeListeners.size());
+        long count;
+        // The projections are kept current by events from here on, so they must start from the primary's state
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            if (snapshotView.open()) {
+                count = snapshotView.forEach(product -> notifyListeners(listener -> {
+                    if (listener != snapshotView) {
+                        listener.onSaved(product);
+                    }
+                }));
+            } else {
+                count = exportProducts(product -> notifyListeners(listener -> listener.onSaved(product)));
+            }
+        }
+        notifyListeners(ProductChangeListener::onLoadComplete);
+        logger.info("Loaded {} products into in-memory projections", count);
+    }
+
+    /**
+     * Current version of the catalog as a whole, for conditional GETs on listings. Read it before fetching the
+     * listing it validates.
+     *
+     * @return the catalog version stamp
+     */
+    public CatalogVersion.Stamp getCatalogVersion() {
+        return catalogVersion.current();
     }
 
     /**
@@ -35,27 +150,292 @@ public class ProductService {
     }
 
     /**
-     * Retrieve a product by ID.
+     * Retrieve a page of products using keyset pagination. Each page is fetched with a
+     * {@code (sort_key, id)} seek predicate taken from the cursor, so the cost does not grow with how deep the
+     * client pages, and the product the cursor was taken from need not exist any more. Pages in id order are
+     * read from the {@link CatalogSnapshotView} when it serves reads.
+     *
+     * @param after the {@link Cursor} of the last product on the previous page, or null for the first page
+     * @param limit the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @param sort  the sort key: id, price, createdAt or name; defaults to id
+     * @return the requested page
+     * @throws IllegalArgumentException if the sort key, limit or cursor is invalid
+     */
+    public CursorPage<Product> getProductsPage(String after, Integer limit, String sort) {
+        ProductSortField sortField = ProductSortField.fromParam(sort);
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        logger.debug("Fetching products after {} sorted by {} (limit {})", cursor, sortField, pageSize);
+        if (sortField == ProductSortField.ID && snapshotView.isServing()) {
+            return CursorPage.of(snapshotView.page(cursor == null ? null : cursor.id(), pageSize + 1), pageSize,
+                    product -> Cursor.of(product.getId()));
+        }
+        Pageable pageable = PageRequest.of(0, pageSize + 1, sortField.toSort());
+        List<Product> rows;
+        if (cursor == null) {
+            rows = productRepository.findFirstPage(pageable);
+        } else {
+            long afterId = cursor.id();
+            rows = switch (sortField) {
+                case ID -> productRepository.findPageAfterId(afterId, pageable);
+                case PRICE -> productRepository.findPageAfterPrice(cursor.decimalKey(), afterId, pageable);
+                case CREATED_AT -> productRepository.findPageAfterCreatedAt(cursor.dateTimeKey(), afterId, pageable);
+                case NAME -> productRepository.findPageAfterName(cursor.stringKey(), afterId, pageable);
+            };
+        }
+        return CursorPage.of(rows, pageSize, product -> switch (sortField) {
+            case ID -> Cursor.of(product.getId());
+            case PRICE -> Cursor.of(product.getId(), product.getPrice());
+            case CREATED_AT -> Cursor.of(product.getId(), product.getCreatedAt());
+            case NAME -> Cursor.of(product.getId(), product.getName());
+        });
+    }
+
+    /**
+     * Retrieve a page of product summaries: the same page as {@link #getProductsPage(String, Integer, String)},
+     * read through the {@link ProductSummary} projection so descriptions and timestamps are not loaded. The
+     * projection has no creation time to build a cursor from, so pages ordered by it are read as full products.
+     *
+     * @param after the {@link Cursor} of the last product on the previous page, or null for the first page
+     * @param limit the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @param sort  the sort key: id, price, createdAt or name; defaults to id
+     * @return the requested page
+     * @throws IllegalArgumentException if the sort key, limit or cursor is invalid
+     */
+    public CursorPage<ProductSummary> getProductSummariesPage(String after, Integer limit, String sort) {
+        ProductSortField sortField = ProductSortField.fromParam(sort);
+        if (sortField == ProductSortField.CREATED_AT) {
+            CursorPage<Product> page = getProductsPage(after, limit, sort);
+            return new CursorPage<>(page.items().stream()
+                    .map(product -> new ProductSummary(product.getId(), product.getName(), product.getPrice(),
+                            product.getStockQuantity()))
+                    .toList(), page.nextCursor());
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        logger.debug("Fetching product summaries after {} sorted by {} (limit {})", cursor, sortField, pageSize);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, sortField.toSort());
+        List<ProductSummary> rows;
+        if (cursor == null) {
+            rows = productRepository.findSummaryFirstPage(pageable);
+        } else {
+            long afterId = cursor.id();
+            rows = switch (sortField) {
+                case PRICE -> productRepository.findSummaryPageAfterPrice(cursor.decimalKey(), afterId, pageable);
+                case NAME -> productRepository.findSummaryPageAfterName(cursor.stringKey(), afterId, pageable);
+                default -> productRepository.findSummaryPageAfterId(afterId, pageable);
+            };
+        }
+        return CursorPage.of(rows, pageSize, summary -> switch (sortField) {
+            case PRICE -> Cursor.of(summary.id(), summary.price());
+            case NAME -> Cursor.of(summary.id(), summary.name());
+            default -> Cursor.of(summary.id());
+        });
+    }
+
+    /**
+     * Retrieve a page of products priced within a range, ordered by price then id, using keyset pagination.
+     * Pages are located in the in-memory {@link ProductPriceIndex} once it has loaded, so only the products on
+     * the page are read; until then they are read through the {@code (price, id)} index.
+     *
+     * @param minPrice lowest price, inclusive, or null for no lower bound
+     * @param maxPrice highest price, inclusive, or null for no upper bound
+     * @param after    the {@link Cursor} of the last product on the previous page, or null for the first page
+     * @param limit    the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the requested page
+     * @throws IllegalArgumentException if the range, limit or cursor is invalid
+     */
+    public CursorPage<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, String after,
+                                                       Integer limit) {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        BigDecimal afterPrice = cursor == null ? null : cursor.decimalKey();
+        long minCents = centsBound(minPrice, RoundingMode.CEILING, Long.MIN_VALUE);
+        long maxCents = centsBound(maxPrice, RoundingMode.FLOOR, Long.MAX_VALUE);
+        Optional<List<Long>> ids = cursor == null
+                ? priceIndex.range(minCents, maxCents, pageSize + 1)
+                : priceIndex.range(minCents, maxCents, centsBound(afterPrice, RoundingMode.CEILING, Long.MIN_VALUE),
+                        cursor.id(), pageSize + 1);
+        if (ids.isPresent()) {
+            return CursorPage.of(findAllInOrder(ids.get()), pageSize, ProductService::priceCursor);
+        }
+        logger.debug("Fetching products priced {} to {} after {} (limit {})", minPrice, maxPrice, cursor, pageSize);
+        BigDecimal min = minPrice == null ? BigDecimal.ZERO : minPrice;
+        BigDecimal max = maxPrice == null ? ProductRepository.MAX_PRICE : maxPrice;
+        Pageable pageable = PageRequest.of(0, pageSize + 1, ProductSortField.PRICE.toSort());
+        List<Product> rows = cursor == null
+                ? productRepository.findPriceRangeFirstPage(min, max, pageable)
+                : productRepository.findPriceRangePageAfter(min, max, afterPrice, cursor.id(), pageable);
+        return CursorPage.of(rows, pageSize, ProductService::priceCursor);
+    }
+
+    /**
+     * Retrieve a page of products whose stock is at or below {@code threshold}, ordered by id. Pages are
+     * served from the in-memory {@link LowStockTracker} once it has loaded, and from the partial low-stock
+     * index until then.
+     *
+     * @param threshold the stock threshold, between 0 and {@link ProductRepository#LOW_STOCK_MAX_THRESHOLD}
+     * @param after     the {@link Cursor} of the last product on the previous page, or null for the first page
+     * @param limit     the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the requested page of stock levels
+     * @throws IllegalArgumentException if the threshold, limit or cursor is invalid
+     */
+    public CursorPage<StockLevel> getLowStockProducts(int threshold, String after, Integer limit) {
+        if (threshold < 0 || threshold > ProductRepository.LOW_STOCK_MAX_THRESHOLD) {
+            throw new IllegalArgumentException("Threshold must be between 0 and "
+                    + ProductRepository.LOW_STOCK_MAX_THRESHOLD);
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        Long afterId = cursor == null ? null : cursor.id();
+        List<StockLevel> rows;
+        if (lowStockTracker.isReady()) {
+            rows = lowStockTracker.page(threshold, afterId, pageSize + 1);
+        } else {
+            logger.debug("Fetching low-stock products at or below {} after {} (limit {})", threshold, afterId,
+                    pageSize);
+            rows = productRepository.findLowStock(threshold, afterId == null ? 0 : afterId,
+                    PageRequest.of(0, pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, level -> Cursor.of(level.productId()));
+    }
+
+    /**
+     * Get the live inventory statistics. They are served from the in-memory {@link InventoryStats} once it has
+     * loaded, and computed with aggregate queries until then.
+     *
+     * @return SKU count, units in stock, inventory value and stock histogram of the whole catalog
+     */
+    public ProductStats getProductStats() {
+        if (inventoryStats.isReady()) {
+            return inventoryStats.snapshot();
+        }
+        logger.debug("Computing inventory statistics from the database");
+        return inventoryStats.computeFromDatabase();
+    }
+
+    /**
+     * Stream every product, ordered by id, to the given consumer. Rows are read through a database cursor
+     * and detached from the persistence context once consumed, so memory use does not grow with the
+     * size of the table.
+     *
+     * @param consumer receives each product in turn
+     * @return the number of exported products
+     */
+    public long exportProducts(Consumer<Product> consumer) {
+        logger.info("Exporting all products");
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamAll()) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                consumer.accept(product);
+                entityManager.detach(product);
+                count++;
+            }
+        }
+        logger.info("Exported {} products", count);
+        return count;
+    }
+
+    /**
+     * Write every product to a binary {@link CatalogSnapshot} file, replacing the previous one atomically. Rows
+     * are read from the primary, since only changes after {@code createdAt} are overlaid when it is served.
+     *
+     * @param path      the snapshot file
+     * @param createdAt when the export starts; changes after it are overlaid when the snapshot is served
+     * @return the number of written products
+     * @throws IOException if the file cannot be written
+     */
+    public int writeCatalogSnapshot(Path path, Instant createdAt) throws IOException {
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin();
+             CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(path, createdAt)) {
+            exportProducts(product -> {
+                try {
+                    writer.add(product);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            return writer.commit();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Look up a product by ID. Results are cached, misses included, so a repeated lookup of an ID with no
+     * product is answered from the cache too; a product created with that ID evicts the miss. Concurrent misses
+     * on the same ID share a single query, or are answered from the {@link CatalogSnapshotView} when it serves
+     * reads. The query goes to the primary so a lagging replica cannot put a row the cache was just evicted of
+     * back in it.
+     *
+     * <p>A miss is returned rather than thrown: an exception thrown by a cache loader is wrapped in a
+     * {@link org.springframework.cache.Cache.ValueRetrievalException}, which formats a message and captures a
+     * stack trace on every miss.
      *
      * @param id the product ID
-     * @return the product
-     * @throws ResourceNotFoundException if product not found
+     * @return the product, or empty if there is none with this ID
      */
-    public Product getProductById(Long id) {
+    @Cacheable(cacheNames = PRODUCT_CACHE, key = "#id", sync = true)
+    public Optional<Product> findProductById(Long id) {
         logger.debug("Fetching product with id: {}", id);
-        return productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", id));
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            return snapshotView.isServing() ? snapshotView.find(id) : productRepository.findById(id);
+        }
     }
 
     /**
-     * Search products by name.
+     * Retrieve many products by ID in one call. Products in the product cache are served from it; the rest are
+     * read with chunked {@code IN} queries, or from the {@link CatalogSnapshotView} when it serves reads, and
+     * cached. Runs without a transaction of its own, so a request answered from the cache borrows no connection.
      *
-     * @param name the search term
-     * @return list of matching products
+     * @param ids the product IDs; repeated IDs are answered once
+     * @return the found products in request order and the IDs no product was found for
+     * @throws IllegalArgumentException if the list is empty, larger than {@link BatchProperties#maxItems()} or
+     *                                  contains a null ID
      */
-    public List<Product> searchProductsByName(String name) {
-        logger.debug("Searching products with name containing: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LookupResult<Product> getProductsByIds(List<Long> ids) {
+        batchProperties.checkSize(ids.size());
+        logger.debug("Fetching {} products by id", ids.size());
+        return IdLookup.lookup(ids, cacheManager.getCache(PRODUCT_CACHE), Product.class, Product::getId,
+                this::findAllById);
+    }
+
+    /**
+     * Search products by name and description, most relevant first.
+     *
+     * <p>In {@code memory} mode the query is answered from the in-process trigram index, falling back to
+     * a name substring match until the index has been loaded: a scan of the {@link CatalogSnapshotView} when it
+     * serves reads, a query otherwise. In {@code database} mode it is answered by PostgreSQL {@code pg_trgm}.
+     *
+     * @param name   the search term
+     * @param offset number of matches to skip, capped at {@link SearchPage#MAX_OFFSET}
+     * @param limit  the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @return the requested page of matching products
+     */
+    public SearchPage<Product> searchProductsByName(String name, Integer offset, Integer limit) {
+        int start = SearchPage.checkOffset(offset);
+        int pageSize = CursorPage.clampLimit(limit);
+        logger.debug("Searching products matching: {} (offset {}, limit {})", name, start, pageSize);
+        if (searchProperties.mode() == ProductSearchProperties.Mode.DATABASE) {
+            return new SearchPage<>(productRepository.searchByTrigramSimilarity(escapeLike(name), pageSize, start),
+                    null);
+        }
+        Optional<ProductSearchIndex.SearchHits> hits = searchIndex.search(name, start, pageSize);
+        if (hits.isEmpty() && snapshotView.isServing()) {
+            return snapshotView.search(name, start, pageSize);
+        }
+        if (hits.isEmpty()) {
+            Pageable pageable = PageRequest.of(0, start + pageSize, Sort.by("id"));
+            List<Product> rows = productRepository.findByNameContainingIgnoreCase(name, pageable);
+            return new SearchPage<>(rows.subList(Math.min(start, rows.size()), rows.size()), null);
+        }
+        return new SearchPage<>(findAllInOrder(hits.get().ids()), (long) hits.get().total());
     }
 
     /**
@@ -67,7 +447,53 @@ public class ProductService {
     @Transactional
     public Product createProduct(Product product) {
         logger.info("Creating new product: {}", product.getName());
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        publishSaved(savedProduct);
+        return savedProduct;
+    }
+
+    /**
+     * Create many products in one transaction. Each item is validated on its own; invalid items are reported
+     * and skipped. Inserts are sent in JDBC batches, and the persistence context is flushed and cleared every
+     * {@link BatchProperties#flushSize()} items so memory use stays flat.
+     *
+     * @param products the products to create
+     * @return the IDs of the created products and the errors of the rejected ones
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link BatchProperties#maxItems()}
+     */
+    @Transactional
+    public BatchResult createProducts(List<Product> products) {
+        batchProperties.checkSize(products.size());
+        logger.info("Creating batch of {} products", products.size());
+        List<Product> created = new ArrayList<>(products.size());
+        List<Long> ids = new ArrayList<>(products.size());
+        List<BatchResult.ItemError> errors = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (product == null) {
+                errors.add(BatchResult.ItemError.of(i, "item", "Product is required"));
+                continue;
+            }
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                errors.add(BatchResult.ItemError.of(i, violations));
+                continue;
+            }
+            product.setId(null);
+            entityManager.persist(product);
+            created.add(product);
+            ids.add(product.getId());
+            if (created.size() % batchProperties.flushSize() == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        TransactionHooks.afterCommit(() -> created.forEach(product ->
+                notifyListeners(listener -> listener.onSaved(product))));
+        logger.info("Created {} products, rejected {}", ids.size(), errors.size());
+        return new BatchResult(ids, errors);
     }
 
     /**
@@ -81,16 +507,92 @@ public class ProductService {
     @Transactional
     public Product updateProduct(Long id, Product product) {
         logger.info("Updating product with id: {}", id);
-        Product existingProduct = getProductById(id);
+        Product existingProduct = findProductById(id).orElseThrow(() -> new ResourceNotFoundException("Product", id));
         existingProduct.setName(product.getName());
         existingProduct.setDescription(product.getDescription());
         existingProduct.setPrice(product.getPrice());
         existingProduct.setStockQuantity(product.getStockQuantity());
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        publishSaved(savedProduct);
+        return savedProduct;
+    }
+
+    /**
+     * Add to or remove from a product's stock with a single conditional UPDATE, without reading the product
+     * first. Concurrent adjustments serialize on the row lock and none of them can take the stock below zero.
+     *
+     * @param id    the product ID
+     * @param delta the quantity to add; negative to remove stock
+     * @return the new stock level
+     * @throws ResourceNotFoundException if product not found
+     * @throws ConflictException         if the product has less stock than the requested removal
+     */
+    @Transactional
+    public StockLevel adjustStock(Long id, int delta) {
+        logger.info("Adjusting stock of product {} by {}", id, delta);
+        StockLevel level = applyStockAdjustment(id, delta);
+        publishStockChanged(List.of(level));
+        return level;
+    }
+
+    /**
+     * Apply several stock adjustments atomically: either all of them succeed or none is applied. Adjustments
+     * to the same product are summed, and products are updated in ID order so that concurrent bulk
+     * adjustments lock rows in the same order and cannot deadlock.
+     *
+     * @param adjustments the adjustments to apply
+     * @return the new stock level of each adjusted product, ordered by product ID
+     * @throws IllegalArgumentException  if an adjustment is incomplete or the batch is empty or too large
+     * @throws ResourceNotFoundException if a product is not found
+     * @throws ConflictException         if a product has less stock than the requested removal
+     */
+    @Transactional
+    public List<StockLevel> adjustStocks(List<StockAdjustment> adjustments) {
+        batchProperties.checkSize(adjustments.size());
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            if (adjustment == null || adjustment.productId() == null || adjustment.delta() == null) {
+                throw new IllegalArgumentException("Each stock adjustment requires a productId and a delta");
+            }
+            deltas.merge(adjustment.productId(), adjustment.delta(), Integer::sum);
+        }
+        logger.info("Adjusting stock of {} products", deltas.size());
+        List<StockLevel> levels = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> levels.add(applyStockAdjustment(id, delta)));
+        publishStockChanged(levels);
+        return levels;
+    }
+
+    /**
+     * Write stock changes that were already granted elsewhere, such as confirmed reservations, with the same
+     * non-negative guard as {@link #adjustStock(Long, int)}: the grants are made from per-instance counts, so two
+     * instances can sell the same units, and the database must not follow them below zero. Products are updated
+     * in ID order; deltas for products that no longer exist are dropped.
+     *
+     * @param deltas the quantity to add per product ID
+     * @return the new stock levels, and the deltas rejected because there was too little stock
+     */
+    @Transactional
+    public StockDeltaResult applyStockDeltas(Map<Long, Integer> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockLevel> levels = new ArrayList<>(deltas.size());
+        Map<Long, Integer> rejected = new TreeMap<>();
+        new TreeMap<>(deltas).forEach((id, delta) -> {
+            Optional<Integer> stockQuantity = tryAdjustStock(id, delta, now);
+            if (stockQuantity.isPresent()) {
+                levels.add(new StockLevel(id, stockQuantity.get()));
+            } else if (productRepository.existsById(id)) {
+                rejected.put(id, delta);
+            } else {
+                logger.warn("Dropped stock delta {} for missing product {}", delta, id);
+            }
+        });
+        publishStockChanged(levels);
+        return new StockDeltaResult(levels, rejected);
     }
 
     /**
-     * Delete a product by ID.
+     * Delete a product by ID with a single DELETE statement.
      *
      * @param id the product ID
      * @throws ResourceNotFoundException if product not found
@@ -98,7 +600,101 @@ public class ProductService {
     @Transactional
     public void deleteProduct(Long id) {
         logger.info("Deleting product with id: {}", id);
-        Product product = getProductById(id);
-        productRepository.delete(product);
+        if (productRepository.removeById(id) == 0) {
+            throw new ResourceNotFoundException("Product", id);
+        }
+        TransactionHooks.afterCommit(() -> notifyListeners(listener -> listener.onDeleted(id)));
+    }
+
+    private static Cursor priceCursor(Product product) {
+        return Cursor.of(product.getId(), product.getPrice());
+    }
+
+    /**
+     * Convert a price range bound to cents. Bounds beyond what the price column can hold saturate, so they
+     * cannot overflow.
+     */
+    private static long centsBound(BigDecimal price, RoundingMode rounding, long unbounded) {
+        if (price == null) {
+            return unbounded;
+        }
+        if (price.compareTo(ProductRepository.MAX_PRICE) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (price.compareTo(ProductRepository.MAX_PRICE.negate()) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return Cents.of(price, rounding);
+    }
+
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> byId = IdLookup.loadAll(ids, Product::getId, this::findAllById);
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Product> findAllById(List<Long> ids) {
+        if (snapshotView.isServing()) {
+            return ids.stream()
+                    .map(snapshotView::find)
+                    .flatMap(Optional::stream)
+                    .toList();
+        }
+        return productRepository.findAllById(ids);
+    }
+
+    private StockLevel applyStockAdjustment(Long id, int delta) {
+        Optional<Integer> stockQuantity = tryAdjustStock(id, delta, LocalDateTime.now());
+        if (stockQuantity.isEmpty()) {
+            if (!productRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Product", id);
+            }
+            throw new ConflictException("Insufficient stock for product " + id + " to apply delta " + delta);
+        }
+        return new StockLevel(id, stockQuantity.get());
+    }
+
+    /**
+     * Apply a guarded stock change and read the new quantity: one {@code UPDATE ... RETURNING} on PostgreSQL,
+     * an UPDATE and a SELECT elsewhere.
+     *
+     * @return the new stock quantity, or empty if the product does not exist or has too little stock
+     */
+    private Optional<Integer> tryAdjustStock(Long id, int delta, LocalDateTime now) {
+        if (productRepository.supportsAdjustStockReturning()) {
+            return productRepository.adjustStockReturning(id, delta, now);
+        }
+        if (productRepository.adjustStock(id, delta, now) == 0) {
+            return Optional.empty();
+        }
+        return productRepository.findStockQuantity(id);
+    }
+
+    private void publishStockChanged(List<StockLevel> levels) {
+        TransactionHooks.afterCommit(() -> levels.forEach(level ->
+                notifyListeners(listener -> listener.onStockChanged(level.productId(), level.stockQuantity()))));
+    }
+
+    private void publishSaved(Product product) {
+        TransactionHooks.afterCommit(() -> notifyListeners(listener -> listener.onSaved(product)));
+    }
+
+    private void notifyListeners(Consumer<ProductChangeListener> notification) {
+        for (ProductChangeListener listener : changeListeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException ex) {
+                logger.error("Product change listener {} failed", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
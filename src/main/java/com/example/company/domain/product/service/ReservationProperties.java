@@ -0,0 +1,20 @@
+package com.example.company.domain.product.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for stock reservations.
+ *
+ * @param ttl           how long a reservation holds stock before it expires and the stock is released
+ * @param flushInterval delay between write-behind flushes of confirmed reservations to the database
+ * @param sweepInterval delay between sweeps that release expired reservations
+ */
+@ConfigurationProperties(prefix = "app.reservations")
+public record ReservationProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("1s") Duration sweepInterval) {
+}
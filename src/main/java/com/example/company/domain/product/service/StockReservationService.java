@@ -0,0 +1,287 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.exception.ConflictException;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.domain.product.dto.Reservation;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stock reservation engine for high-contention sales.
+ *
+ * <p>Each product's available quantity is an atomic counter, so reserving stock is a compare-and-set in
+ * memory instead of a row lock in the database. A reservation holds stock until it is confirmed, released
+ * or expires after {@link ReservationProperties#ttl()}. Confirmed quantities accumulate as a per-product
+ * delta that {@link StockReservationWriter} drains and writes to {@code stock_quantity} in the background.
+ *
+ * <p>The database stays the source of truth: it only ever contains confirmed sales, so pending holds are
+ * simply dropped on restart and the counters are rebuilt from {@code stock_quantity}. Stock changes made
+ * through other paths, including sales flushed by other instances, reach the engine as
+ * {@link ProductChangeListener} events, those from other instances through the {@link ProductChangeFeed}, and
+ * are folded into the available counts as drift. Confirmed sales not yet flushed are lost if the process dies;
+ * the exposure is bounded by {@link ReservationProperties#flushInterval()}, and a graceful shutdown flushes
+ * first.
+ *
+ * <p>Each instance grants from its own counts, so between a flush and the next poll of the change feed two
+ * instances can sell the same units. The flush therefore only writes a delta if the stock stays non-negative;
+ * a rejected delta is an oversell, which {@link StockReservationWriter} reports and hands back through
+ * {@link #discardPendingDeltas(Map)} rather than retrying.
+ */
+@Service
+public class StockReservationService implements ProductChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final ProductRepository productRepository;
+    private final ReservationProperties properties;
+    private final Clock clock;
+    private final ConcurrentHashMap<Long, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+    // Random per-process prefix so IDs handed out before a restart never match new reservations
+    private final long instanceId = new SecureRandom().nextLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public StockReservationService(ProductRepository productRepository, ReservationProperties properties) {
+        this(productRepository, properties, Clock.systemUTC());
+    }
+
+    StockReservationService(ProductRepository productRepository, ReservationProperties properties, Clock clock) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Hold stock of a product until the reservation is confirmed, released or expires.
+     *
+     * @param productId the product ID
+     * @param quantity  the quantity to hold
+     * @return the reservation
+     * @throws IllegalArgumentException  if the quantity is not positive
+     * @throws ResourceNotFoundException if product not found
+     * @throws ConflictException         if less than {@code quantity} is available
+     */
+    public Reservation reserve(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than 0");
+        }
+        ProductStock stock = stockOf(productId);
+        if (!stock.tryTake(quantity)) {
+            throw new ConflictException("Insufficient stock for product " + productId + " to reserve " + quantity);
+        }
+        Reservation reservation = new Reservation(new UUID(instanceId, sequence.incrementAndGet()), productId,
+                quantity, clock.instant().plus(properties.ttl()));
+        reservations.put(reservation.id(), reservation);
+        return reservation;
+    }
+
+    /**
+     * Turn a reservation into a sale. The quantity is written to the database by the next background flush.
+     *
+     * @param reservationId the reservation ID
+     * @throws ResourceNotFoundException if the reservation does not exist or was already confirmed or released
+     * @throws ConflictException         if the reservation has expired
+     */
+    public void confirm(UUID reservationId) {
+        Reservation reservation = take(reservationId);
+        ProductStock stock = stocks.get(reservation.productId());
+        if (stock == null) {
+            throw new ResourceNotFoundException("Product", reservation.productId());
+        }
+        if (clock.instant().isAfter(reservation.expiresAt())) {
+            stock.give(reservation.quantity());
+            throw new ConflictException("Reservation " + reservationId + " has expired");
+        }
+        stock.pending.addAndGet(-reservation.quantity());
+    }
+
+    /**
+     * Cancel a reservation and return its stock.
+     *
+     * @param reservationId the reservation ID
+     * @throws ResourceNotFoundException if the reservation does not exist or was already confirmed or released
+     */
+    public void release(UUID reservationId) {
+        Reservation reservation = take(reservationId);
+        ProductStock stock = stocks.get(reservation.productId());
+        if (stock != null) {
+            stock.give(reservation.quantity());
+        }
+    }
+
+    /**
+     * @param productId the product ID
+     * @return the quantity that can currently be reserved
+     * @throws ResourceNotFoundException if product not found
+     */
+    public long getAvailable(Long productId) {
+        return stockOf(productId).available.get();
+    }
+
+    /**
+     * Release the stock of every reservation past its expiry time.
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.sweep-interval:1s}")
+    public void expireReservations() {
+        Instant now = clock.instant();
+        int expired = 0;
+        for (Reservation reservation : reservations.values()) {
+            if (now.isAfter(reservation.expiresAt()) && reservations.remove(reservation.id(), reservation)) {
+                ProductStock stock = stocks.get(reservation.productId());
+                if (stock != null) {
+                    stock.give(reservation.quantity());
+                }
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            logger.debug("Released {} expired reservations", expired);
+        }
+    }
+
+    /**
+     * Take the confirmed quantities not yet written to the database. The caller must either persist them or
+     * hand them back with {@link #restorePendingDeltas(Map)}.
+     *
+     * @return the stock delta per product ID, ordered by product ID
+     */
+    Map<Long, Integer> drainPendingDeltas() {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        stocks.forEach((id, stock) -> {
+            long delta = stock.pending.getAndSet(0);
+            if (delta != 0) {
+                // The flush will move the database by this much; expect it, so it is not mistaken for drift
+                stock.expectDatabaseChange(delta);
+                deltas.put(id, Math.toIntExact(delta));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Hand back deltas from {@link #drainPendingDeltas()} that could not be written.
+     *
+     * @param deltas the stock delta per product ID
+     */
+    void restorePendingDeltas(Map<Long, Integer> deltas) {
+        deltas.forEach((id, delta) -> {
+            ProductStock stock = stocks.get(id);
+            if (stock != null) {
+                stock.expectDatabaseChange(-delta);
+                stock.pending.addAndGet(delta);
+            }
+        });
+    }
+
+    /**
+     * Forget deltas from {@link #drainPendingDeltas()} that the database rejected. The stock they would have
+     * removed is neither expected in the database nor taken from the available count any more, so the count
+     * stays at the database stock less what is held, and the next change event resyncs it to what was left.
+     *
+     * @param deltas the stock delta per product ID
+     */
+    void discardPendingDeltas(Map<Long, Integer> deltas) {
+        deltas.forEach((id, delta) -> {
+            ProductStock stock = stocks.get(id);
+            if (stock != null) {
+                stock.expectDatabaseChange(-delta);
+                stock.give(-delta);
+            }
+        });
+    }
+
+    @Override
+    public void onSaved(Product product) {
+        onStockChanged(product.getId(), product.getStockQuantity());
+    }
+
+    @Override
+    public void onStockChanged(Long id, int stockQuantity) {
+        ProductStock existing = stocks.putIfAbsent(id, new ProductStock(stockQuantity));
+        if (existing != null) {
+            existing.resync(stockQuantity);
+        }
+    }
+
+    @Override
+    public void onDeleted(Long id) {
+        stocks.remove(id);
+    }
+
+    private ProductStock stockOf(Long productId) {
+        ProductStock stock = stocks.get(productId);
+        if (stock != null) {
+            return stock;
+        }
+        // Not loaded yet, e.g. a request arriving before the startup load has reached this product
+        int stockQuantity = productRepository.findStockQuantity(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", productId));
+        return stocks.computeIfAbsent(productId, id -> new ProductStock(stockQuantity));
+    }
+
+    private Reservation take(UUID reservationId) {
+        Reservation reservation = reservations.remove(reservationId);
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reservation not found with id: " + reservationId);
+        }
+        return reservation;
+    }
+
+    /**
+     * Counters for one product. {@code available} and {@code pending} are updated lock-free on the request
+     * path; {@code databaseStock} only changes on flushes and change events, under the instance lock.
+     */
+    private static final class ProductStock {
+
+        final AtomicLong available;
+        final AtomicLong pending = new AtomicLong();
+        private long databaseStock;
+
+        ProductStock(int stockQuantity) {
+            this.available = new AtomicLong(stockQuantity);
+            this.databaseStock = stockQuantity;
+        }
+
+        boolean tryTake(int quantity) {
+            long current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        void give(int quantity) {
+            available.addAndGet(quantity);
+        }
+
+        synchronized void expectDatabaseChange(long delta) {
+            databaseStock += delta;
+        }
+
+        synchronized void resync(int stockQuantity) {
+            long drift = stockQuantity - databaseStock;
+            databaseStock = stockQuantity;
+            if (drift != 0) {
+                available.addAndGet(drift);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.StockDeltaResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind flusher for {@link StockReservationService}: periodically writes the net stock change of each
+ * product's confirmed reservations in one transaction, so a burst of sales on a product costs one UPDATE per
+ * flush instead of one per sale.
+ *
+ * <p>Deltas that would take a product's stock below zero are not written: they were sold by this instance
+ * while other instances sold the same units. Each one is logged as an error and its units are counted in
+ * {@code app.reservations.oversold}, so the oversell can be settled by hand.
+ *
+ * <p>Flushes are serialized with a {@link ReentrantLock} rather than {@code synchronized}: the flush holds the
+ * lock across database I/O, which would pin the carrier thread when scheduled jobs run on virtual threads.
+ */
+@Component
+public class StockReservationWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationWriter.class);
+
+    private final StockReservationService reservationService;
+    private final ProductService productService;
+    private final Counter oversold;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockReservationWriter(StockReservationService reservationService, ProductService productService,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.reservationService = reservationService;
+        this.productService = productService;
+        this.oversold = Counter.builder("app.reservations.oversold")
+                .description("Units sold through reservations that the database stock could not cover")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    /**
+     * Write pending confirmed quantities to the database. On failure they are handed back and retried on the
+     * next flush; oversold quantities are reported instead.
+     */
+    @Scheduled(fixedDelayString = "${app.reservations.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Integer> deltas = reservationService.drainPendingDeltas();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            StockDeltaResult result;
+            try {
+                result = productService.applyStockDeltas(deltas);
+            } catch (RuntimeException ex) {
+                reservationService.restorePendingDeltas(deltas);
+                logger.error("Failed to flush confirmed reservations for {} products, will retry", deltas.size(), ex);
+                return;
+            }
+            logger.debug("Flushed confirmed reservations for {} products", deltas.size());
+            if (!result.rejected().isEmpty()) {
+                reservationService.discardPendingDeltas(result.rejected());
+                result.rejected().forEach((id, delta) -> {
+                    logger.error("Oversold product {}: {} confirmed units exceed its stock", id, -delta);
+                    oversold.increment(-delta);
+                });
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
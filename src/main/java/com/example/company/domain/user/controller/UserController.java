@@ -1,15 +1,31 @@
 package com.example.company.domain.user.controller;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.util.FieldSelection;
+import com.example.company.common.util.HttpValidators;
+import com.example.company.common.util.NdjsonWriter;
+import com.example.company.domain.user.dto.UserSummary;
 import com.example.company.domain.user.model.User;
 import com.example.company.domain.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * REST controller for User domain operations.
@@ -19,22 +35,103 @@ import java.util.List;
 @Tag(name = "Users", description = "User management endpoints")
 public class UserController {
 
+    private static final Set<String> USER_FIELDS = Set.of("id", "name", "email", "createdAt", "updatedAt");
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieve a list of all users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    @Operation(summary = "Get all users",
+            description = "Retrieve a page of users; the next page cursor is returned in the X-Next-Cursor header")
+    public ResponseEntity<List<User>> getAllUsers(@RequestParam(required = false) String after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) String sort) {
+        return toResponse(userService.getUsersPage(after, limit, sort));
+    }
+
+    @GetMapping(params = {"fields", "!ids"})
+    @Operation(summary = "Get selected fields of users",
+            description = "Same listing as without fields, but each user only has the comma-separated fields. "
+                    + "A selection within id, name and email is read without loading timestamps")
+    public ResponseEntity<List<Map<String, Object>>> getUserFields(@RequestParam String fields,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(required = false) String sort) {
+        FieldSelection selection = FieldSelection.parse(fields, USER_FIELDS);
+        if (selection.isCoveredBy(UserSummary.FIELDS)) {
+            CursorPage<UserSummary> page = userService.getUserSummariesPage(after, limit, sort);
+            return toResponse(new CursorPage<>(selection.apply(objectMapper, page.items()), page.nextCursor()));
+        }
+        CursorPage<User> page = userService.getUsersPage(after, limit, sort);
+        return toResponse(new CursorPage<>(selection.apply(objectMapper, page.items()), page.nextCursor()));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get users by IDs",
+            description = "Retrieve the users with the comma-separated IDs in one call, in request order; IDs no "
+                    + "user exists for are listed under missing. With fields, each user only has the "
+                    + "comma-separated fields")
+    public ResponseEntity<LookupResult<?>> getUsersByIds(@RequestParam List<Long> ids,
+                                                         @RequestParam(required = false) String fields) {
+        return toResponse(userService.getUsersByIds(ids), fields);
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Look up users by IDs",
+            description = "Same as GET with ids, for ID lists too long for a URL: the body is a JSON array of up "
+                    + "to app.batch.max-items IDs")
+    public ResponseEntity<LookupResult<?>> lookupUsers(@RequestBody List<Long> ids,
+                                                       @RequestParam(required = false) String fields) {
+        return toResponse(userService.getUsersByIds(ids), fields);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users", description = "Stream all users as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            userService.exportUsers(writer::write);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/by-email")
+    @Operation(summary = "Get user by email", description = "Retrieve a specific user by their email address")
+    public ResponseEntity<User> getUserByEmail(@RequestParam String email, HttpServletResponse response) {
+        try {
+            return ResponseEntity.ok(userService.getUserByEmail(email));
+        } catch (ResourceNotFoundException e) {
+            // A signup through another instance can take a refresh interval to show up here; don't let a
+            // client or proxy keep the 404 any longer
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            throw e;
+        }
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get user by ID", description = "Retrieve a specific user by their ID")
+    @Operation(summary = "Get user by ID",
+            description = "Retrieve a specific user by their ID; returns 304 when the user has not changed since "
+                    + "the ETag or date sent by the client")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+        User user = userService.findUserById(id).orElseThrow(() -> new ResourceNotFoundException("User", id));
+        return HttpValidators.ok(user.getId(), user.getUpdatedAt()).body(user);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    @Operation(summary = "Get selected fields of a user",
+            description = "Retrieve a specific user with only the comma-separated fields")
+    public ResponseEntity<Map<String, Object>> getUserFieldsById(@PathVariable Long id, @RequestParam String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, USER_FIELDS);
+        User user = userService.findUserById(id).orElseThrow(() -> new ResourceNotFoundException("User", id));
+        return HttpValidators.ok(user.getId(), user.getUpdatedAt()).body(selection.apply(objectMapper, user));
     }
 
     @PostMapping
@@ -44,6 +141,14 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create users in bulk",
+            description = "Create up to app.batch.max-items users in one request. Each item is validated on its "
+                    + "own: valid items are created, invalid ones are reported by index and skipped")
+    public ResponseEntity<BatchResult> createUsers(@RequestBody List<User> users) {
+        return ResponseEntity.ok(userService.createUsers(users));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update user", description = "Update an existing user")
     public ResponseEntity<User> updateUser(@PathVariable Long id, @Valid @RequestBody User user) {
@@ -56,4 +161,20 @@ public class UserController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<LookupResult<?>> toResponse(LookupResult<User> result, String fields) {
+        if (fields == null) {
+            return ResponseEntity.ok(result);
+        }
+        FieldSelection selection = FieldSelection.parse(fields, USER_FIELDS);
+        return ResponseEntity.ok(new LookupResult<>(selection.apply(objectMapper, result.items()), result.missing()));
+    }
+
+    private static <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
 }
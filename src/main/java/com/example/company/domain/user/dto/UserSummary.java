@@ -0,0 +1,18 @@
+package com.example.company.domain.user.dto;
+
+import java.util.Set;
+
+/**
+ * Listing projection of a user, without the timestamps.
+ *
+ * @param id    the user ID
+ * @param name  the user's name
+ * @param email the user's email address
+ */
+public record UserSummary(Long id, String name, String email) {
+
+    /**
+     * JSON properties this projection provides.
+     */
+    public static final Set<String> FIELDS = Set.of("id", "name", "email");
+}
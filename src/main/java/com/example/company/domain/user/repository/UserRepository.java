@@ -1,10 +1,22 @@
 package com.example.company.domain.user.repository;
 
+import com.example.company.domain.user.dto.UserSummary;
 import com.example.company.domain.user.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity.
@@ -12,6 +24,18 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * JDBC fetch size used when streaming the whole table, so rows are pulled from the
+     * database cursor in batches instead of being materialized all at once.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Select clause of the {@link UserSummary} projection, which leaves the timestamps in the table.
+     */
+    String SUMMARY_SELECT = "SELECT new com.example.company.domain.user.dto.UserSummary(u.id, u.name, u.email) "
+            + "FROM User u";
+
     /**
      * Find a user by email address.
      *
@@ -27,4 +51,119 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if user exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find which of the given email addresses are already taken.
+     *
+     * @param emails the emails to check
+     * @return the subset of {@code emails} that belong to existing users
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find the emails of users created or updated at or after the given time.
+     *
+     * @param since the earliest update time to include
+     * @return the emails, in no particular order
+     */
+    @Query("SELECT u.email FROM User u WHERE u.updatedAt >= :since")
+    List<String> findEmailsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Fetch the first page of users in the order given by the pageable's sort.
+     *
+     * @param pageable page size and {@code (sort_key, id)} ordering
+     * @return the first page of users, without a count query
+     */
+    @Query("SELECT u FROM User u")
+    List<User> findFirstPage(Pageable pageable);
+
+    /**
+     * Fetch the page of users following the given id, ordered by id.
+     *
+     * @param afterId  the id of the last user on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of users
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :afterId")
+    List<User> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Fetch the page of users following {@code (createdAt, afterId)}, ordered by creation time then id.
+     *
+     * @param createdAt the creation time of the last user on the previous page
+     * @param afterId   the id of the last user on the previous page
+     * @param pageable  page size and ordering
+     * @return the next page of users
+     */
+    @Query("SELECT u FROM User u WHERE u.createdAt >= :createdAt "
+            + "AND (u.createdAt > :createdAt OR u.id > :afterId)")
+    List<User> findPageAfterCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Fetch the page of users following {@code (name, afterId)}, ordered by name then id.
+     *
+     * @param name     the name of the last user on the previous page
+     * @param afterId  the id of the last user on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of users
+     */
+    @Query("SELECT u FROM User u WHERE u.name >= :name AND (u.name > :name OR u.id > :afterId)")
+    List<User> findPageAfterName(@Param("name") String name, @Param("afterId") Long afterId,
+                                 Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findFirstPage(Pageable)}.
+     *
+     * @param pageable page size and {@code (sort_key, id)} ordering
+     * @return the first page of user summaries
+     */
+    @Query(SUMMARY_SELECT)
+    List<UserSummary> findSummaryFirstPage(Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findPageAfterId(Long, Pageable)}.
+     *
+     * @param afterId  the id of the last user on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of user summaries
+     */
+    @Query(SUMMARY_SELECT + " WHERE u.id > :afterId")
+    List<UserSummary> findSummaryPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Summary projection of {@link #findPageAfterName(String, Long, Pageable)}.
+     *
+     * @param name     the name of the last user on the previous page
+     * @param afterId  the id of the last user on the previous page
+     * @param pageable page size and ordering
+     * @return the next page of user summaries
+     */
+    @Query(SUMMARY_SELECT + " WHERE u.name >= :name AND (u.name > :name OR u.id > :afterId)")
+    List<UserSummary> findSummaryPageAfterName(@Param("name") String name, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    /**
+     * Stream all users ordered by id. Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of users backed by a database cursor
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+
+    /**
+     * Delete a user with a single DELETE, without loading it first.
+     *
+     * @param id the user ID
+     * @return 1 if the user was deleted, 0 if it does not exist
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int removeById(@Param("id") Long id);
 }
@@ -0,0 +1,92 @@
+package com.example.company.domain.user.service;
+
+import com.example.company.common.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Bloom filter of every registered email address, so lookups of addresses nobody has registered can be
+ * answered without a query. Emails are normalized (trimmed, lower-cased) before hashing, so the filter errs
+ * towards "maybe" for addresses that differ only in case. Until the startup load has completed, and for
+ * emails of deleted users, the filter answers "maybe" and callers fall through to the database.
+ *
+ * <p>Other instances register users too, so emails registered or changed since the previous refresh are
+ * merged in every {@link UserEmailFilterProperties#refreshInterval()}; until then a negative answer can deny a
+ * signup made elsewhere, so the interval is kept short. A negative answer is only trusted while the last
+ * refresh is recent: if a refresh fails, the filter answers "maybe" until one succeeds.
+ */
+@Component
+public class UserEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEmailFilter.class);
+
+    private final BloomFilter filter;
+    private final long expectedEmails;
+    private final long maxStalenessNanos;
+    private volatile LocalDateTime refreshedFrom;
+    private volatile long refreshedAtNanos;
+    private volatile boolean warnedFull;
+
+    public UserEmailFilter(UserEmailFilterProperties properties) {
+        this.filter = new BloomFilter(properties.expectedEmails(), properties.falsePositiveRate());
+        this.expectedEmails = properties.expectedEmails();
+        // One late or failed refresh is tolerated before negative answers stop being trusted
+        this.maxStalenessNanos = properties.refreshInterval().multipliedBy(2).toNanos();
+    }
+
+    /**
+     * Record a registered email.
+     *
+     * @param email the email, may be null
+     */
+    public void put(String email) {
+        if (email == null) {
+            return;
+        }
+        filter.put(normalize(email));
+        if (!warnedFull && filter.keyCount() > expectedEmails) {
+            warnedFull = true;
+            logger.warn("Email filter holds more than the {} emails it was sized for; raise "
+                    + "app.users.email-filter.expected-emails to keep its false positive rate", expectedEmails);
+        }
+    }
+
+    /**
+     * @param email the email
+     * @return false if no user has this email, true if one may have it
+     */
+    public boolean mightContain(String email) {
+        return !isFresh() || filter.mightContain(normalize(email));
+    }
+
+    /**
+     * Record a completed load or refresh; negative answers are authoritative for a while afterwards.
+     *
+     * @param startedAt when the load or refresh started reading the database; the next refresh reads the
+     *                  emails changed since then
+     */
+    public void markRefreshed(LocalDateTime startedAt) {
+        refreshedAtNanos = System.nanoTime();
+        refreshedFrom = startedAt;
+    }
+
+    /**
+     * @return when the last completed load or refresh started reading the database, or null before the
+     * startup load has completed
+     */
+    public LocalDateTime refreshedFrom() {
+        return refreshedFrom;
+    }
+
+    private boolean isFresh() {
+        return refreshedFrom != null && System.nanoTime() - refreshedAtNanos <= maxStalenessNanos;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
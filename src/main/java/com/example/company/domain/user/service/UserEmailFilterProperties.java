@@ -0,0 +1,24 @@
+package com.example.company.domain.user.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the in-memory filter of registered email addresses.
+ *
+ * @param expectedEmails    the number of emails the filter is sized for; past it the false positive rate rises
+ * @param falsePositiveRate the share of unknown emails that still go to the database, at {@code expectedEmails}
+ * @param refreshInterval   delay between merges of emails registered or changed since the previous merge, by
+ *                          any instance; also bounds how long another instance's signup can be answered with 404
+ * @param missTtl           how long a database miss by email is trusted; misses are per instance, so this bounds
+ *                          how long a signup through another instance can be answered with 404 after its commit
+ */
+@ConfigurationProperties(prefix = "app.users.email-filter")
+public record UserEmailFilterProperties(
+        @DefaultValue("1000000") long expectedEmails,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("5s") Duration refreshInterval,
+        @DefaultValue("5s") Duration missTtl) {
+}
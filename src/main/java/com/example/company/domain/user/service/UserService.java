@@ -1,14 +1,50 @@
 package com.example.company.domain.user.service;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.IdLookup;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.config.BatchProperties;
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.exception.ConflictException;
 import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.Cursor;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.util.TransactionHooks;
+import com.example.company.domain.user.dto.UserSummary;
 import com.example.company.domain.user.model.User;
+import com.example.company.domain.user.model.UserSortField;
 import com.example.company.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service layer for User domain operations.
@@ -17,11 +53,92 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class UserService {
 
+    /**
+     * Name of the read-through cache in front of {@link #findUserById(Long)}.
+     */
+    public static final String USER_CACHE = "users";
+
+    /**
+     * Name of the negative cache of emails that {@link #getUserByEmail(String)} found no user for. Entries are
+     * only trusted for {@link UserEmailFilterProperties#missTtl()} and until the next committed user write.
+     */
+    public static final String EMAIL_MISS_CACHE = "user-email-misses";
+
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+    private static final int EMAIL_LOOKUP_CHUNK_SIZE = 1000;
+
+    /**
+     * Name of the unique constraint on {@code users.email}. H2 reports the name of the constraint's index
+     * instead, which starts with it, so reported names are matched by prefix, ignoring case and schema.
+     */
+    static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
+    /**
+     * How far before the previous refresh each email filter refresh starts reading, to cover clock skew
+     * between instances and transactions that commit a while after stamping their rows.
+     */
+    static final Duration EMAIL_FILTER_REFRESH_OVERLAP = Duration.ofMinutes(1);
+
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final UserEmailFilter emailFilter;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final long emailMissTtlNanos;
+    // Bumped after every commit that adds or changes an email, so a miss read before the commit is ignored
+    // even if it was cached after the commit
+    private final AtomicLong emailWrites = new AtomicLong();
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, EntityManager entityManager, CacheManager cacheManager,
+                       UserEmailFilter emailFilter, UserEmailFilterProperties emailFilterProperties,
+                       Validator validator, BatchProperties batchProperties) {
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.emailFilter = emailFilter;
+        this.emailMissTtlNanos = emailFilterProperties.missTtl().toNanos();
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+    }
+
+    /**
+     * Load every registered email into the {@link UserEmailFilter} once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEmailFilter() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long count;
+        // A lagging replica would leave out recent signups, which the filter would then deny exist
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            count = exportUsers(user -> emailFilter.put(user.getEmail()));
+        }
+        emailFilter.markRefreshed(startedAt);
+        logger.info("Loaded {} emails into the email filter", count);
+    }
+
+    /**
+     * Merge the emails of users registered or changed since the previous load or refresh into the
+     * {@link UserEmailFilter}, including those written by other instances.
+     *
+     * @return the number of merged emails
+     */
+    @Scheduled(fixedDelayString = "${app.users.email-filter.refresh-interval:5s}",
+            initialDelayString = "${app.users.email-filter.refresh-interval:5s}")
+    public int refreshEmailFilter() {
+        LocalDateTime since = emailFilter.refreshedFrom();
+        if (since == null) {
+            return 0;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<String> emails;
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            emails = userRepository.findEmailsUpdatedSince(since.minus(EMAIL_FILTER_REFRESH_OVERLAP));
+        }
+        emails.forEach(emailFilter::put);
+        emailFilter.markRefreshed(startedAt);
+        logger.debug("Merged {} emails into the email filter", emails.size());
+        return emails.size();
     }
 
     /**
@@ -35,31 +152,227 @@ public class UserService {
     }
 
     /**
-     * Retrieve a user by ID.
+     * Retrieve a page of users using keyset pagination. Each page is fetched with a
+     * {@code (sort_key, id)} seek predicate taken from the cursor, so the cost does not grow with how deep the
+     * client pages, and the user the cursor was taken from need not exist any more.
+     *
+     * @param after the {@link Cursor} of the last user on the previous page, or null for the first page
+     * @param limit the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @param sort  the sort key: id, createdAt or name; defaults to id
+     * @return the requested page
+     * @throws IllegalArgumentException if the sort key, limit or cursor is invalid
+     */
+    public CursorPage<User> getUsersPage(String after, Integer limit, String sort) {
+        UserSortField sortField = UserSortField.fromParam(sort);
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        logger.debug("Fetching users after {} sorted by {} (limit {})", cursor, sortField, pageSize);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, sortField.toSort());
+        List<User> rows;
+        if (cursor == null) {
+            rows = userRepository.findFirstPage(pageable);
+        } else {
+            long afterId = cursor.id();
+            rows = switch (sortField) {
+                case ID -> userRepository.findPageAfterId(afterId, pageable);
+                case CREATED_AT -> userRepository.findPageAfterCreatedAt(cursor.dateTimeKey(), afterId, pageable);
+                case NAME -> userRepository.findPageAfterName(cursor.stringKey(), afterId, pageable);
+            };
+        }
+        return CursorPage.of(rows, pageSize, user -> switch (sortField) {
+            case ID -> Cursor.of(user.getId());
+            case CREATED_AT -> Cursor.of(user.getId(), user.getCreatedAt());
+            case NAME -> Cursor.of(user.getId(), user.getName());
+        });
+    }
+
+    /**
+     * Retrieve a page of user summaries: the same page as {@link #getUsersPage(String, Integer, String)}, read
+     * through the {@link UserSummary} projection so timestamps are not loaded. The projection has no creation
+     * time to build a cursor from, so pages ordered by it are read as full users.
+     *
+     * @param after the {@link Cursor} of the last user on the previous page, or null for the first page
+     * @param limit the requested page size, capped at {@link CursorPage#MAX_LIMIT}
+     * @param sort  the sort key: id, createdAt or name; defaults to id
+     * @return the requested page
+     * @throws IllegalArgumentException if the sort key, limit or cursor is invalid
+     */
+    public CursorPage<UserSummary> getUserSummariesPage(String after, Integer limit, String sort) {
+        UserSortField sortField = UserSortField.fromParam(sort);
+        if (sortField == UserSortField.CREATED_AT) {
+            CursorPage<User> page = getUsersPage(after, limit, sort);
+            return new CursorPage<>(page.items().stream()
+                    .map(user -> new UserSummary(user.getId(), user.getName(), user.getEmail()))
+                    .toList(), page.nextCursor());
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor cursor = Cursor.decode(after);
+        logger.debug("Fetching user summaries after {} sorted by {} (limit {})", cursor, sortField, pageSize);
+        Pageable pageable = PageRequest.of(0, pageSize + 1, sortField.toSort());
+        List<UserSummary> rows;
+        if (cursor == null) {
+            rows = userRepository.findSummaryFirstPage(pageable);
+        } else if (sortField == UserSortField.NAME) {
+            rows = userRepository.findSummaryPageAfterName(cursor.stringKey(), cursor.id(), pageable);
+        } else {
+            rows = userRepository.findSummaryPageAfterId(cursor.id(), pageable);
+        }
+        return CursorPage.of(rows, pageSize, summary -> sortField == UserSortField.NAME
+                ? Cursor.of(summary.id(), summary.name())
+                : Cursor.of(summary.id()));
+    }
+
+    /**
+     * Stream every user, ordered by id, to the given consumer. Rows are read through a database cursor
+     * and detached from the persistence context once consumed, so memory use does not grow with the
+     * size of the table.
+     *
+     * @param consumer receives each user in turn
+     * @return the number of exported users
+     */
+    public long exportUsers(Consumer<User> consumer) {
+        logger.info("Exporting all users");
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                consumer.accept(user);
+                entityManager.detach(user);
+                count++;
+            }
+        }
+        logger.info("Exported {} users", count);
+        return count;
+    }
+
+    /**
+     * Look up a user by ID. Results are cached, misses included, so a repeated lookup of an ID with no user is
+     * answered from the cache too; creating a user evicts its ID. Concurrent misses on the same ID share a single
+     * query, which goes to the primary so a lagging replica cannot put a row the cache was just evicted of back
+     * in it.
+     *
+     * <p>A miss is returned rather than thrown: an exception thrown by a cache loader is wrapped in a
+     * {@link Cache.ValueRetrievalException}, which formats a message and captures a stack trace on every miss.
      *
      * @param id the user ID
+     * @return the user, or empty if there is none with this ID
+     */
+    @Cacheable(cacheNames = USER_CACHE, key = "#id", sync = true)
+    public Optional<User> findUserById(Long id) {
+        logger.debug("Fetching user with id: {}", id);
+        try (PrimaryStickiness.Scope primary = PrimaryStickiness.pin()) {
+            return userRepository.findById(id);
+        }
+    }
+
+    /**
+     * Retrieve many users by ID in one call. Users in the user cache are served from it; the rest are read with
+     * chunked {@code IN} queries and cached. Runs without a transaction of its own, so a request answered from
+     * the cache borrows no connection.
+     *
+     * @param ids the user IDs; repeated IDs are answered once
+     * @return the found users in request order and the IDs no user was found for
+     * @throws IllegalArgumentException if the list is empty, larger than {@link BatchProperties#maxItems()} or
+     *                                  contains a null ID
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public LookupResult<User> getUsersByIds(List<Long> ids) {
+        batchProperties.checkSize(ids.size());
+        logger.debug("Fetching {} users by id", ids.size());
+        return IdLookup.lookup(ids, cacheManager.getCache(USER_CACHE), User.class, User::getId,
+                userRepository::findAllById);
+    }
+
+    /**
+     * Retrieve a user by email. Emails the {@link UserEmailFilter} has never seen are rejected without a
+     * query, and emails the database had no user for are remembered in a negative cache for a few seconds.
+     *
+     * @param email the email
      * @return the user
      * @throws ResourceNotFoundException if user not found
      */
-    public User getUserById(Long id) {
-        logger.debug("Fetching user with id: {}", id);
-        return userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", id));
+    public User getUserByEmail(String email) {
+        logger.debug("Fetching user with email: {}", email);
+        if (!emailFilter.mightContain(email)) {
+            throw emailNotFound(email);
+        }
+        Cache misses = cacheManager.getCache(EMAIL_MISS_CACHE);
+        if (misses != null && isFresh(misses.get(email, EmailMiss.class))) {
+            throw emailNotFound(email);
+        }
+        EmailMiss miss = new EmailMiss(emailWrites.get(), System.nanoTime());
+        return userRepository.findByEmail(email).orElseThrow(() -> {
+            if (misses != null) {
+                misses.put(email, miss);
+            }
+            return emailNotFound(email);
+        });
     }
 
     /**
-     * Create a new user.
+     * Create a new user. Email uniqueness is enforced by the database constraint rather than a prior query,
+     * so concurrent signups with the same email cannot both succeed.
      *
      * @param user the user to create
      * @return the created user
+     * @throws ConflictException if the email is already taken
      */
     @Transactional
     public User createUser(User user) {
         logger.info("Creating new user with email: {}", user.getEmail());
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new IllegalArgumentException("User with email " + user.getEmail() + " already exists");
+        User savedUser = saveEmailUnique(user);
+        evictAfterCommit(List.of(savedUser.getId()));
+        invalidateEmailMissesAfterCommit();
+        return savedUser;
+    }
+
+    /**
+     * Create many users in one transaction. Each item is validated on its own, including against emails that
+     * already exist or repeat earlier in the batch; invalid items are reported and skipped. Inserts are sent in
+     * JDBC batches, and the persistence context is flushed and cleared every {@link BatchProperties#flushSize()}
+     * items so memory use stays flat.
+     *
+     * @param users the users to create
+     * @return the IDs of the created users and the errors of the rejected ones
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link BatchProperties#maxItems()}
+     */
+    @Transactional
+    public BatchResult createUsers(List<User> users) {
+        batchProperties.checkSize(users.size());
+        logger.info("Creating batch of {} users", users.size());
+        Set<String> takenEmails = findExistingEmails(users);
+        List<Long> ids = new ArrayList<>(users.size());
+        List<BatchResult.ItemError> errors = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (user == null) {
+                errors.add(BatchResult.ItemError.of(i, "item", "User is required"));
+                continue;
+            }
+            Set<ConstraintViolation<User>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                errors.add(BatchResult.ItemError.of(i, violations));
+                continue;
+            }
+            if (!takenEmails.add(user.getEmail())) {
+                errors.add(BatchResult.ItemError.of(i, "email", "User with email " + user.getEmail()
+                        + " already exists"));
+                continue;
+            }
+            user.setId(null);
+            emailFilter.put(user.getEmail());
+            entityManager.persist(user);
+            ids.add(user.getId());
+            if (ids.size() % batchProperties.flushSize() == 0) {
+                flushAndClear();
+            }
         }
-        return userRepository.save(user);
+        flushAndClear();
+        evictAfterCommit(ids);
+        invalidateEmailMissesAfterCommit();
+        logger.info("Created {} users, rejected {}", ids.size(), errors.size());
+        return new BatchResult(ids, errors);
     }
 
     /**
@@ -73,14 +386,17 @@ public class UserService {
     @Transactional
     public User updateUser(Long id, User user) {
         logger.info("Updating user with id: {}", id);
-        User existingUser = getUserById(id);
+        User existingUser = findUserById(id).orElseThrow(() -> new ResourceNotFoundException("User", id));
         existingUser.setName(user.getName());
         existingUser.setEmail(user.getEmail());
-        return userRepository.save(existingUser);
+        User savedUser = saveEmailUnique(existingUser);
+        evictAfterCommit(List.of(id));
+        invalidateEmailMissesAfterCommit();
+        return savedUser;
     }
 
     /**
-     * Delete a user by ID.
+     * Delete a user by ID with a single DELETE statement.
      *
      * @param id the user ID
      * @throws ResourceNotFoundException if user not found
@@ -88,7 +404,98 @@ public class UserService {
     @Transactional
     public void deleteUser(Long id) {
         logger.info("Deleting user with id: {}", id);
-        User user = getUserById(id);
-        userRepository.delete(user);
+        if (userRepository.removeById(id) == 0) {
+            throw new ResourceNotFoundException("User", id);
+        }
+        evictAfterCommit(List.of(id));
+    }
+
+    private User saveEmailUnique(User user) {
+        emailFilter.put(user.getEmail());
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isEmailUniqueViolation(ex)) {
+                throw ex;
+            }
+            throw new ConflictException("User with email " + user.getEmail() + " already exists");
+        }
+    }
+
+    private void flushAndClear() {
+        try {
+            entityManager.flush();
+        } catch (ConstraintViolationException ex) {
+            if (!isEmailUniqueViolation(ex)) {
+                throw ex;
+            }
+            throw new ConflictException("An email in the batch was registered concurrently; retry the batch");
+        }
+        entityManager.clear();
+    }
+
+    private static boolean isEmailUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                if (name == null) {
+                    return false;
+                }
+                // PostgreSQL reports the bare name, H2 e.g. "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)"
+                String normalized = name.toLowerCase(Locale.ROOT);
+                return normalized.startsWith(EMAIL_UNIQUE_CONSTRAINT)
+                        || normalized.contains("." + EMAIL_UNIQUE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Emails the filter has never seen cannot exist, so only the rest are checked against the database.
+     */
+    private Set<String> findExistingEmails(List<User> users) {
+        List<String> emails = users.stream()
+                .filter(user -> user != null && user.getEmail() != null)
+                .map(User::getEmail)
+                .filter(emailFilter::mightContain)
+                .distinct()
+                .toList();
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_LOOKUP_CHUNK_SIZE, emails.size()));
+            existing.addAll(userRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    private void invalidateEmailMissesAfterCommit() {
+        TransactionHooks.afterCommit(emailWrites::incrementAndGet);
+    }
+
+    private boolean isFresh(EmailMiss miss) {
+        return miss != null && miss.writes() == emailWrites.get()
+                && System.nanoTime() - miss.readAtNanos() <= emailMissTtlNanos;
+    }
+
+    private static ResourceNotFoundException emailNotFound(String email) {
+        return new ResourceNotFoundException("User not found with email: " + email);
+    }
+
+    private void evictAfterCommit(List<Long> ids) {
+        TransactionHooks.afterCommit(() -> {
+            Cache cache = cacheManager.getCache(USER_CACHE);
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+
+    /**
+     * A cached database miss by email.
+     *
+     * @param writes      the email write count when the lookup started
+     * @param readAtNanos when the lookup started, in {@link System#nanoTime()} units
+     */
+    private record EmailMiss(long writes, long readAtNanos) {
     }
 }
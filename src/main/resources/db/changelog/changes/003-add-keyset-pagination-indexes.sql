@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset system:003-add-keyset-pagination-indexes
+CREATE INDEX idx_products_price_id ON products(price, id);
+CREATE INDEX idx_products_created_at_id ON products(created_at, id);
+CREATE INDEX idx_products_name_id ON products(name, id);
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
+CREATE INDEX idx_users_name_id ON users(name, id);
+
+--rollback DROP INDEX idx_users_name_id;
+--rollback DROP INDEX idx_users_created_at_id;
+--rollback DROP INDEX idx_products_name_id;
+--rollback DROP INDEX idx_products_created_at_id;
+--rollback DROP INDEX idx_products_price_id;
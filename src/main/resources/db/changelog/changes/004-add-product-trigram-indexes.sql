@@ -0,0 +1,9 @@
+--liquibase formatted sql
+
+--changeset system:004-add-product-trigram-indexes dbms:postgresql
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_products_description_trgm ON products USING gin (lower(description) gin_trgm_ops);
+
+--rollback DROP INDEX idx_products_description_trgm;
+--rollback DROP INDEX idx_products_name_trgm;
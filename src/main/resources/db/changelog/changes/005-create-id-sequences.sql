@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset system:005-create-id-sequences
+-- Sequence IDs are known before the insert, so Hibernate can batch inserts (identity columns disable
+-- batching). The increment matches the entity allocationSize: each sequence call reserves 50 IDs.
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+--rollback DROP SEQUENCE users_seq;
+--rollback DROP SEQUENCE products_seq;
+
+--changeset system:005-align-id-sequences dbms:postgresql
+-- Existing rows were numbered by the identity columns; start the pooled ranges above them
+SELECT setval('products_seq', (SELECT COALESCE(MAX(id), 0) FROM products) + 50);
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50);
@@ -0,0 +1,13 @@
+--liquibase formatted sql
+
+--changeset system:006-add-low-stock-index dbms:postgresql
+-- Partial index over low-stock rows only. ProductRepository.findLowStock repeats the predicate as a literal
+-- so the planner can prove the index applies; keep the two in sync with LOW_STOCK_MAX_THRESHOLD.
+CREATE INDEX idx_products_low_stock ON products(id, stock_quantity) WHERE stock_quantity <= 100;
+
+--rollback DROP INDEX idx_products_low_stock;
+
+--changeset system:006-add-stock-quantity-index dbms:h2
+CREATE INDEX idx_products_stock_quantity_id ON products(stock_quantity, id);
+
+--rollback DROP INDEX idx_products_stock_quantity_id;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+
+--changeset system:007-create-schema-checksum-table
+-- Checksum of the changelog last applied in full; lets startup skip Liquibase when nothing has changed
+CREATE TABLE schema_checksum (
+    id INT PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+--rollback DROP TABLE schema_checksum;
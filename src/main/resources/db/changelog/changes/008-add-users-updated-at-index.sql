@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset system:008-add-users-updated-at-index
+-- Serves UserRepository.findEmailsUpdatedSince, run by every instance on each email filter refresh.
+CREATE INDEX idx_users_updated_at ON users(updated_at);
+
+--rollback DROP INDEX idx_users_updated_at;
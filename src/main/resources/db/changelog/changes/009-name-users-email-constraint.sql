@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset system:009-name-users-email-constraint dbms:postgresql
+-- UserService tells a duplicate email from other integrity violations by this name.
+ALTER TABLE users RENAME CONSTRAINT users_email_key TO uk_users_email;
+
+--rollback ALTER TABLE users RENAME CONSTRAINT uk_users_email TO users_email_key;
+
+--changeset system:009-name-users-email-constraint dbms:h2
+-- H2 generates the name of an inline constraint and cannot drop it without knowing it, so the column is rebuilt
+-- with a named constraint instead. H2 is only used in memory, where the table is still empty at this point.
+DROP INDEX idx_users_email;
+ALTER TABLE users ADD COLUMN email_new VARCHAR(255);
+UPDATE users SET email_new = email;
+ALTER TABLE users DROP COLUMN email;
+ALTER TABLE users ALTER COLUMN email_new RENAME TO email;
+ALTER TABLE users ALTER COLUMN email SET NOT NULL;
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+CREATE INDEX idx_users_email ON users(email);
+
+--rollback ALTER TABLE users DROP CONSTRAINT uk_users_email; ALTER TABLE users ADD UNIQUE (email);
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset system:010-add-products-updated-at-index
+-- Serves ProductRepository.findByUpdatedAtGreaterThanEqual, run by every instance on each change feed poll.
+CREATE INDEX idx_products_updated_at ON products(updated_at);
+
+--rollback DROP INDEX idx_products_updated_at;
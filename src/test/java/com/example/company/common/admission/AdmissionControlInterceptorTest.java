@@ -0,0 +1,137 @@
+package com.example.company.common.admission;
+
+import com.example.company.common.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final Bulkhead reads = new Bulkhead("read", 1, Duration.ofMillis(5), registry);
+    private final Bulkhead writes = new Bulkhead("write", 1, Duration.ofMillis(5), registry);
+
+    @Test
+    void preHandle_shouldTakePermitUntilCompletion() {
+        AdmissionControlInterceptor interceptor = interceptor(null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, reads.inFlight());
+        assertEquals(0, writes.inFlight());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0, reads.inFlight());
+    }
+
+    @Test
+    void preHandle_shouldUseWriteBulkhead_whenNotGetOrHead() {
+        AdmissionControlInterceptor interceptor = interceptor(null);
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/products"), response, null));
+
+        assertEquals(1, writes.inFlight());
+        assertEquals(0, reads.inFlight());
+    }
+
+    @Test
+    void preHandle_shouldReject503_whenBulkheadFull() {
+        AdmissionControlInterceptor interceptor = interceptor(null);
+        interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/products/1"), response, null);
+
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("PUT", "/api/products/2"), response, null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(Duration.ofSeconds(1), ex.getRetryAfter());
+        // Reads have their own permits
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), response, null));
+    }
+
+    @Test
+    void preHandle_shouldReject429_whenClientOverRateLimit() {
+        AdmissionControlInterceptor interceptor = interceptor(new RateLimiter(1, 1, 100));
+        MockHttpServletRequest first = request("10.0.0.1", null);
+        interceptor.preHandle(first, response, null);
+        interceptor.afterCompletion(first, response, null, null);
+
+        AdmissionRejectedException ex = assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("10.0.0.1", null), response, null));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertTrue(ex.getRetryAfter().compareTo(Duration.ZERO) > 0);
+        assertEquals(0, reads.inFlight());
+        assertEquals(1, registry.get("app.admission.rejections")
+                .tag("bulkhead", "read").tag("reason", "rate_limited").counter().count());
+    }
+
+    @Test
+    void preHandle_shouldLimitByApiKey_whenHeaderPresent() {
+        AdmissionControlInterceptor interceptor = interceptor(new RateLimiter(1, 1, 100));
+        MockHttpServletRequest first = request("10.0.0.1", "alpha");
+        interceptor.preHandle(first, response, null);
+        interceptor.afterCompletion(first, response, null, null);
+
+        MockHttpServletRequest otherKey = request("10.0.0.2", "beta");
+        assertTrue(interceptor.preHandle(otherKey, response, null));
+        interceptor.afterCompletion(otherKey, response, null, null);
+
+        assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("10.0.0.3", "alpha"), response, null));
+    }
+
+    @Test
+    void preHandle_shouldLimitByAddress_whenClientRotatesApiKeys() {
+        AdmissionControlInterceptor interceptor = interceptor(new RateLimiter(1, 1, 100));
+        MockHttpServletRequest first = request("10.0.0.1", "alpha");
+        interceptor.preHandle(first, response, null);
+        interceptor.afterCompletion(first, response, null, null);
+
+        assertThrows(AdmissionRejectedException.class,
+                () -> interceptor.preHandle(request("10.0.0.1", "beta"), response, null));
+    }
+
+    @Test
+    void preHandle_shouldSkip_whenNotInitialDispatch() {
+        AdmissionControlInterceptor interceptor = interceptor(null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        assertEquals(0, reads.inFlight());
+    }
+
+    @Test
+    void afterConcurrentHandlingStarted_shouldReleasePermitOnce() {
+        AdmissionControlInterceptor interceptor = interceptor(null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/stream");
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, reads.inFlight());
+    }
+
+    private AdmissionControlInterceptor interceptor(RateLimiter rateLimiter) {
+        return new AdmissionControlInterceptor(rateLimiter, "X-API-Key", reads, writes, registry);
+    }
+
+    private static MockHttpServletRequest request(String address, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.setRemoteAddr(address);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+}
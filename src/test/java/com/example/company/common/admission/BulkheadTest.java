@@ -0,0 +1,56 @@
+package com.example.company.common.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void tryAcquire_shouldAdmitUpToLimit() {
+        Bulkhead bulkhead = new Bulkhead("read", 2, Duration.ofMillis(10), registry);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.inFlight());
+
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(1, rejections("queue_timeout"));
+    }
+
+    @Test
+    void tryAcquire_shouldAdmit_whenPermitReleased() {
+        Bulkhead bulkhead = new Bulkhead("write", 1, Duration.ofMillis(10), registry);
+        assertTrue(bulkhead.tryAcquire());
+
+        bulkhead.release();
+
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_shouldShedWithoutQueueing_whenRecentWaitsOverTarget() {
+        Bulkhead bulkhead = new Bulkhead("write", 1, Duration.ofMillis(5), registry);
+        assertTrue(bulkhead.tryAcquire());
+        // Each timeout waits a little past the target, pulling the average wait over it
+        for (int i = 0; i < 500 && rejections("shed") == 0; i++) {
+            assertFalse(bulkhead.tryAcquire());
+        }
+        assertEquals(1, rejections("shed"));
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryAcquire());
+
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(5).toNanos());
+        assertEquals(2, rejections("shed"));
+    }
+
+    private double rejections(String reason) {
+        return registry.get("app.admission.rejections").tag("reason", reason).counter().count();
+    }
+}
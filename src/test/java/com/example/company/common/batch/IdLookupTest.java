@@ -0,0 +1,85 @@
+package com.example.company.common.batch;
+
+import com.example.company.common.datasource.PrimaryStickiness;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdLookupTest {
+
+    private final List<List<Long>> queries = new ArrayList<>();
+
+    /**
+     * Loads every ID that is even, as a string.
+     */
+    private final Function<List<Long>, List<String>> loader = ids -> {
+        queries.add(List.copyOf(ids));
+        return ids.stream().filter(id -> id % 2 == 0).map(String::valueOf).toList();
+    };
+
+    @Test
+    void lookup_shouldKeepRequestOrderAndListMisses() {
+        LookupResult<String> result = IdLookup.lookup(List.of(4L, 3L, 2L, 4L), null, String.class, Long::valueOf,
+                loader);
+
+        assertEquals(List.of("4", "2"), result.items());
+        assertEquals(List.of(3L), result.missing());
+        assertEquals(List.of(List.of(4L, 3L, 2L)), queries);
+    }
+
+    @Test
+    void lookup_shouldOnlyLoadUncachedIds_andCacheLoaded() {
+        Cache cache = new ConcurrentMapCache("test");
+        cache.put(2L, "cached");
+
+        LookupResult<String> result = IdLookup.lookup(List.of(2L, 6L), cache, String.class, Long::valueOf, loader);
+
+        assertEquals(List.of("cached", "6"), result.items());
+        assertEquals(List.of(List.of(6L)), queries);
+        assertEquals("6", cache.get(6L, String.class));
+    }
+
+    @Test
+    void lookup_shouldLoadFromPrimary_whenResultsAreCached() {
+        List<Boolean> onPrimary = new ArrayList<>();
+        Function<List<Long>, List<String>> recordingLoader = ids -> {
+            onPrimary.add(PrimaryStickiness.isActive());
+            return loader.apply(ids);
+        };
+
+        IdLookup.lookup(List.of(2L), new ConcurrentMapCache("test"), String.class, Long::valueOf, recordingLoader);
+        IdLookup.lookup(List.of(4L), null, String.class, Long::valueOf, recordingLoader);
+
+        assertEquals(List.of(true, false), onPrimary);
+        assertFalse(PrimaryStickiness.isActive());
+    }
+
+    @Test
+    void lookup_shouldThrowException_whenIdIsNull() {
+        List<Long> ids = new ArrayList<>(List.of(1L));
+        ids.add(null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> IdLookup.lookup(ids, null, String.class, Long::valueOf, loader));
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    void loadAll_shouldQueryInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, IdLookup.CHUNK_SIZE * 2L + 1).boxed().toList();
+
+        Map<Long, String> loaded = IdLookup.loadAll(ids, Long::valueOf, loader);
+
+        assertEquals(IdLookup.CHUNK_SIZE, loaded.size());
+        assertEquals(List.of(IdLookup.CHUNK_SIZE, IdLookup.CHUNK_SIZE, 1),
+                queries.stream().map(List::size).toList());
+    }
+}
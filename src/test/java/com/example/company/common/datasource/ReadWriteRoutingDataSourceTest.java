@@ -0,0 +1,78 @@
+package com.example.company.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through two in-memory H2 databases standing in for the primary and a replica, each tagged with its
+ * role in a {@code node} table.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource primary = database("primary");
+        HikariDataSource replica = database("replica");
+        dataSource = new ReadWriteRoutingDataSource(primary, List.of(replica),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseReplica() {
+        assertEquals("replica", reads.execute(status -> node()));
+    }
+
+    @Test
+    void readWriteTransaction_shouldUsePrimary() {
+        assertEquals("primary", writes.execute(status -> node()));
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUsePrimary_whenWriteRecordedInScope() {
+        try (PrimaryStickiness.Scope ignored = PrimaryStickiness.start(false, () -> {
+        })) {
+            assertEquals("replica", reads.execute(status -> node()));
+
+            PrimaryStickiness.recordWrite();
+
+            assertEquals("primary", reads.execute(status -> node()));
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        new JdbcTemplate(pool).execute("CREATE TABLE IF NOT EXISTS node AS SELECT '" + name + "' AS name");
+        return pool;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.company.common.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(2));
+
+    @Test
+    void doFilter_shouldSetCookieAndStickToPrimary_whenRequestWrites() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicBoolean stickyAfterWrite = new AtomicBoolean();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/products"), response, (req, res) -> {
+            assertFalse(PrimaryStickiness.isActive());
+            PrimaryStickiness.recordWrite();
+            stickyAfterWrite.set(PrimaryStickiness.isActive());
+        });
+
+        assertTrue(stickyAfterWrite.get());
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertFalse(PrimaryStickiness.isActive());
+    }
+
+    @Test
+    void doFilter_shouldStickToPrimary_whenCookieUnexpired() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 1000)));
+        AtomicBoolean sticky = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> sticky.set(PrimaryStickiness.isActive()));
+
+        assertTrue(sticky.get());
+    }
+
+    @Test
+    void doFilter_shouldIgnoreCookie_whenBeyondStickinessWindow() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE,
+                Long.toString(System.currentTimeMillis() + Duration.ofDays(1).toMillis())));
+        AtomicBoolean sticky = new AtomicBoolean(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> sticky.set(PrimaryStickiness.isActive()));
+
+        assertFalse(sticky.get());
+    }
+}
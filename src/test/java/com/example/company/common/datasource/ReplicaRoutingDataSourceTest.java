@@ -0,0 +1,88 @@
+package com.example.company.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private HikariDataSource primary;
+
+    @Mock
+    private HikariDataSource replica1;
+
+    @Mock
+    private HikariDataSource replica2;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void choose_shouldTakeReplicasInTurn_whenRoundRobin() {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertSame(replica1, router.choose());
+        assertSame(replica2, router.choose());
+        assertSame(replica1, router.choose());
+    }
+
+    @Test
+    void choose_shouldTakeLeastBusyReplica_whenLeastConnections() {
+        HikariPoolMXBean busy = mock(HikariPoolMXBean.class);
+        HikariPoolMXBean idle = mock(HikariPoolMXBean.class);
+        when(busy.getActiveConnections()).thenReturn(5);
+        when(idle.getActiveConnections()).thenReturn(1);
+        when(replica1.getHikariPoolMXBean()).thenReturn(busy);
+        when(replica2.getHikariPoolMXBean()).thenReturn(idle);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2),
+                ReplicaRoutingDataSource.Strategy.LEAST_CONNECTIONS);
+
+        assertSame(replica2, router.choose());
+    }
+
+    @Test
+    void getConnection_shouldUsePrimary_whenSticky() throws SQLException {
+        when(primary.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica1),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        try (PrimaryStickiness.Scope ignored = PrimaryStickiness.pin()) {
+            assertSame(connection, router.getConnection());
+        }
+        verifyNoInteractions(replica1);
+    }
+
+    @Test
+    void getConnection_shouldFallBackToPrimary_whenReplicaUnavailable() throws SQLException {
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("timed out"));
+        when(primary.getConnection()).thenReturn(connection);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica1),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertSame(connection, router.getConnection());
+    }
+
+    @Test
+    void getConnection_shouldReportUnsupported_whenCredentialsAreGiven() {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, List.of(replica1),
+                ReplicaRoutingDataSource.Strategy.ROUND_ROBIN);
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> router.getConnection("user", "secret"));
+        verifyNoInteractions(primary, replica1);
+    }
+}
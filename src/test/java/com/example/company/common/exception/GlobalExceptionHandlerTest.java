@@ -6,12 +6,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -28,8 +38,76 @@ class GlobalExceptionHandlerTest {
     void shouldHandleResourceNotFoundException() throws Exception {
         mockMvc.perform(get("/test/resource-not-found"))
                 .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title").value("Not Found"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value("Resource not found"));
+    }
+
+    @Test
+    void shouldHandleResourceNotFoundException_withResourceId() throws Exception {
+        mockMvc.perform(get("/test/product-not-found"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
                 .andExpect(jsonPath("$.status").value(404))
-                .andExpect(jsonPath("$.message").value("Resource not found"));
+                .andExpect(jsonPath("$.detail").value("Product not found with id: 42"));
+    }
+
+    @Test
+    void shouldEscapeNotFoundDetail() throws Exception {
+        mockMvc.perform(get("/test/quoted-not-found"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("User not found with email: \"a\"@example.com"));
+    }
+
+    @Test
+    void shouldHandleIllegalArgumentException() throws Exception {
+        mockMvc.perform(get("/test/bad-request"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid argument"));
+    }
+
+    @Test
+    void shouldHandleConflictException() throws Exception {
+        mockMvc.perform(get("/test/conflict"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Conflicting state"));
+    }
+
+    @Test
+    void shouldHandleDataIntegrityViolationException() throws Exception {
+        mockMvc.perform(get("/test/data-integrity"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.message").value("Request conflicts with existing data"));
+    }
+
+    @Test
+    void shouldHandleCannotCreateTransactionException() throws Exception {
+        mockMvc.perform(get("/test/pool-exhausted"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.message").value("Service is busy, please retry later"));
+    }
+
+    @Test
+    void shouldHandleDataAccessResourceFailureException() throws Exception {
+        mockMvc.perform(get("/test/connection-unavailable"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void shouldHandleAdmissionRejectedException() throws Exception {
+        mockMvc.perform(get("/test/rate-limited"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded"));
     }
 
     @Test
@@ -47,6 +125,49 @@ class GlobalExceptionHandlerTest {
             throw new ResourceNotFoundException("Resource not found");
         }
 
+        @GetMapping("/test/product-not-found")
+        public void throwProductNotFoundException() {
+            throw new ResourceNotFoundException("Product", 42L);
+        }
+
+        @GetMapping("/test/quoted-not-found")
+        public void throwQuotedNotFoundException() {
+            throw new ResourceNotFoundException("User not found with email: \"a\"@example.com");
+        }
+
+        @GetMapping("/test/bad-request")
+        public void throwIllegalArgumentException() {
+            throw new IllegalArgumentException("Invalid argument");
+        }
+
+        @GetMapping("/test/conflict")
+        public void throwConflictException() {
+            throw new ConflictException("Conflicting state");
+        }
+
+        @GetMapping("/test/data-integrity")
+        public void throwDataIntegrityViolationException() {
+            throw new DataIntegrityViolationException("Unique index or primary key violation");
+        }
+
+        @GetMapping("/test/pool-exhausted")
+        public void throwCannotCreateTransactionException() {
+            throw new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                    new SQLTransientConnectionException("Connection is not available, request timed out"));
+        }
+
+        @GetMapping("/test/connection-unavailable")
+        public void throwDataAccessResourceFailureException() {
+            throw new DataAccessResourceFailureException("Unable to acquire JDBC Connection",
+                    new SQLTransientConnectionException("Connection is not available, request timed out"));
+        }
+
+        @GetMapping("/test/rate-limited")
+        public void throwAdmissionRejectedException() {
+            throw new AdmissionRejectedException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded",
+                    Duration.ofMillis(1500));
+        }
+
         @GetMapping("/test/generic-error")
         public void throwGenericException() {
             throw new RuntimeException("Generic error");
@@ -0,0 +1,60 @@
+package com.example.company.common.exception;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ThrottledLogTest {
+
+    private final Logger logger = mock(Logger.class);
+
+    @BeforeEach
+    void setUp() {
+        when(logger.isWarnEnabled()).thenReturn(true);
+    }
+
+    @Test
+    void warn_shouldLogOncePerInterval_andBuildOnlyLoggedMessages() {
+        ThrottledLog log = new ThrottledLog(logger, Duration.ofHours(1));
+        AtomicInteger built = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            log.warn(() -> "Resource not found: " + built.incrementAndGet());
+        }
+
+        verify(logger, times(1)).warn("Resource not found: 1");
+        assertEquals(1, built.get());
+    }
+
+    @Test
+    void warn_shouldReportSuppressedCount_whenIntervalHasPassed() throws InterruptedException {
+        ThrottledLog log = new ThrottledLog(logger, Duration.ofMillis(50));
+        log.warn(() -> "first");
+        log.warn(() -> "second");
+        log.warn(() -> "third");
+
+        Thread.sleep(60);
+        log.warn(() -> "fourth");
+
+        verify(logger).warn("first");
+        verify(logger).warn("{} ({} more since the last one logged)", "fourth", 2L);
+        verify(logger, times(1)).warn(anyString());
+    }
+
+    @Test
+    void warn_shouldDoNothing_whenWarnDisabled() {
+        when(logger.isWarnEnabled()).thenReturn(false);
+        ThrottledLog log = new ThrottledLog(logger, Duration.ZERO);
+
+        log.warn(() -> fail("message should not be built"));
+
+        verify(logger, never()).warn(anyString());
+    }
+}
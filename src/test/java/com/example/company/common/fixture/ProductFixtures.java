@@ -0,0 +1,75 @@
+package com.example.company.common.fixture;
+
+import com.example.company.domain.product.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Test helper for building products with only the columns a test cares about. Unset columns get defaults: the
+ * name {@code "Product <id>"}, no description, a price of 9.99, one unit in stock and no timestamps.
+ *
+ * <pre>{@code
+ * index.onSaved(product(1L).price("20.00").build());
+ * }</pre>
+ */
+public final class ProductFixtures {
+
+    private ProductFixtures() {
+    }
+
+    /**
+     * @param id the product ID
+     * @return a builder for a product with that ID
+     */
+    public static Builder product(long id) {
+        return new Builder(id);
+    }
+
+    public static final class Builder {
+
+        private final long id;
+        private String name;
+        private String description;
+        private BigDecimal price = new BigDecimal("9.99");
+        private int stock = 1;
+        private LocalDateTime updatedAt;
+
+        private Builder(long id) {
+            this.id = id;
+            this.name = "Product " + id;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        public Builder price(String price) {
+            this.price = new BigDecimal(price);
+            return this;
+        }
+
+        public Builder stock(int stock) {
+            this.stock = stock;
+            return this;
+        }
+
+        /**
+         * Set both timestamps, as for a product created and last updated at the same time.
+         */
+        public Builder updatedAt(LocalDateTime updatedAt) {
+            this.updatedAt = updatedAt;
+            return this;
+        }
+
+        public Product build() {
+            return new Product(id, name, description, price, stock, updatedAt, updatedAt);
+        }
+    }
+}
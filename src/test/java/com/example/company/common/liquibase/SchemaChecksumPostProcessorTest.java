@@ -0,0 +1,76 @@
+package com.example.company.common.liquibase;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "app.liquibase.skip-when-current=true",
+        "spring.datasource.url=jdbc:h2:mem:schema-checksum"
+})
+@ActiveProfiles("test")
+class SchemaChecksumPostProcessorTest {
+
+    @Autowired
+    private SpringLiquibase liquibase;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final SchemaChecksumPostProcessor postProcessor = new SchemaChecksumPostProcessor(true);
+
+    @Test
+    void startup_shouldRecordChangelogChecksum_whenLiquibaseRan() {
+        String stored = new JdbcTemplate(dataSource)
+                .queryForObject("SELECT checksum FROM schema_checksum WHERE id = 1", String.class);
+
+        assertThat(stored).isEqualTo(postProcessor.checksum(liquibase)).hasSize(64);
+    }
+
+    @Test
+    void postProcessBeforeInitialization_shouldSkipLiquibase_whenChecksumIsCurrent() {
+        SpringLiquibase next = liquibaseLike(liquibase);
+
+        postProcessor.postProcessBeforeInitialization(next, "liquibase");
+
+        verify(next).setShouldRun(false);
+    }
+
+    @Test
+    void postProcessBeforeInitialization_shouldRunLiquibase_whenContextsDiffer() {
+        SpringLiquibase next = liquibaseLike(liquibase);
+        next.setContexts("other");
+
+        postProcessor.postProcessBeforeInitialization(next, "liquibase");
+
+        verify(next, never()).setShouldRun(anyBoolean());
+    }
+
+    @Test
+    void postProcessBeforeInitialization_shouldRunLiquibase_whenDisabled() {
+        SpringLiquibase next = liquibaseLike(liquibase);
+
+        new SchemaChecksumPostProcessor(false).postProcessBeforeInitialization(next, "liquibase");
+
+        verify(next, never()).setShouldRun(anyBoolean());
+    }
+
+    private static SpringLiquibase liquibaseLike(SpringLiquibase source) {
+        SpringLiquibase liquibase = spy(new SpringLiquibase());
+        liquibase.setDataSource(source.getDataSource());
+        liquibase.setChangeLog(source.getChangeLog());
+        liquibase.setContexts(source.getContexts());
+        return liquibase;
+    }
+}
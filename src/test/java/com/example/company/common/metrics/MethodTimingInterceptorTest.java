@@ -0,0 +1,82 @@
+package com.example.company.common.metrics;
+
+import com.example.company.common.config.MethodTimingProperties;
+import com.example.company.domain.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodTimingInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MethodTimingInterceptor interceptor = new MethodTimingInterceptor("test.invocations",
+            () -> registry, () -> new MethodTimingProperties(true, true, List.of(Duration.ofMillis(10))));
+
+    @Test
+    void invoke_shouldRecordSuccessTimer_whenMethodReturns() {
+        Greeter greeter = proxy(new DefaultGreeter(), Greeter.class);
+
+        assertEquals("Hello, Ada", greeter.greet("Ada"));
+        greeter.greet("Grace");
+
+        Timer timer = registry.get("test.invocations")
+                .tags("class", "DefaultGreeter", "method", "greet", "outcome", "success", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void invoke_shouldRecordErrorTimerAndRethrow_whenMethodThrows() {
+        Greeter greeter = proxy(new DefaultGreeter(), Greeter.class);
+
+        assertThrows(IllegalArgumentException.class, () -> greeter.greet(""));
+
+        Timer timer = registry.get("test.invocations")
+                .tags("method", "greet", "outcome", "error", "exception", "IllegalArgumentException")
+                .timer();
+        assertEquals(1, timer.count());
+        assertTrue(registry.find("test.invocations").tag("outcome", "success").timers().isEmpty());
+    }
+
+    @Test
+    void invoke_shouldTagRepositoryInterfaceAndDomain_whenTargetIsRepositoryProxy() {
+        ProductRepository target = (ProductRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ProductRepository.class}, (instance, method, args) -> 3L);
+        ProductRepository repository = proxy(target, ProductRepository.class);
+
+        assertEquals(3L, repository.count());
+
+        Timer timer = registry.get("test.invocations")
+                .tags("domain", "product", "class", "ProductRepository", "method", "count")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    private <T> T proxy(T target, Class<T> type) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.addInterface(type);
+        factory.addAdvice(interceptor);
+        return type.cast(factory.getProxy());
+    }
+
+    interface Greeter {
+        String greet(String name);
+    }
+
+    static class DefaultGreeter implements Greeter {
+        @Override
+        public String greet(String name) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Name is required");
+            }
+            return "Hello, " + name;
+        }
+    }
+}
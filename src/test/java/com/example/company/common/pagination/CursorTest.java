@@ -0,0 +1,60 @@
+package com.example.company.common.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void decode_shouldRoundTripIdCursor() {
+        Cursor cursor = Cursor.decode(Cursor.of(42L).encode());
+
+        assertEquals(42L, cursor.id());
+        assertNull(cursor.key());
+    }
+
+    @Test
+    void decode_shouldRoundTripSortKeys() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000);
+        BigDecimal price = new BigDecimal("0.10");
+        String name = "Ratio: 1:2 — École";
+
+        assertEquals(price, Cursor.decode(Cursor.of(7L, price).encode()).decimalKey());
+        assertEquals(createdAt, Cursor.decode(Cursor.of(7L, createdAt).encode()).dateTimeKey());
+        assertEquals(name, Cursor.decode(Cursor.of(7L, name).encode()).stringKey());
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        String token = Cursor.of(1L, "?/+&=").encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void decode_shouldReturnNull_whenTokenIsMissing() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void decode_shouldThrowException_whenTokenIsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(Cursor.of(1L).encode() + "x"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("eDo1"));
+    }
+
+    @Test
+    void keys_shouldThrowException_whenCursorIsForAnotherSortOrder() {
+        Cursor byId = Cursor.of(1L);
+        Cursor byName = Cursor.of(1L, "Widget");
+
+        assertThrows(IllegalArgumentException.class, byId::stringKey);
+        assertThrows(IllegalArgumentException.class, byName::decimalKey);
+        assertThrows(IllegalArgumentException.class, byName::dateTimeKey);
+    }
+}
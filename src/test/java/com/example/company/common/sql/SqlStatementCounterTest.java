@@ -0,0 +1,70 @@
+package com.example.company.common.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementCounterTest {
+
+    @Test
+    void record_shouldCountTowardsEveryOpenScope() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.start()) {
+            SqlStatementCounter.record("select 1", 1_000);
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.start()) {
+                SqlStatementCounter.record("select 2", 2_000);
+
+                assertEquals(1, inner.statements());
+                assertEquals(Duration.ofNanos(2_000), inner.time());
+            }
+            SqlStatementCounter.record("select 3", 3_000);
+
+            assertEquals(3, outer.statements());
+            assertEquals(Duration.ofNanos(6_000), outer.time());
+        }
+    }
+
+    @Test
+    void record_shouldBeIgnored_whenNoScopeIsOpen() {
+        SqlStatementCounter.record("select 1", 1_000);
+
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            assertEquals(0, statements.statements());
+        }
+    }
+
+    @Test
+    void repeatedStatements_shouldReturnStatementsAtOrOverThreshold_mostFrequentFirst() {
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            for (int i = 0; i < 3; i++) {
+                SqlStatementCounter.record("select * from products where id=?", 10);
+            }
+            for (int i = 0; i < 5; i++) {
+                SqlStatementCounter.record("select * from users where id=?", 10);
+            }
+            SqlStatementCounter.record("select count(*) from users", 10);
+            SqlStatementCounter.record(null, 10);
+
+            Map<String, Integer> repeated = statements.repeatedStatements(3);
+
+            assertEquals(List.of("select * from users where id=?", "select * from products where id=?"),
+                    List.copyOf(repeated.keySet()));
+            assertEquals(5, repeated.get("select * from users where id=?"));
+            assertEquals(10, statements.statements());
+        }
+    }
+
+    @Test
+    void propagate_shouldCountStatementsOfTaskOnAnotherThread() throws InterruptedException {
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            Thread loader = Thread.ofVirtual().start(
+                    SqlStatementCounter.propagate(() -> SqlStatementCounter.record("select 1", 1_000)));
+            loader.join();
+
+            assertEquals(1, statements.statements());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.company.common.sql;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helper for asserting how many SQL statements an action issues, so an endpoint that starts issuing
+ * extra queries fails the build. Works with anything that runs on the calling thread, including
+ * {@code MockMvc} requests.
+ *
+ * <pre>{@code
+ * SqlStatements.assertAtMost(1, () -> mockMvc.perform(get("/api/products/{id}", id)));
+ * }</pre>
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    /**
+     * @param action the action to run
+     * @return the statements the action executed
+     */
+    public static SqlStatementCounter.Scope count(Executable action) throws Throwable {
+        try (SqlStatementCounter.Scope statements = SqlStatementCounter.start()) {
+            action.execute();
+            return statements;
+        }
+    }
+
+    public static void assertAtMost(int max, Executable action) throws Throwable {
+        SqlStatementCounter.Scope statements = count(action);
+        assertTrue(statements.statements() <= max, () -> "Expected at most " + max + " SQL statements but "
+                + statements.statements() + " were executed; repeated: " + statements.repeatedStatements(2));
+    }
+
+    public static void assertExactly(int expected, Executable action) throws Throwable {
+        SqlStatementCounter.Scope statements = count(action);
+        assertEquals(expected, statements.statements(), () -> "Unexpected number of SQL statements; repeated: "
+                + statements.repeatedStatements(2));
+    }
+}
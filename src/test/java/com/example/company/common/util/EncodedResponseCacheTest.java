@@ -0,0 +1,100 @@
+package com.example.company.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedResponseCacheTest {
+
+    private static final int THREADS = 8;
+
+    private final EncodedResponseCache<String> cache = new EncodedResponseCache<>(1024 * 1024, Duration.ofMinutes(1));
+
+    @Test
+    void get_shouldEncodeOnce_whenConcurrentRequestsMissTheSameKey() throws Exception {
+        AtomicInteger encodings = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<EncodedResponse>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> cache.get("v1", () -> {
+                    encodings.incrementAndGet();
+                    await(release);
+                    return response("[1,2,3]");
+                })));
+            }
+            // Give every thread time to miss before the single encoding completes
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<EncodedResponse> result : results) {
+                assertEquals("[1,2,3]", new String(result.get(5, TimeUnit.SECONDS).body(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, encodings.get());
+    }
+
+    @Test
+    void get_shouldEncodeAgain_afterEncodingFailed() {
+        assertThrows(IllegalStateException.class, () -> cache.get("v1", () -> {
+            throw new IllegalStateException("database down");
+        }));
+
+        EncodedResponse response = cache.get("v1", () -> response("[]"));
+
+        assertEquals("[]", new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_shouldKeepEntriesPerKey() {
+        cache.get("v1", () -> response("[1]"));
+
+        EncodedResponse cached = cache.get("v1", () -> fail("should be cached"));
+        EncodedResponse other = cache.get("v2", () -> response("[2]"));
+
+        assertEquals("[1]", new String(cached.body(), StandardCharsets.UTF_8));
+        assertEquals("[2]", new String(other.body(), StandardCharsets.UTF_8));
+        assertTrue(cached.gzipped().length > 0);
+    }
+
+    @Test
+    void get_shouldEncodeAgain_afterMaxAgeEvenWhenReadMeanwhile() throws InterruptedException {
+        EncodedResponseCache<String> shortLived = new EncodedResponseCache<>(1024 * 1024, Duration.ofMillis(200));
+        shortLived.get("v1", () -> response("[1]"));
+        Thread.sleep(100);
+        shortLived.get("v1", () -> fail("should be cached"));
+        Thread.sleep(150);
+
+        EncodedResponse response = shortLived.get("v1", () -> response("[2]"));
+
+        assertEquals("[2]", new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+        private static EncodedResponse response(String json) {
+        return EncodedResponse.of(json.getBytes(StandardCharsets.UTF_8), Map.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
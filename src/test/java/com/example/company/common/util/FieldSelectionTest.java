@@ -0,0 +1,53 @@
+package com.example.company.common.util;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    private static final Set<String> ALLOWED = Set.of("id", "name", "price");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void apply_shouldKeepSelectedProperties_inRequestedOrder() {
+        FieldSelection selection = FieldSelection.parse("price, id", ALLOWED);
+
+        Map<String, Object> result = selection.apply(objectMapper, new Item(7L, "Widget", new BigDecimal("9.99")));
+
+        assertEquals(List.of("price", "id"), List.copyOf(result.keySet()));
+        assertEquals(7, ((Number) result.get("id")).intValue());
+    }
+
+    @Test
+    void parse_shouldRejectUnknownField() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse("id,secret", ALLOWED));
+
+        assertEquals("Unsupported field: secret", ex.getMessage());
+    }
+
+    @Test
+    void parse_shouldRejectEmptySelection() {
+        assertThrows(IllegalArgumentException.class, () -> FieldSelection.parse(" , ", ALLOWED));
+    }
+
+    @Test
+    void isCoveredBy_shouldCheckEverySelectedField() {
+        FieldSelection selection = FieldSelection.parse("id,name", ALLOWED);
+
+        assertTrue(selection.isCoveredBy(Set.of("id", "name", "price")));
+        assertFalse(selection.isCoveredBy(Set.of("id", "price")));
+    }
+
+    record Item(Long id, String name, BigDecimal price) {
+    }
+}
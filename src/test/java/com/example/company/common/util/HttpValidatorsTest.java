@@ -0,0 +1,36 @@
+package com.example.company.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpValidatorsTest {
+
+    @Test
+    void etag_shouldChange_whenUpdatedAtChangesByOneMicrosecond() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 1_000);
+
+        assertEquals(HttpValidators.etag(1L, updatedAt), HttpValidators.etag(1L, updatedAt.plusNanos(999)));
+        assertNotEquals(HttpValidators.etag(1L, updatedAt), HttpValidators.etag(1L, updatedAt.plusNanos(1_000)));
+        assertNotEquals(HttpValidators.etag(1L, updatedAt), HttpValidators.etag(2L, updatedAt));
+    }
+
+    @Test
+    void gzipVariant_shouldStayQuoted() {
+        assertEquals("\"abc-7-gzip\"", HttpValidators.gzipVariant("\"abc-7\""));
+    }
+
+    @Test
+    void acceptsGzip_shouldHonourCodingsAndQualities() {
+        assertTrue(HttpValidators.acceptsGzip("gzip, deflate, br"));
+        assertTrue(HttpValidators.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(HttpValidators.acceptsGzip("*"));
+        assertTrue(HttpValidators.acceptsGzip("*;q=0, gzip"));
+        assertFalse(HttpValidators.acceptsGzip(null));
+        assertFalse(HttpValidators.acceptsGzip("identity"));
+        assertFalse(HttpValidators.acceptsGzip("gzip;q=0"));
+        assertFalse(HttpValidators.acceptsGzip("gzip;q=0.000, *"));
+    }
+}
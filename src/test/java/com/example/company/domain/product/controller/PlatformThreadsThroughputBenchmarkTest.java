@@ -0,0 +1,15 @@
+package com.example.company.domain.product.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Product endpoint throughput with the default Tomcat worker pool of platform threads.
+ */
+@ActiveProfiles("test")
+class PlatformThreadsThroughputBenchmarkTest extends ProductEndpointsThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
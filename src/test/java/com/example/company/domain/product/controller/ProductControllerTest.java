@@ -1,7 +1,19 @@
 package com.example.company.domain.product.controller;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.exception.ConflictException;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.common.util.HttpValidators;
 import com.example.company.config.TestConfig;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.dto.StockAdjustment;
+import com.example.company.domain.product.dto.StockDelta;
+import com.example.company.domain.product.dto.StockLevel;
 import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.service.CatalogVersion;
 import com.example.company.domain.product.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +25,27 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -29,6 +56,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 class ProductControllerTest {
 
+    private static final Instant CATALOG_LAST_MODIFIED = Instant.parse("2025-01-01T12:00:00Z");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -40,6 +69,8 @@ class ProductControllerTest {
 
     private Product testProduct;
 
+    private CatalogVersion.Stamp catalogVersion;
+
     @BeforeEach
     void setUp() {
         testProduct = new Product();
@@ -48,45 +79,376 @@ class ProductControllerTest {
         testProduct.setDescription("Test Description");
         testProduct.setPrice(new BigDecimal("99.99"));
         testProduct.setStockQuantity(10);
+
+        // A fresh epoch per test, so pages cached by earlier tests are never served
+        catalogVersion = new CatalogVersion.Stamp(UUID.randomUUID().toString(), 42, CATALOG_LAST_MODIFIED);
+        when(productService.getCatalogVersion()).thenReturn(catalogVersion);
     }
 
     @Test
     void getAllProducts_shouldReturnProductList() throws Exception {
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.getAllProducts()).thenReturn(products);
+        when(productService.getProductsPage(null, null, null)).thenReturn(new CursorPage<>(products, null));
 
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].name").value("Test Product"))
                 .andExpect(jsonPath("$[0].price").value(99.99));
 
-        verify(productService, times(1)).getAllProducts();
+        verify(productService, times(1)).getProductsPage(null, null, null);
+    }
+
+    @Test
+    void getAllProducts_shouldReturnCatalogVersionValidators() throws Exception {
+        when(productService.getProductsPage(null, null, null)).thenReturn(new CursorPage<>(List.of(testProduct), null));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", catalogVersion.etag()))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void getAllProducts_shouldServeRepeatedRequestsFromPageCache() throws Exception {
+        when(productService.getProductsPage(null, 5, null)).thenReturn(new CursorPage<>(List.of(testProduct), "MQ"));
+
+        String first = mockMvc.perform(get("/api/products").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/products").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(content().string(first));
+
+        verify(productService, times(1)).getProductsPage(null, 5, null);
+    }
+
+    @Test
+    void getAllProducts_shouldRebuildCachedPage_whenCatalogVersionChanges() throws Exception {
+        when(productService.getProductsPage(null, null, null)).thenReturn(new CursorPage<>(List.of(testProduct), null));
+
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+        CatalogVersion.Stamp next = new CatalogVersion.Stamp(catalogVersion.epoch(), 43, CATALOG_LAST_MODIFIED);
+        when(productService.getCatalogVersion()).thenReturn(next);
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", next.etag()));
+
+        verify(productService, times(2)).getProductsPage(null, null, null);
+    }
+
+    @Test
+    void getAllProducts_shouldServePreCompressedPage_whenClientAcceptsGzip() throws Exception {
+        when(productService.getProductsPage(null, null, null)).thenReturn(new CursorPage<>(List.of(testProduct), null));
+
+        byte[] body = mockMvc.perform(get("/api/products")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", HttpValidators.gzipVariant(catalogVersion.etag())))
+                .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8), containsString("\"Test Product\""));
+        }
+    }
+
+    @Test
+    void getAllProducts_shouldReturnNotModified_withoutQuerying_whenCatalogVersionMatches() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .header("If-None-Match", catalogVersion.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", catalogVersion.etag()))
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductsPage(any(), any(), any());
+    }
+
+    @Test
+    void getAllProducts_shouldReturnNotModified_whenCatalogUnchangedSinceDate() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("name", "Test")
+                        .header("If-Modified-Since", "Wed, 01 Jan 2025 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).searchProductsByName(any(), any(), any());
+    }
+
+    @Test
+    void getAllProducts_shouldListPriceRange_whenPriceBoundsGiven() throws Exception {
+        when(productService.getProductsByPriceRange(new BigDecimal("10"), new BigDecimal("100.50"), "Mw", 1))
+                .thenReturn(new CursorPage<>(List.of(testProduct), "MQ"));
+
+        mockMvc.perform(get("/api/products")
+                        .param("minPrice", "10")
+                        .param("maxPrice", "100.50")
+                        .param("after", "Mw")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(jsonPath("$[0].price").value(99.99));
+
+        verify(productService, never()).getProductsPage(any(), any(), any());
+    }
+
+    @Test
+    void getAllProducts_shouldReturnBadRequest_whenPriceRangeSortedByName() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("minPrice", "10")
+                        .param("sort", "name"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).getProductsByPriceRange(any(), any(), any(), any());
+    }
+
+    @Test
+    void getProductFields_shouldSelectFields_ofPriceRange() throws Exception {
+        when(productService.getProductsByPriceRange(null, new BigDecimal("100"), null, null))
+                .thenReturn(new CursorPage<>(List.of(testProduct), null));
+
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "id,price")
+                        .param("maxPrice", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].price").value(99.99))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+
+        verify(productService, never()).getProductSummariesPage(any(), any(), any());
+    }
+
+    @Test
+    void getProductFields_shouldReadSummaries_whenFieldsAreListingColumns() throws Exception {
+        when(productService.getProductSummariesPage(null, 2, null)).thenReturn(new CursorPage<>(
+                List.of(new ProductSummary(1L, "Test Product", new BigDecimal("99.99"), 10)), "MQ"));
+
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "id,name,price")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].price").value(99.99))
+                .andExpect(jsonPath("$[0].stockQuantity").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        verify(productService, never()).getProductsPage(any(), any(), any());
+    }
+
+    @Test
+    void getProductFields_shouldReadProducts_whenDescriptionIsSelected() throws Exception {
+        when(productService.getProductsPage(null, null, null)).thenReturn(new CursorPage<>(List.of(testProduct), null));
+
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "id,description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").value("Test Description"))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+
+        verify(productService, never()).getProductSummariesPage(any(), any(), any());
+    }
+
+    @Test
+    void getProductFields_shouldReturnBadRequest_whenFieldIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "id,color"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported field: color"));
+    }
+
+    @Test
+    void getProductsByIds_shouldReturnProductsAndMisses() throws Exception {
+        when(productService.getProductsByIds(List.of(1L, 7L)))
+                .thenReturn(new LookupResult<>(List.of(testProduct), List.of(7L)));
+
+        mockMvc.perform(get("/api/products").param("ids", "1,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.missing[0]").value(7));
+
+        verify(productService, never()).getProductsPage(any(), any(), any());
+    }
+
+    @Test
+    void getProductsByIds_shouldSelectFields() throws Exception {
+        when(productService.getProductsByIds(List.of(1L)))
+                .thenReturn(new LookupResult<>(List.of(testProduct), List.of()));
+
+        mockMvc.perform(get("/api/products")
+                        .param("ids", "1")
+                        .param("fields", "id,price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].price").value(99.99))
+                .andExpect(jsonPath("$.items[0].name").doesNotExist());
+
+        verify(productService, never()).getProductSummariesPage(any(), any(), any());
+    }
+
+    @Test
+    void lookupProducts_shouldReadIdsFromBody() throws Exception {
+        when(productService.getProductsByIds(List.of(1L, 2L)))
+                .thenReturn(new LookupResult<>(List.of(testProduct), List.of(2L)));
+
+        mockMvc.perform(post("/api/products/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(2));
+    }
+
+    @Test
+    void lookupProducts_shouldReturnBadRequest_whenTooManyIds() throws Exception {
+        when(productService.getProductsByIds(anyList()))
+                .thenThrow(new IllegalArgumentException("Batch cannot contain more than 3 items"));
+
+        mockMvc.perform(post("/api/products/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3, 4]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllProducts_withCursorParameters_shouldReturnPageAndNextCursor() throws Exception {
+        when(productService.getProductsPage("NQ", 1, "price"))
+                .thenReturn(new CursorPage<>(List.of(testProduct), "MQ"));
+
+        mockMvc.perform(get("/api/products")
+                        .param("after", "NQ")
+                        .param("limit", "1")
+                        .param("sort", "price"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Test Product"));
+
+        verify(productService, times(1)).getProductsPage("NQ", 1, "price");
+    }
+
+    @Test
+    void getAllProducts_shouldReturnBadRequest_whenSortIsUnsupported() throws Exception {
+        when(productService.getProductsPage(null, null, "color"))
+                .thenThrow(new IllegalArgumentException("Unsupported sort field: color"));
+
+        mockMvc.perform(get("/api/products")
+                        .param("sort", "color"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported sort field: color"));
     }
 
     @Test
     void getAllProducts_withNameParameter_shouldSearchProducts() throws Exception {
         List<Product> products = Arrays.asList(testProduct);
-        when(productService.searchProductsByName("Test")).thenReturn(products);
+        when(productService.searchProductsByName("Test", null, null)).thenReturn(new SearchPage<>(products, 1L));
 
         mockMvc.perform(get("/api/products")
                         .param("name", "Test"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(SearchPage.TOTAL_COUNT_HEADER, "1"))
                 .andExpect(jsonPath("$[0].name").value("Test Product"));
 
-        verify(productService, times(1)).searchProductsByName("Test");
-        verify(productService, never()).getAllProducts();
+        verify(productService, times(1)).searchProductsByName("Test", null, null);
+        verify(productService, never()).getProductsPage(any(), any(), any());
+    }
+
+    @Test
+    void exportProducts_shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(testProduct);
+            consumer.accept(testProduct);
+            return 2L;
+        }).when(productService).exportProducts(any());
+
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"name\":\"Test Product\"")))
+                .andExpect(content().string(containsString("}\n{")))
+                .andExpect(content().string(endsWith("}\n")));
+
+        verify(productService, times(1)).exportProducts(any());
+    }
+
+    @Test
+    void getAllProducts_withNameAndOffset_shouldPassPagination() throws Exception {
+        when(productService.searchProductsByName("Test", 20, 10)).thenReturn(new SearchPage<>(List.of(), null));
+
+        mockMvc.perform(get("/api/products")
+                        .param("name", "Test")
+                        .param("offset", "20")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SearchPage.TOTAL_COUNT_HEADER))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(productService, times(1)).searchProductsByName("Test", 20, 10);
     }
 
     @Test
     void getProductById_shouldReturnProduct() throws Exception {
-        when(productService.getProductById(1L)).thenReturn(testProduct);
+        when(productService.findProductById(1L)).thenReturn(Optional.of(testProduct));
 
         mockMvc.perform(get("/api/products/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("Test Product"))
                 .andExpect(jsonPath("$.price").value(99.99));
 
-        verify(productService, times(1)).getProductById(1L);
+        verify(productService, times(1)).findProductById(1L);
+    }
+
+    @Test
+    void getProductById_shouldReturnNotFound_whenProductMissing() throws Exception {
+        when(productService.findProductById(42L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/products/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("Product not found with id: 42"));
+    }
+
+    @Test
+    void getProductFieldsById_shouldReturnSelectedFields() throws Exception {
+        when(productService.findProductById(1L)).thenReturn(Optional.of(testProduct));
+
+        mockMvc.perform(get("/api/products/1")
+                        .param("fields", "name,stockQuantity"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Product"))
+                .andExpect(jsonPath("$.stockQuantity").value(10))
+                .andExpect(jsonPath("$.price").doesNotExist());
+    }
+
+    @Test
+    void getProductById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_456_000);
+        testProduct.setUpdatedAt(updatedAt);
+        when(productService.findProductById(1L)).thenReturn(Optional.of(testProduct));
+        String etag = HttpValidators.etag(1L, updatedAt);
+
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().exists("Last-Modified"));
+        mockMvc.perform(get("/api/products/1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getProductById_shouldReturnProduct_whenETagIsStale() throws Exception {
+        testProduct.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 12, 0, 1));
+        when(productService.findProductById(1L)).thenReturn(Optional.of(testProduct));
+
+        mockMvc.perform(get("/api/products/1")
+                        .header("If-None-Match", HttpValidators.etag(1L, LocalDateTime.of(2025, 1, 1, 12, 0, 0))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Product"));
     }
 
     @Test
@@ -103,6 +465,24 @@ class ProductControllerTest {
         verify(productService, times(1)).createProduct(any(Product.class));
     }
 
+    @Test
+    void createProducts_shouldReturnBatchResult() throws Exception {
+        BatchResult result = new BatchResult(List.of(1L),
+                List.of(BatchResult.ItemError.of(1, "name", "Name is required")));
+        when(productService.createProducts(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testProduct, new Product()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].errors.name").value("Name is required"));
+
+        verify(productService, times(1)).createProducts(anyList());
+    }
+
     @Test
     void createProduct_shouldReturnBadRequest_whenInvalidData() throws Exception {
         Product invalidProduct = new Product();
@@ -117,6 +497,96 @@ class ProductControllerTest {
         verify(productService, never()).createProduct(any(Product.class));
     }
 
+    @Test
+    void getLowStockProducts_shouldReturnPageWithCursorHeader() throws Exception {
+        when(productService.getLowStockProducts(5, null, 2))
+                .thenReturn(new CursorPage<>(List.of(new StockLevel(1L, 0), new StockLevel(4L, 2)), "NA"));
+
+        mockMvc.perform(get("/api/products/low-stock").param("threshold", "5").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "NA"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].stockQuantity").value(2));
+    }
+
+    @Test
+    void getProductStats_shouldReturnInventoryTotals() throws Exception {
+        when(productService.getProductStats()).thenReturn(new ProductStats(2, 15, new BigDecimal("125.50"),
+                List.of(new ProductStats.StockBucket(null, 0, 1), new ProductStats.StockBucket(1, null, 1))));
+
+        mockMvc.perform(get("/api/products/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skuCount").value(2))
+                .andExpect(jsonPath("$.totalUnits").value(15))
+                .andExpect(jsonPath("$.inventoryValue").value(125.50))
+                .andExpect(jsonPath("$.stockHistogram[1].minStock").value(1))
+                .andExpect(jsonPath("$.stockHistogram[1].count").value(1));
+    }
+
+    @Test
+    void getLowStockProducts_shouldUseDefaultThreshold() throws Exception {
+        when(productService.getLowStockProducts(10, null, null)).thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc.perform(get("/api/products/low-stock"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getLowStockProducts_shouldReturnNotModified_whenCatalogVersionMatches() throws Exception {
+        mockMvc.perform(get("/api/products/low-stock")
+                        .header("If-None-Match", catalogVersion.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(productService, never()).getLowStockProducts(anyInt(), any(), any());
+    }
+
+    @Test
+    void adjustStock_shouldReturnNewStockLevel() throws Exception {
+        when(productService.adjustStock(1L, -2)).thenReturn(new StockLevel(1L, 8));
+
+        mockMvc.perform(post("/api/products/1/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockDelta(-2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(1))
+                .andExpect(jsonPath("$.stockQuantity").value(8));
+    }
+
+    @Test
+    void adjustStock_shouldReturnConflict_whenStockInsufficient() throws Exception {
+        when(productService.adjustStock(1L, -20)).thenThrow(new ConflictException("Insufficient stock"));
+
+        mockMvc.perform(post("/api/products/1/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StockDelta(-20))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Insufficient stock"));
+    }
+
+    @Test
+    void adjustStock_shouldReturnBadRequest_whenDeltaMissing() throws Exception {
+        mockMvc.perform(post("/api/products/1/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).adjustStock(anyLong(), anyInt());
+    }
+
+    @Test
+    void adjustStocks_shouldReturnNewStockLevels() throws Exception {
+        when(productService.adjustStocks(anyList())).thenReturn(List.of(new StockLevel(1L, 8), new StockLevel(2L, 4)));
+
+        mockMvc.perform(post("/api/products/stock/adjust")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new StockAdjustment(1L, -2), new StockAdjustment(2L, -1)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].stockQuantity").value(4));
+    }
+
     @Test
     void updateProduct_shouldReturnUpdatedProduct() throws Exception {
         when(productService.updateProduct(eq(1L), any(Product.class))).thenReturn(testProduct);
@@ -0,0 +1,129 @@
+package com.example.company.domain.product.controller;
+
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Closed-loop HTTP throughput of the product read endpoints: many concurrent clients each send a request and
+ * wait for the response before sending the next. Subclasses run the same workload with and without the
+ * {@code virtual-threads} profile so the two execution modes can be compared side by side.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("benchmark")
+abstract class ProductEndpointsThroughputBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int CLIENTS = 400;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createProducts() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Benchmark Product " + i);
+            product.setPrice(new BigDecimal("9.99"));
+            product.setStockQuantity(i % 200);
+            products.add(product);
+        }
+        ids.addAll(productService.createProducts(products).ids());
+    }
+
+    @Test
+    void getProductById() throws Exception {
+        run("GET /api/products/{id}", () -> "/api/products/" + randomId());
+    }
+
+    @Test
+    void listProductsPage() throws Exception {
+        run("GET /api/products?after&limit=20", () -> "/api/products?limit=20&after=" + randomId());
+    }
+
+    @Test
+    void listLowStock() throws Exception {
+        run("GET /api/products/low-stock", () -> "/api/products/low-stock?threshold=50&limit=20");
+    }
+
+    /**
+     * @return a label for the execution mode under test, printed with the results
+     */
+    abstract String mode();
+
+    private void run(String name, PathSupplier paths) throws Exception {
+        measure(paths, WARM_UP);
+        Result result = measure(paths, MEASUREMENT);
+        System.out.printf("%-16s %-32s %,10.0f req/s  %,d errors (%d clients)%n", mode(), name,
+                result.requests() / (MEASUREMENT.toNanos() / 1e9), result.errors(), CLIENTS);
+        assertTrue(result.requests() > 0, "no request completed");
+    }
+
+    private Result measure(PathSupplier paths, Duration duration) throws Exception {
+        LongAdder requests = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                + paths.next())).build();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            requests.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(requests.sum(), errors.sum());
+    }
+
+    private long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @FunctionalInterface
+    private interface PathSupplier {
+        String next();
+    }
+
+    private record Result(long requests, long errors) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.company.domain.product.controller;
+
+import com.example.company.common.sql.SqlStatementFilter;
+import com.example.company.common.sql.SqlStatements;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statement budgets of the product endpoints, measured against the real persistence layer.
+ */
+@SpringBootTest(properties = "app.sql.response-headers=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        Product newProduct = new Product();
+        newProduct.setName("Budget Product");
+        newProduct.setDescription("Counted statements");
+        newProduct.setPrice(new BigDecimal("19.99"));
+        newProduct.setStockQuantity(5);
+        product = productService.createProduct(newProduct);
+        cacheManager.getCache(ProductService.PRODUCT_CACHE).clear();
+    }
+
+    @Test
+    void getProductById_shouldIssueOneStatement_whenNotCached() throws Throwable {
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.COUNT_HEADER, "1"))
+                .andExpect(header().string(SqlStatementFilter.TIMING_HEADER, startsWith("db;dur="))));
+    }
+
+    @Test
+    void getProductById_shouldIssueNoStatements_whenCached() throws Throwable {
+        mockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+
+        SqlStatements.assertExactly(0, () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getProductById_shouldIssueNoStatements_whenMissIsCached() throws Throwable {
+        mockMvc.perform(get("/api/products/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        SqlStatements.assertExactly(0, () -> mockMvc.perform(get("/api/products/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void getProductsByIds_shouldIssueOneStatement_whenNotCached() throws Throwable {
+        String ids = product.getId() + "," + Long.MAX_VALUE;
+
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(get("/api/products").param("ids", ids))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(product.getId()))
+                .andExpect(jsonPath("$.missing[0]").value(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void getProductsByIds_shouldIssueNoStatements_whenCached() throws Throwable {
+        mockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+
+        SqlStatements.assertExactly(0, () -> mockMvc.perform(post("/api/products/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + product.getId() + "]"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getAllProducts_shouldIssueAtMostOneStatement() throws Throwable {
+        SqlStatements.assertAtMost(1, () -> mockMvc.perform(get("/api/products").param("limit", "20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateProduct_shouldIssueAtMostTwoStatements() throws Throwable {
+        String body = """
+                {"name": "Updated Budget Product", "price": 24.99, "stockQuantity": 7}
+                """;
+
+        SqlStatements.assertAtMost(2, () -> mockMvc.perform(put("/api/products/{id}", product.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void deleteProduct_shouldIssueOneStatement() throws Throwable {
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(delete("/api/products/{id}", product.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(SqlStatementFilter.COUNT_HEADER, "1")));
+    }
+
+    @Test
+    void deleteProduct_shouldIssueOneStatement_whenProductNotFound() throws Throwable {
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(delete("/api/products/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound()));
+    }
+}
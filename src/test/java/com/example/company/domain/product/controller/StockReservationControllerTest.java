@@ -0,0 +1,93 @@
+package com.example.company.domain.product.controller;
+
+import com.example.company.common.exception.ConflictException;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.config.TestConfig;
+import com.example.company.domain.product.dto.Reservation;
+import com.example.company.domain.product.dto.ReservationRequest;
+import com.example.company.domain.product.service.StockReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StockReservationController.class)
+@Import(TestConfig.class)
+@ActiveProfiles("test")
+class StockReservationControllerTest {
+
+    private static final UUID RESERVATION_ID = UUID.fromString("00000000-0000-0001-0000-000000000001");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private StockReservationService reservationService;
+
+    @Test
+    void reserve_shouldReturnCreatedReservation() throws Exception {
+        when(reservationService.reserve(1L, 2))
+                .thenReturn(new Reservation(RESERVATION_ID, 1L, 2, Instant.parse("2025-01-01T00:10:00Z")));
+
+        mockMvc.perform(post("/api/products/1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservationRequest(2))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(RESERVATION_ID.toString()))
+                .andExpect(jsonPath("$.quantity").value(2));
+    }
+
+    @Test
+    void reserve_shouldReturnConflict_whenStockInsufficient() throws Exception {
+        when(reservationService.reserve(1L, 50)).thenThrow(new ConflictException("Insufficient stock"));
+
+        mockMvc.perform(post("/api/products/1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservationRequest(50))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void reserve_shouldReturnBadRequest_whenQuantityNotPositive() throws Exception {
+        mockMvc.perform(post("/api/products/1/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservationRequest(0))))
+                .andExpect(status().isBadRequest());
+
+        verify(reservationService, never()).reserve(anyLong(), anyInt());
+    }
+
+    @Test
+    void confirm_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(post("/api/products/reservations/" + RESERVATION_ID + "/confirm"))
+                .andExpect(status().isNoContent());
+
+        verify(reservationService, times(1)).confirm(RESERVATION_ID);
+    }
+
+    @Test
+    void release_shouldReturnNotFound_whenReservationUnknown() throws Exception {
+        doThrow(new ResourceNotFoundException("Reservation not found"))
+                .when(reservationService).release(RESERVATION_ID);
+
+        mockMvc.perform(delete("/api/products/reservations/" + RESERVATION_ID))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.company.domain.product.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Product endpoint throughput with the {@code virtual-threads} profile.
+ */
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadsThroughputBenchmarkTest extends ProductEndpointsThroughputBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual-threads";
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-10-01T12:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_shouldReadBackEveryColumn_whenWrittenByWriter() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        Product laptop = new Product(1L, "Laptop", "15 inch, 16 GB", new BigDecimal("999.99"), 5,
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5, 123_456_000), LocalDateTime.of(2026, 2, 3, 4, 5, 6));
+        Product cafe = new Product(7L, "Café crème", null, new BigDecimal("3.50"), 0, null, null);
+        write(file, laptop, cafe);
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(2, snapshot.size());
+        assertEquals(CREATED_AT, snapshot.createdAt());
+        Product first = snapshot.product(0);
+        assertEquals(1L, first.getId());
+        assertEquals("Laptop", first.getName());
+        assertEquals("15 inch, 16 GB", first.getDescription());
+        assertEquals(new BigDecimal("999.99"), first.getPrice());
+        assertEquals(5, first.getStockQuantity());
+        assertEquals(laptop.getCreatedAt(), first.getCreatedAt());
+        assertEquals(laptop.getUpdatedAt(), first.getUpdatedAt());
+        Product second = snapshot.product(1);
+        assertEquals("Café crème", second.getName());
+        assertNull(second.getDescription());
+        assertNull(second.getCreatedAt());
+    }
+
+    @Test
+    void indexOf_shouldFindRowOrInsertionPoint() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, product(2L).name("a").build(), product(4L).name("b").build(), product(9L).name("c").build());
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals(1, snapshot.indexOf(4L));
+        assertEquals(-1, snapshot.indexOf(1L));
+        assertEquals(-3, snapshot.indexOf(5L));
+        assertEquals(-4, snapshot.indexOf(10L));
+    }
+
+    @Test
+    void nameContains_shouldMatchIgnoringCase() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, product(1L).name("Wireless Mouse").build(), product(2L).name("Keyboard").build());
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+        byte[] query = CatalogSnapshot.query("MOUSE");
+
+        assertTrue(snapshot.nameContains(0, query));
+        assertFalse(snapshot.nameContains(1, query));
+    }
+
+    @Test
+    void nameContains_shouldMatchNonAsciiLettersExactly() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, product(1L).name("École desk").build(), product(2L).name("école desk").build());
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+        byte[] query = CatalogSnapshot.query("ÉCOLE");
+
+        assertTrue(snapshot.nameContains(0, query));
+        assertFalse(snapshot.nameContains(1, query));
+        assertTrue(CatalogSnapshot.contains("École desk", query));
+        assertFalse(CatalogSnapshot.contains("école desk", query));
+    }
+
+        @Test
+    void add_shouldRejectProducts_whenIdsNotAscending() throws IOException {
+        try (CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(directory.resolve("catalog.snapshot"),
+                CREATED_AT)) {
+            writer.add(product(2L).name("a").build());
+
+            assertThrows(IllegalArgumentException.class, () -> writer.add(product(1L).name("b").build()));
+        }
+    }
+
+    @Test
+    void commit_shouldReplaceExistingSnapshotAndRemoveTemporaryFiles() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, product(1L).name("old").build());
+        CatalogSnapshot previous = CatalogSnapshot.open(file);
+
+        write(file, product(1L).name("new").build(), product(2L).name("other").build());
+
+        assertEquals(2, CatalogSnapshot.open(file).size());
+        assertEquals("old", previous.product(0).getName());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void open_shouldThrowIOException_whenFileIsNotSnapshot() throws IOException {
+        Path file = Files.writeString(directory.resolve("catalog.snapshot"), "not a snapshot, just some text");
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+    }
+
+    private static void write(Path file, Product... products) throws IOException {
+        try (CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(file, CREATED_AT)) {
+            for (Product product : products) {
+                writer.add(product);
+            }
+            writer.commit();
+        }
+    }
+}
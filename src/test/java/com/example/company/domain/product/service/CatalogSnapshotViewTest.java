@@ -0,0 +1,176 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotViewTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private Path file;
+
+    private CatalogSnapshotView view;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("catalog.snapshot");
+        write(product(1L).name("Laptop").stock(5).build(), product(2L).name("Mouse").stock(10).build(),
+                product(3L).name("Keyboard").stock(0).build());
+        view = new CatalogSnapshotView(productRepository,
+                new CatalogSnapshotProperties(file, Duration.ofMinutes(15), true));
+    }
+
+    @Test
+    void open_shouldServeSnapshotRows_whenNothingChangedSince() {
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        when(productRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(1L, 2L, 3L));
+
+        assertTrue(view.open());
+
+        assertTrue(view.isServing());
+        assertEquals("Mouse", view.find(2L).orElseThrow().getName());
+        assertTrue(view.find(4L).isEmpty());
+        assertEquals(List.of(1L, 2L, 3L), ids(view.page(null, 10)));
+    }
+
+    @Test
+    void open_shouldOverlayUpdatedAndDeletedProducts() {
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any()))
+                .thenReturn(List.of(product(2L).name("Wireless Mouse").stock(7).build(),
+                        product(5L).name("Monitor").stock(1).build()));
+        when(productRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(2L, 3L, 5L));
+
+        assertTrue(view.open());
+
+        assertTrue(view.find(1L).isEmpty());
+        assertEquals("Wireless Mouse", view.find(2L).orElseThrow().getName());
+        assertEquals(List.of(2L, 3L, 5L), ids(view.page(null, 10)));
+    }
+
+    @Test
+    void open_shouldNotServe_whenSnapshotMissing() {
+        view = new CatalogSnapshotView(productRepository,
+                new CatalogSnapshotProperties(directory.resolve("missing"), Duration.ofMinutes(15), true));
+
+        assertFalse(view.open());
+
+        assertFalse(view.isServing());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void open_shouldNotServe_whenServingDisabled() {
+        view = new CatalogSnapshotView(productRepository,
+                new CatalogSnapshotProperties(file, Duration.ofMinutes(15), false));
+
+        assertFalse(view.open());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void page_shouldMergeChangesAfterCursor() {
+        openUnchanged();
+        view.onSaved(product(4L).name("Webcam").stock(3).build());
+        view.onDeleted(2L);
+
+        assertEquals(List.of(3L, 4L), ids(view.page(1L, 10)));
+        assertEquals(List.of(1L, 3L), ids(view.page(null, 2)));
+    }
+
+    @Test
+    void onStockChanged_shouldUpdateSnapshotRow() {
+        openUnchanged();
+
+        view.onStockChanged(3L, 42);
+
+        Product product = view.find(3L).orElseThrow();
+        assertEquals("Keyboard", product.getName());
+        assertEquals(42, product.getStockQuantity());
+    }
+
+    @Test
+    void onSaved_shouldSkipRowOlderThanOverlaidChange() {
+        openUnchanged();
+        Product saved = product(2L).name("Wireless Mouse").stock(7).updatedAt(LocalDateTime.now()).build();
+        view.onSaved(saved);
+        // A poll of another instance's changes read the row before the local save committed
+        Product polled = product(2L).name("Mouse").stock(10).updatedAt(saved.getUpdatedAt().minusSeconds(5)).build();
+
+        view.onSaved(polled);
+
+        assertEquals("Wireless Mouse", view.find(2L).orElseThrow().getName());
+    }
+
+        @Test
+    void search_shouldMatchSnapshotRowsAndChanges() {
+        openUnchanged();
+        view.onSaved(product(4L).name("Gaming mouse").stock(3).build());
+        view.onSaved(product(1L).name("Laptop mouse pad").stock(3).build());
+
+        SearchPage<Product> page = view.search("MOUSE", 1, 10);
+
+        assertEquals(List.of(2L, 4L), ids(page.items()));
+    }
+
+    @Test
+    void replace_shouldDropChangesContainedInNewSnapshot() throws IOException {
+        openUnchanged();
+        view.onSaved(product(2L).name("Wireless Mouse").stock(7).build());
+        long exported = view.currentSequence();
+        view.onSaved(product(3L).name("Mechanical Keyboard").stock(0).build());
+        write(product(1L).name("Laptop").stock(5).build(), product(2L).name("Wireless Mouse").stock(7).build(),
+                product(3L).name("Keyboard").stock(0).build());
+
+        view.replace(file, exported);
+
+        assertEquals("Wireless Mouse", view.find(2L).orElseThrow().getName());
+        assertEquals("Mechanical Keyboard", view.find(3L).orElseThrow().getName());
+    }
+
+    private void openUnchanged() {
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of());
+        when(productRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(1L, 2L, 3L));
+        assertTrue(view.open());
+    }
+
+    private void write(Product... products) throws IOException {
+        try (CatalogSnapshot.Writer writer = new CatalogSnapshot.Writer(file, Instant.now())) {
+            for (Product product : products) {
+                writer.add(product);
+            }
+            writer.commit();
+        }
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        List<Long> ids = new ArrayList<>();
+        products.forEach(product -> ids.add(product.getId()));
+        return ids;
+    }
+}
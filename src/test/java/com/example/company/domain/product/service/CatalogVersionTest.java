@@ -0,0 +1,79 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.CatalogState;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionTest {
+
+    private static final Instant STARTUP = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Test
+    void current_shouldChange_onEveryProductChange() {
+        CatalogVersion catalogVersion = new CatalogVersion(productRepository, Clock.fixed(STARTUP, ZoneOffset.UTC));
+        CatalogVersion.Stamp initial = catalogVersion.current();
+
+        catalogVersion.onSaved(new Product());
+        CatalogVersion.Stamp saved = catalogVersion.current();
+        catalogVersion.onStockChanged(1L, 5);
+        CatalogVersion.Stamp stockChanged = catalogVersion.current();
+        catalogVersion.onDeleted(1L);
+        CatalogVersion.Stamp deleted = catalogVersion.current();
+
+        assertEquals(STARTUP, initial.lastModified());
+        assertEquals(3, deleted.version());
+        assertNotEquals(initial.etag(), saved.etag());
+        assertNotEquals(saved.etag(), stockChanged.etag());
+        assertNotEquals(stockChanged.etag(), deleted.etag());
+    }
+
+    @Test
+    void current_shouldNotChange_whenLoadCompletes() {
+        CatalogVersion catalogVersion = new CatalogVersion(productRepository);
+        CatalogVersion.Stamp before = catalogVersion.current();
+
+        catalogVersion.onLoadComplete();
+
+        assertEquals(before, catalogVersion.current());
+    }
+
+    @Test
+    void etag_shouldDifferBetweenInstances_atTheSameVersion() {
+        String first = new CatalogVersion(productRepository).current().etag();
+        String second = new CatalogVersion(productRepository).current().etag();
+
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""), "entity tags are quoted");
+    }
+
+    @Test
+    void refresh_shouldBump_whenDatabaseStateChanges() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+        // Product 7 was deleted through another instance between the second and third poll
+        when(productRepository.findCatalogState()).thenReturn(new CatalogState(7L, updatedAt),
+                new CatalogState(7L, updatedAt), new CatalogState(6L, updatedAt));
+        CatalogVersion catalogVersion = new CatalogVersion(productRepository);
+
+        assertFalse(catalogVersion.refresh());
+        assertFalse(catalogVersion.refresh());
+        assertTrue(catalogVersion.refresh());
+
+        assertEquals(1, catalogVersion.current().version());
+    }
+}
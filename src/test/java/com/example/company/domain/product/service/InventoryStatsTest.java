@@ -0,0 +1,138 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.InventoryTotals;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryStatsTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private InventoryStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new InventoryStats(productRepository, new InventoryStatsProperties(Duration.ofMinutes(10), 2));
+        stats.onSaved(product(1L).price("19.99").stock(0).build());
+        stats.onSaved(product(2L).price("5.00").stock(10).build());
+        stats.onSaved(product(3L).price("0.10").stock(2000).build());
+        stats.onLoadComplete();
+    }
+
+    @Test
+    void snapshot_shouldSumCountUnitsAndValue() {
+        ProductStats result = stats.snapshot();
+
+        assertEquals(3, result.skuCount());
+        assertEquals(2010, result.totalUnits());
+        assertEquals(new BigDecimal("250.00"), result.inventoryValue());
+        assertEquals(List.of(
+                new ProductStats.StockBucket(null, 0, 1),
+                new ProductStats.StockBucket(1, 10, 1),
+                new ProductStats.StockBucket(11, 100, 0),
+                new ProductStats.StockBucket(101, 1000, 0),
+                new ProductStats.StockBucket(1001, null, 1)), result.stockHistogram());
+    }
+
+    @Test
+    void onSaved_shouldReplacePreviousState_whenProductUpdated() {
+        stats.onSaved(product(2L).price("7.50").stock(4).build());
+
+        ProductStats result = stats.snapshot();
+        assertEquals(3, result.skuCount());
+        assertEquals(2004, result.totalUnits());
+        assertEquals(new BigDecimal("230.00"), result.inventoryValue());
+    }
+
+    @Test
+    void onStockChanged_shouldKeepPrice_andMoveHistogramBucket() {
+        stats.onStockChanged(1L, 50);
+
+        ProductStats result = stats.snapshot();
+        assertEquals(2060, result.totalUnits());
+        assertEquals(new BigDecimal("1249.50"), result.inventoryValue());
+        assertEquals(0, result.stockHistogram().get(0).count());
+        assertEquals(1, result.stockHistogram().get(2).count());
+    }
+
+    @Test
+    void onDeleted_shouldSubtractProduct() {
+        stats.onDeleted(3L);
+        stats.onDeleted(99L);
+
+        ProductStats result = stats.snapshot();
+        assertEquals(2, result.skuCount());
+        assertEquals(10, result.totalUnits());
+        assertEquals(new BigDecimal("50.00"), result.inventoryValue());
+    }
+
+    @Test
+    void reconcile_shouldDoNothing_whenTotalsMatchDatabase() {
+        when(productRepository.findMaxId()).thenReturn(3L);
+        when(productRepository.sumInventory(1L, 3L))
+                .thenReturn(new InventoryTotals(3L, 2010L, new BigDecimal("250.00")));
+
+        assertEquals(0, stats.reconcile());
+        verify(productRepository, never()).findSummariesBetween(anyLong(), anyLong());
+    }
+
+    @Test
+    void reconcile_shouldReloadRange_whenTotalsDrifted() {
+        when(productRepository.findMaxId()).thenReturn(4L);
+        when(productRepository.sumInventory(1L, 4L))
+                .thenReturn(new InventoryTotals(3L, 20L, new BigDecimal("60.00")));
+        when(productRepository.findSummariesBetween(1L, 4L)).thenReturn(List.of(
+                new ProductSummary(1L, "a", new BigDecimal("19.99"), 0),
+                new ProductSummary(2L, "b", new BigDecimal("5.00"), 10),
+                new ProductSummary(4L, "d", new BigDecimal("1.00"), 10)));
+
+        assertEquals(2, stats.reconcile());
+
+        ProductStats result = stats.snapshot();
+        assertEquals(3, result.skuCount());
+        assertEquals(20, result.totalUnits());
+        assertEquals(new BigDecimal("60.00"), result.inventoryValue());
+    }
+
+    @Test
+    void reconcile_shouldSkip_whenNotLoaded() {
+        InventoryStats loading = new InventoryStats(productRepository,
+                new InventoryStatsProperties(Duration.ofMinutes(10), 2));
+
+        assertEquals(0, loading.reconcile());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void computeFromDatabase_shouldUseAggregateQueries() {
+        when(productRepository.sumInventory(Long.MIN_VALUE, Long.MAX_VALUE))
+                .thenReturn(new InventoryTotals(2L, 5L, new BigDecimal("12.5")));
+        when(productRepository.countByStockQuantityBetween(Integer.MIN_VALUE, 0)).thenReturn(1L);
+        when(productRepository.countByStockQuantityBetween(1, 10)).thenReturn(1L);
+
+        ProductStats result = stats.computeFromDatabase();
+
+        assertEquals(2, result.skuCount());
+        assertEquals(5, result.totalUnits());
+        assertEquals(new BigDecimal("12.50"), result.inventoryValue());
+        assertEquals(1, result.stockHistogram().get(1).count());
+        verify(productRepository).countByStockQuantityBetween(1001, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.StockLevel;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockTrackerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private LowStockTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LowStockTracker(productRepository);
+        tracker.onSaved(product(1L).stock(0).build());
+        tracker.onSaved(product(2L).stock(500).build());
+        tracker.onSaved(product(3L).stock(7).build());
+        tracker.onSaved(product(4L).stock(100).build());
+        tracker.onLoadComplete();
+    }
+
+    @Test
+    void page_shouldReturnProductsAtOrBelowThreshold_inIdOrder() {
+        List<StockLevel> result = tracker.page(10, null, 10);
+
+        assertEquals(List.of(new StockLevel(1L, 0), new StockLevel(3L, 7)), result);
+    }
+
+    @Test
+    void page_shouldContinueAfterCursor_andStopAtLimit() {
+        assertEquals(List.of(new StockLevel(3L, 7)), tracker.page(100, 1L, 1));
+        assertEquals(List.of(new StockLevel(4L, 100)), tracker.page(100, 3L, 10));
+    }
+
+    @Test
+    void onStockChanged_shouldMoveProductsInAndOutOfTheSet() {
+        tracker.onStockChanged(2L, 3);
+        tracker.onStockChanged(3L, 50);
+
+        assertEquals(List.of(new StockLevel(1L, 0), new StockLevel(2L, 3)), tracker.page(10, null, 10));
+    }
+
+    @Test
+    void onSaved_shouldRemoveProduct_whenRestockedAboveMaxThreshold() {
+        tracker.onSaved(product(4L).stock(101).build());
+
+        assertEquals(List.of(new StockLevel(1L, 0), new StockLevel(3L, 7)), tracker.page(100, null, 10));
+    }
+
+    @Test
+    void onDeleted_shouldRemoveProduct() {
+        tracker.onDeleted(1L);
+
+        assertEquals(List.of(new StockLevel(3L, 7)), tracker.page(10, null, 10));
+    }
+
+    @Test
+    void isReady_shouldBeFalse_untilLoadCompletes() {
+        assertTrue(tracker.isReady());
+        assertFalse(new LowStockTracker(productRepository).isReady());
+    }
+
+    @Test
+    void reconcile_shouldCorrectEntriesThatDifferFromDatabase() {
+        // Product 3 was restocked and product 5 sold out through another instance
+        when(productRepository.findLowStock(eq(ProductRepository.LOW_STOCK_MAX_THRESHOLD), eq(0L), any()))
+                .thenReturn(List.of(new StockLevel(1L, 0), new StockLevel(4L, 100), new StockLevel(5L, 0)));
+
+        assertEquals(2, tracker.reconcile());
+
+        assertEquals(List.of(new StockLevel(1L, 0), new StockLevel(4L, 100), new StockLevel(5L, 0)),
+                tracker.page(100, null, 10));
+    }
+
+    @Test
+    void reconcile_shouldDoNothing_beforeLoadCompletes() {
+        assertEquals(0, new LowStockTracker(productRepository).reconcile());
+
+        verify(productRepository, never()).findLowStock(anyInt(), anyLong(), any());
+    }
+}
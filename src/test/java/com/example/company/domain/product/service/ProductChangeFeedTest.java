@@ -0,0 +1,95 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeFeedTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeListener listener;
+
+    private ProductChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ProductChangeFeed(productRepository, List.of(listener));
+    }
+
+    @Test
+    void poll_shouldDoNothing_beforeLoadCompletes() {
+        assertEquals(0, feed.poll());
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void poll_shouldDeliverChangesOnce_andSkipLocalSaves() {
+        LocalDateTime now = LocalDateTime.now();
+        Product local = product(1L).updatedAt(now).build();
+        Product remote = product(2L).updatedAt(now).build();
+        feed.onSaved(local);
+        feed.onLoadComplete();
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(local, remote));
+
+        assertEquals(1, feed.poll());
+        assertEquals(0, feed.poll());
+
+        verify(listener, times(1)).onSaved(remote);
+        verify(listener, never()).onSaved(local);
+    }
+
+    @Test
+    void poll_shouldDeliverAgain_whenRowIsNewer() {
+        LocalDateTime now = LocalDateTime.now();
+        feed.onSaved(product(1L).updatedAt(now).build());
+        feed.onLoadComplete();
+        Product updated = product(1L).updatedAt(now.plusSeconds(1)).build();
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(updated));
+
+        assertEquals(1, feed.poll());
+        verify(listener).onSaved(updated);
+    }
+
+    @Test
+    void checkDeletes_shouldDeliverKnownProductsMissingFromTable() {
+        feed.onSaved(product(1L).build());
+        feed.onSaved(product(2L).build());
+        feed.onSaved(product(3L).build());
+        feed.onLoadComplete();
+        when(productRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(1L));
+        // Product 3 was created after the scan read its range
+        when(productRepository.findExistingIds(List.of(2L, 3L))).thenReturn(List.of(3L));
+
+        assertEquals(1, feed.checkDeletes());
+
+        verify(listener, times(1)).onDeleted(2L);
+        verify(listener, never()).onDeleted(3L);
+    }
+
+    @Test
+    void onLoadComplete_shouldDeliverDeletesMadeDuringLoadAgain() {
+        feed.onDeleted(5L);
+
+        feed.onLoadComplete();
+
+        verify(listener).onDeleted(5L);
+    }
+}
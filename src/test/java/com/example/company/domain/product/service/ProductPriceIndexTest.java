@@ -0,0 +1,143 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.PriceTotals;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex(productRepository);
+        index.onSaved(product(1L).price("20.00").build());
+        index.onSaved(product(2L).price("5.00").build());
+        index.onSaved(product(3L).price("20.00").build());
+        index.onSaved(product(4L).price("99.99").build());
+        index.onSaved(product(5L).price("0.50").build());
+        index.onLoadComplete();
+    }
+
+    @Test
+    void range_shouldBeEmpty_beforeLoadCompletes() {
+        ProductPriceIndex loading = new ProductPriceIndex(productRepository);
+        loading.onSaved(product(1L).price("1.00").build());
+
+        assertEquals(Optional.empty(), loading.range(0, 1000, 10));
+    }
+
+    @Test
+    void range_shouldReturnIdsInPriceThenIdOrder() {
+        assertEquals(Optional.of(List.of(2L, 1L, 3L)), index.range(100, 2000, 10));
+        assertEquals(Optional.of(List.of(5L, 2L, 1L, 3L, 4L)), index.range(Long.MIN_VALUE, Long.MAX_VALUE, 10));
+    }
+
+    @Test
+    void range_shouldOrderEqualPricesById_whenLoadedOutOfIdOrder() {
+        ProductPriceIndex loaded = new ProductPriceIndex(productRepository);
+        loaded.onSaved(product(9L).price("3.00").build());
+        loaded.onSaved(product(7L).price("3.00").build());
+        loaded.onSaved(product(8L).price("1.00").build());
+        loaded.onSaved(product(6L).price("3.00").build());
+        loaded.onLoadComplete();
+
+        assertEquals(Optional.of(List.of(8L, 6L, 7L, 9L)), loaded.range(0, 9999, 10));
+    }
+
+    @Test
+    void range_shouldContinueAfterCursor_withinEqualPrices() {
+        assertEquals(Optional.of(List.of(2L, 1L)), index.range(0, 9999, 2));
+        assertEquals(Optional.of(List.of(3L, 4L)), index.range(0, 9999, 2000, 1L, 2));
+        assertEquals(Optional.of(List.of()), index.range(0, 9999, 9999, 4L, 2));
+    }
+
+    @Test
+    void range_shouldStartAtMinPrice_whenCursorIsBelowRange() {
+        assertEquals(Optional.of(List.of(1L, 3L)), index.range(2000, 2000, 50, 5L, 10));
+    }
+
+    @Test
+    void range_shouldContinueAfterCursor_whenCursorProductWasDeleted() {
+        index.onDeleted(1L);
+
+        assertEquals(Optional.of(List.of(3L, 4L)), index.range(0, 9999, 2000, 1L, 10));
+    }
+
+    @Test
+    void onSaved_shouldMoveProduct_whenPriceChanges() {
+        index.onSaved(product(4L).price("1.00").build());
+        index.onSaved(product(6L).price("20.00").build());
+
+        assertEquals(Optional.of(List.of(5L, 4L, 2L, 1L, 3L, 6L)), index.range(0, 9999, 10));
+    }
+
+    @Test
+    void onDeleted_shouldRemoveProduct() {
+        index.onDeleted(1L);
+        index.onDeleted(42L);
+
+        assertEquals(Optional.of(List.of(2L, 3L)), index.range(100, 2000, 10));
+    }
+
+    @Test
+    void onSaved_shouldIgnoreOlderState_whenNewerIsIndexed() {
+        LocalDateTime now = LocalDateTime.now();
+        Product repriced = product(4L).price("1.00").build();
+        repriced.setUpdatedAt(now);
+        Product stale = product(4L).price("99.99").build();
+        stale.setUpdatedAt(now.minusSeconds(5));
+
+        index.onSaved(repriced);
+        index.onSaved(stale);
+
+        assertEquals(Optional.of(List.of(5L, 4L)), index.range(0, 100, 10));
+    }
+
+    @Test
+    void reconcile_shouldReloadRangesThatDifferFromDatabase() {
+        // Product 2 was repriced and product 5 deleted through another instance
+        when(productRepository.findMaxId()).thenReturn(4L);
+        when(productRepository.sumPrices(1, 5)).thenReturn(new PriceTotals(4L, new BigDecimal("147.99"),
+                new BigDecimal("495.96")));
+        when(productRepository.findSummariesBetween(1, 5)).thenReturn(List.of(
+                new ProductSummary(1L, "Product 1", new BigDecimal("20.00"), 1),
+                new ProductSummary(2L, "Product 2", new BigDecimal("8.00"), 1),
+                new ProductSummary(3L, "Product 3", new BigDecimal("20.00"), 1),
+                new ProductSummary(4L, "Product 4", new BigDecimal("99.99"), 1)));
+
+        assertEquals(2, index.reconcile());
+
+        assertEquals(Optional.of(List.of(2L, 1L, 3L, 4L)), index.range(0, 9999, 10));
+    }
+
+    @Test
+    void reconcile_shouldNotReload_whenTotalsMatch() {
+        when(productRepository.findMaxId()).thenReturn(5L);
+        when(productRepository.sumPrices(1, 5)).thenReturn(new PriceTotals(5L, new BigDecimal("145.49"),
+                new BigDecimal("492.46")));
+
+        assertEquals(0, index.reconcile());
+
+        verify(productRepository, never()).findSummariesBetween(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.example.company.common.fixture.ProductFixtures.product;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex(new ProductSearchProperties(ProductSearchProperties.Mode.MEMORY, 0.7));
+        searchIndex.onSaved(product(1L).name("Wireless Keyboard").description("Compact keyboard with backlight")
+                .build());
+        searchIndex.onSaved(product(2L).name("Gaming Mouse").description("Wireless mouse with adjustable DPI").build());
+        searchIndex.onSaved(product(3L).name("USB Cable").description("Braided charging cable").build());
+        searchIndex.onLoadComplete();
+    }
+
+    @Test
+    void search_shouldReturnEmpty_whenIndexIsNotLoaded() {
+        ProductSearchIndex loading =
+                new ProductSearchIndex(new ProductSearchProperties(ProductSearchProperties.Mode.MEMORY, 0.7));
+
+        assertTrue(loading.search("keyboard", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldMatchSubstringsOfNameAndDescription() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("board", 0, 10).orElseThrow();
+
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(1, hits.total());
+    }
+
+    @Test
+    void search_shouldRankNameMatchesAboveDescriptionMatches() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("wireless", 0, 10).orElseThrow();
+
+        assertEquals(List.of(1L, 2L), hits.ids());
+    }
+
+    @Test
+    void search_shouldTolerateTypos() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("keyboardd", 0, 10).orElseThrow();
+
+        assertEquals(List.of(1L), hits.ids());
+    }
+
+    @Test
+    void search_shouldMatchShortQueriesAsWordPrefixes() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("US", 0, 10).orElseThrow();
+
+        assertEquals(List.of(3L), hits.ids());
+    }
+
+    @Test
+    void search_shouldPaginateRankedMatches() {
+        ProductSearchIndex.SearchHits hits = searchIndex.search("wireless", 1, 1).orElseThrow();
+
+        assertEquals(List.of(2L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void onSaved_shouldReplacePreviousTerms_whenProductIsUpdated() {
+        searchIndex.onSaved(product(3L).name("Lightning Adapter").build());
+
+        assertTrue(searchIndex.search("cable", 0, 10).orElseThrow().ids().isEmpty());
+        assertEquals(List.of(3L), searchIndex.search("lightning", 0, 10).orElseThrow().ids());
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    void onSaved_shouldIgnoreOlderState_whenNewerIsIndexed() {
+        LocalDateTime now = LocalDateTime.now();
+        Product renamed = product(3L).name("Lightning Adapter").build();
+        renamed.setUpdatedAt(now);
+        Product stale = product(3L).name("USB Cable").build();
+        stale.setUpdatedAt(now.minusSeconds(5));
+
+        searchIndex.onSaved(renamed);
+        searchIndex.onSaved(stale);
+
+        assertEquals(List.of(3L), searchIndex.search("lightning", 0, 10).orElseThrow().ids());
+        assertTrue(searchIndex.search("cable", 0, 10).orElseThrow().ids().isEmpty());
+    }
+
+    @Test
+    void onDeleted_shouldRemoveProductFromResults() {
+        searchIndex.onDeleted(1L);
+
+        assertEquals(List.of(2L), searchIndex.search("wireless", 0, 10).orElseThrow().ids());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void onSaved_shouldKeepResults_whenTextIsUnchanged() {
+        searchIndex.onSaved(product(1L).name("Wireless Keyboard").description("Compact keyboard with backlight")
+                .price("19.99").build());
+
+        assertEquals(List.of(1L), searchIndex.search("keyboard", 0, 10).orElseThrow().ids());
+        assertEquals(List.of(1L, 2L), searchIndex.search("wireless", 0, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void onSaved_shouldKeepSharedTerms_whenTextIsPartlyChanged() {
+        searchIndex.onSaved(product(1L).name("Wireless Keyboard").description("Mechanical keyboard").build());
+
+        assertEquals(List.of(1L), searchIndex.search("mechanical", 0, 10).orElseThrow().ids());
+        assertTrue(searchIndex.search("backlight", 0, 10).orElseThrow().ids().isEmpty());
+        assertEquals(List.of(1L), searchIndex.search("keyboard", 0, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void onSaved_shouldNotRestoreProduct_whenSaveArrivesAfterDelete() {
+        searchIndex.onDeleted(1L);
+        searchIndex.onSaved(product(1L).name("Wireless Keyboard").description("Compact keyboard with backlight")
+                .build());
+
+        assertTrue(searchIndex.search("keyboard", 0, 10).orElseThrow().ids().isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void onSaved_shouldIndexProduct_whenTombstoneHasExpired() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        ProductSearchIndex index =
+                new ProductSearchIndex(new ProductSearchProperties(ProductSearchProperties.Mode.MEMORY, 0.7), clock);
+        index.onLoadComplete();
+        index.onDeleted(1L);
+
+        clock.advance(ProductSearchIndex.TOMBSTONE_TTL.plusSeconds(1));
+        index.onSaved(product(1L).name("Wireless Keyboard").build());
+
+        assertEquals(List.of(1L), index.search("keyboard", 0, 10).orElseThrow().ids());
+    }
+
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
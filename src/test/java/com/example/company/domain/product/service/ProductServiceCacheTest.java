@@ -0,0 +1,95 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductServiceCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(ProductService.PRODUCT_CACHE).clear();
+        testProduct = new Product();
+        testProduct.setId(1L);
+        testProduct.setName("Test Product");
+        testProduct.setPrice(new BigDecimal("99.99"));
+        testProduct.setStockQuantity(10);
+    }
+
+    @Test
+    void findProductById_shouldLoadOnce_whenCalledRepeatedly() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+
+        Product first = productService.findProductById(1L).orElseThrow();
+        Product second = productService.findProductById(1L).orElseThrow();
+
+        assertSame(first, second);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void findProductById_shouldCacheMiss_untilProductIsSaved() {
+        when(productRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(testProduct));
+        when(productRepository.save(testProduct)).thenReturn(testProduct);
+
+        assertEquals(Optional.empty(), productService.findProductById(1L));
+        assertEquals(Optional.empty(), productService.findProductById(1L));
+        verify(productRepository, times(1)).findById(1L);
+
+        productService.createProduct(testProduct);
+
+        assertSame(testProduct, productService.findProductById(1L).orElseThrow());
+    }
+
+    @Test
+    void updateProduct_shouldEvictCachedProduct() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        productService.findProductById(1L);
+
+        Product changes = new Product();
+        changes.setName("Renamed Product");
+        changes.setPrice(new BigDecimal("89.99"));
+        changes.setStockQuantity(5);
+        productService.updateProduct(1L, changes);
+
+        assertNull(cacheManager.getCache(ProductService.PRODUCT_CACHE).get(1L));
+    }
+
+    @Test
+    void deleteProduct_shouldEvictCachedProduct() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.removeById(1L)).thenReturn(1);
+        productService.findProductById(1L);
+
+        productService.deleteProduct(1L);
+
+        assertNull(cacheManager.getCache(ProductService.PRODUCT_CACHE).get(1L));
+    }
+}
@@ -1,37 +1,100 @@
 package com.example.company.domain.product.service;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.config.BatchProperties;
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.exception.ConflictException;
 import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.Cursor;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.pagination.SearchPage;
+import com.example.company.domain.product.dto.ProductStats;
+import com.example.company.domain.product.dto.ProductSummary;
+import com.example.company.domain.product.dto.StockAdjustment;
+import com.example.company.domain.product.dto.StockDeltaResult;
+import com.example.company.domain.product.dto.StockLevel;
 import com.example.company.domain.product.model.Product;
 import com.example.company.domain.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
 
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private LowStockTracker lowStockTracker;
+
+    @Mock
+    private InventoryStats inventoryStats;
+
+    @Mock
+    private ProductPriceIndex priceIndex;
+
+    @Mock
+    private CatalogSnapshotView snapshotView;
+
+    @Mock
+    private ProductChangeListener changeListener;
+
     private ProductService productService;
 
     private Product testProduct;
 
     @BeforeEach
     void setUp() {
+        productService = new ProductService(productRepository, entityManager, cacheManager, searchIndex,
+                new ProductSearchProperties(ProductSearchProperties.Mode.MEMORY, 0.7), lowStockTracker,
+                new CatalogVersion(productRepository), inventoryStats, priceIndex, snapshotView,
+                List.of(changeListener), VALIDATOR, new BatchProperties(3, 2));
+
         testProduct = new Product();
         testProduct.setId(1L);
         testProduct.setName("Test Product");
@@ -52,35 +115,264 @@ class ProductServiceTest {
     }
 
     @Test
-    void getProductById_shouldReturnProduct_whenProductExists() {
+    void getProductsPage_shouldReturnFirstPageWithNextCursor_whenMoreRowsExist() {
+        Product second = new Product();
+        second.setId(2L);
+        Product third = new Product();
+        third.setId(3L);
+        Pageable expected = PageRequest.of(0, 3, Sort.by("id"));
+        when(productRepository.findFirstPage(expected)).thenReturn(List.of(testProduct, second, third));
+
+        CursorPage<Product> result = productService.getProductsPage(null, 2, null);
+
+        assertEquals(List.of(testProduct, second), result.items());
+        assertEquals(Cursor.of(2L).encode(), result.nextCursor());
+    }
+
+    @Test
+    void getProductsPage_shouldSeekFromCursorSortKey_whenSortedByPrice() {
+        Pageable expected = PageRequest.of(0, CursorPage.DEFAULT_LIMIT + 1, Sort.by("price", "id"));
+        when(productRepository.findPageAfterPrice(new BigDecimal("99.99"), 1L, expected)).thenReturn(List.of());
+
+        CursorPage<Product> result = productService.getProductsPage(Cursor.of(1L, new BigDecimal("99.99")).encode(),
+                null, "price");
+
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProductsPage_shouldReturnNextCursorWithSortKey_whenSortedByName() {
+        Product second = new Product();
+        second.setId(2L);
+        second.setName("Second: deluxe");
+        Product third = new Product();
+        third.setId(3L);
+        Pageable expected = PageRequest.of(0, 3, Sort.by("name", "id"));
+        when(productRepository.findPageAfterName("A", 7L, expected)).thenReturn(List.of(testProduct, second, third));
+
+        CursorPage<Product> result = productService.getProductsPage(Cursor.of(7L, "A").encode(), 2, "name");
+
+        assertEquals(List.of(testProduct, second), result.items());
+        assertEquals(new Cursor(2L, "Second: deluxe"), Cursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void getProductsPage_shouldCapLimit() {
+        Pageable expected = PageRequest.of(0, CursorPage.MAX_LIMIT + 1, Sort.by("id"));
+        when(productRepository.findPageAfterId(10L, expected)).thenReturn(List.of(testProduct));
+
+        CursorPage<Product> result = productService.getProductsPage(Cursor.of(10L).encode(), 100_000, "id");
+
+        assertEquals(1, result.items().size());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProductsPage_shouldThrowException_whenSortIsUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsPage(null, null, "color"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductsPage_shouldThrowException_whenCursorIsMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsPage("%%", null, "name"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductsPage_shouldThrowException_whenCursorIsForAnotherSortOrder() {
+        String idCursor = Cursor.of(42L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsPage(idCursor, null, "price"));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductSummariesPage_shouldSeekFromCursorSortKey_andReturnNextCursor() {
+        Pageable expected = PageRequest.of(0, 2, Sort.by("price", "id"));
+        ProductSummary first = new ProductSummary(2L, "Second", new BigDecimal("99.99"), 5);
+        ProductSummary second = new ProductSummary(3L, "Third", new BigDecimal("120.00"), 0);
+        when(productRepository.findSummaryPageAfterPrice(new BigDecimal("99.99"), 1L, expected))
+                .thenReturn(List.of(first, second));
+
+        CursorPage<ProductSummary> result = productService.getProductSummariesPage(
+                Cursor.of(1L, new BigDecimal("99.99")).encode(), 1, "price");
+
+        assertEquals(List.of(first), result.items());
+        assertEquals(Cursor.of(2L, new BigDecimal("99.99")).encode(), result.nextCursor());
+        verify(productRepository, never()).findPageAfterPrice(any(), any(), any());
+    }
+
+    @Test
+    void getProductSummariesPage_shouldReadFullRows_whenSortedByCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        testProduct.setCreatedAt(createdAt);
+        Pageable expected = PageRequest.of(0, 2, Sort.by("createdAt", "id"));
+        when(productRepository.findPageAfterCreatedAt(createdAt.minusDays(1), 9L, expected))
+                .thenReturn(List.of(testProduct, new Product()));
+
+        CursorPage<ProductSummary> result = productService.getProductSummariesPage(
+                Cursor.of(9L, createdAt.minusDays(1)).encode(), 1, "createdAt");
+
+        assertEquals(List.of(new ProductSummary(1L, "Test Product", new BigDecimal("99.99"), 10)), result.items());
+        assertEquals(Cursor.of(1L, createdAt).encode(), result.nextCursor());
+    }
+
+    @Test
+    void exportProducts_shouldStreamAndDetachEveryProduct() {
+        Product other = new Product();
+        when(productRepository.streamAll()).thenReturn(Stream.of(testProduct, other));
+        List<Product> exported = new ArrayList<>();
+
+        long count = productService.exportProducts(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(testProduct, other), exported);
+        verify(entityManager, times(1)).detach(testProduct);
+        verify(entityManager, times(1)).detach(other);
+    }
+
+    @Test
+    void findProductById_shouldReturnProduct_whenProductExists() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
 
-        Product result = productService.getProductById(1L);
+        Product result = productService.findProductById(1L).orElseThrow();
 
-        assertNotNull(result);
         assertEquals("Test Product", result.getName());
         assertEquals(new BigDecimal("99.99"), result.getPrice());
         verify(productRepository, times(1)).findById(1L);
     }
 
     @Test
-    void getProductById_shouldThrowException_whenProductNotFound() {
+    void findProductById_shouldReturnEmpty_whenProductNotFound() {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(1L));
+        assertEquals(Optional.empty(), productService.findProductById(1L));
         verify(productRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void findProductById_shouldReadSnapshot_whenSnapshotServing() {
+        when(snapshotView.isServing()).thenReturn(true);
+        when(snapshotView.find(1L)).thenReturn(Optional.of(testProduct));
+
+        Product result = productService.findProductById(1L).orElseThrow();
+
+        assertEquals("Test Product", result.getName());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void findProductById_shouldReturnEmpty_whenSnapshotServingAndProductNotFound() {
+        when(snapshotView.isServing()).thenReturn(true);
+        when(snapshotView.find(1L)).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), productService.findProductById(1L));
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProductsByIds_shouldLoadUncachedProductsAndKeepRequestOrder() {
+        Product second = new Product();
+        second.setId(2L);
+        when(cacheManager.getCache(ProductService.PRODUCT_CACHE)).thenReturn(cache);
+        when(cache.get(1L, Product.class)).thenReturn(testProduct);
+        when(productRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(second));
+
+        LookupResult<Product> result = productService.getProductsByIds(List.of(2L, 1L, 3L));
+
+        assertEquals(List.of(second, testProduct), result.items());
+        assertEquals(List.of(3L), result.missing());
+        verify(cache).put(2L, second);
+        verify(cache, never()).put(eq(1L), any());
+    }
+
+    @Test
+    void getProductsByIds_shouldReadSnapshot_whenSnapshotServing() {
+        when(snapshotView.isServing()).thenReturn(true);
+        when(snapshotView.find(1L)).thenReturn(Optional.of(testProduct));
+        when(snapshotView.find(2L)).thenReturn(Optional.empty());
+
+        LookupResult<Product> result = productService.getProductsByIds(List.of(1L, 2L));
+
+        assertEquals(List.of(testProduct), result.items());
+        assertEquals(List.of(2L), result.missing());
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getProductsByIds_shouldThrowException_whenMoreIdsThanMaxItems() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsByIds(List.of(1L, 2L, 3L, 4L)));
+
+        verifyNoInteractions(productRepository);
+    }
+
     @Test
     void searchProductsByName_shouldReturnMatchingProducts() {
         List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findByNameContainingIgnoreCase("Test")).thenReturn(products);
+        Pageable expected = PageRequest.of(0, CursorPage.DEFAULT_LIMIT, Sort.by("id"));
+        when(searchIndex.search("Test", 0, CursorPage.DEFAULT_LIMIT)).thenReturn(Optional.empty());
+        when(productRepository.findByNameContainingIgnoreCase("Test", expected)).thenReturn(products);
+
+        SearchPage<Product> result = productService.searchProductsByName("Test", null, null);
 
-        List<Product> result = productService.searchProductsByName("Test");
+        assertEquals(1, result.items().size());
+        assertEquals("Test Product", result.items().get(0).getName());
+        assertNull(result.total());
+        verify(productRepository, times(1)).findByNameContainingIgnoreCase("Test", expected);
+    }
 
-        assertEquals(1, result.size());
-        assertEquals("Test Product", result.get(0).getName());
-        verify(productRepository, times(1)).findByNameContainingIgnoreCase("Test");
+    @Test
+    void searchProductsByName_shouldReturnProductsInRelevanceOrder_whenIndexIsReady() {
+        Product second = new Product();
+        second.setId(2L);
+        when(searchIndex.search("Test", 10, 2))
+                .thenReturn(Optional.of(new ProductSearchIndex.SearchHits(List.of(2L, 1L), 12)));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testProduct, second));
+
+        SearchPage<Product> result = productService.searchProductsByName("Test", 10, 2);
+
+        assertEquals(List.of(second, testProduct), result.items());
+        assertEquals(12L, result.total());
+        verify(productRepository, never()).findByNameContainingIgnoreCase(any(), any());
+    }
+
+    @Test
+    void searchProductsByName_shouldThrowException_whenOffsetIsTooDeep() {
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.searchProductsByName("Test", SearchPage.MAX_OFFSET + 1, null));
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void loadChangeListeners_shouldFeedEveryProductAndCompleteLoad() {
+        when(productRepository.streamAll()).thenAnswer(invocation -> {
+            assertTrue(PrimaryStickiness.isActive());
+            return Stream.of(testProduct);
+        });
+
+        productService.loadChangeListeners();
+
+        verify(changeListener, times(1)).onSaved(testProduct);
+        verify(changeListener, times(1)).onLoadComplete();
+        assertFalse(PrimaryStickiness.isActive());
+    }
+
+    @Test
+    void loadChangeListeners_shouldFeedProductsFromSnapshot_whenSnapshotOpened() {
+        when(snapshotView.open()).thenReturn(true);
+        when(snapshotView.forEach(any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(0).accept(testProduct);
+            return 1L;
+        });
+
+        productService.loadChangeListeners();
+
+        verify(changeListener, times(1)).onSaved(testProduct);
+        verify(changeListener, times(1)).onLoadComplete();
+        verify(productRepository, never()).streamAll();
     }
 
     @Test
@@ -92,6 +384,218 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals("Test Product", result.getName());
         verify(productRepository, times(1)).save(testProduct);
+        verify(changeListener, times(1)).onSaved(testProduct);
+    }
+
+    @Test
+    void createProducts_shouldPersistValidItemsAndReportInvalidOnes() {
+        Product invalid = new Product();
+        invalid.setName("X");
+        invalid.setStockQuantity(1);
+        Product other = new Product();
+        other.setName("Other Product");
+        other.setPrice(new BigDecimal("5.00"));
+        other.setStockQuantity(3);
+        AtomicLong nextId = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<Product>getArgument(0).setId(nextId.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(Product.class));
+
+        BatchResult result = productService.createProducts(Arrays.asList(testProduct, invalid, other));
+
+        assertEquals(2, result.created());
+        assertEquals(List.of(100L, 101L), result.ids());
+        assertEquals(1, result.errors().size());
+        assertEquals(1, result.errors().get(0).index());
+        assertEquals(Set.of("name", "price"), result.errors().get(0).errors().keySet());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(changeListener).onSaved(testProduct);
+        verify(changeListener).onSaved(other);
+    }
+
+    @Test
+    void createProducts_shouldThrowException_whenBatchTooLarge() {
+        List<Product> products = List.of(testProduct, testProduct, testProduct, testProduct);
+
+        assertThrows(IllegalArgumentException.class, () -> productService.createProducts(products));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void getLowStockProducts_shouldUseTracker_whenReady() {
+        when(lowStockTracker.isReady()).thenReturn(true);
+        when(lowStockTracker.page(5, null, 3))
+                .thenReturn(List.of(new StockLevel(1L, 0), new StockLevel(4L, 2), new StockLevel(9L, 5)));
+
+        CursorPage<StockLevel> result = productService.getLowStockProducts(5, null, 2);
+
+        assertEquals(List.of(new StockLevel(1L, 0), new StockLevel(4L, 2)), result.items());
+        assertEquals(Cursor.of(4L).encode(), result.nextCursor());
+        verify(productRepository, never()).findLowStock(anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void getLowStockProducts_shouldQueryDatabase_whenTrackerNotReady() {
+        when(lowStockTracker.isReady()).thenReturn(false);
+        when(productRepository.findLowStock(5, 4L, PageRequest.of(0, 3))).thenReturn(List.of(new StockLevel(9L, 5)));
+
+        CursorPage<StockLevel> result = productService.getLowStockProducts(5, Cursor.of(4L).encode(), 2);
+
+        assertEquals(List.of(new StockLevel(9L, 5)), result.items());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getLowStockProducts_shouldThrowException_whenThresholdTooHigh() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getLowStockProducts(101, null, null));
+        verify(lowStockTracker, never()).page(anyInt(), any(), anyInt());
+    }
+
+    @Test
+    void getProductsByPriceRange_shouldLoadIndexedPage_inIndexOrder() {
+        Product cheaper = new Product(2L, "Cheaper", null, new BigDecimal("5.00"), 1, null, null);
+        when(priceIndex.range(500L, 10_000L, 3)).thenReturn(Optional.of(List.of(2L, 1L)));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testProduct, cheaper));
+
+        CursorPage<Product> result = productService.getProductsByPriceRange(new BigDecimal("4.999"),
+                new BigDecimal("100.009"), null, 2);
+
+        assertEquals(List.of(cheaper, testProduct), result.items());
+        assertNull(result.nextCursor());
+        verify(productRepository, never()).findPriceRangeFirstPage(any(), any(), any());
+    }
+
+    @Test
+    void getProductsByPriceRange_shouldQueryDatabase_whenIndexNotReady() {
+        when(priceIndex.range(Long.MIN_VALUE, 10_000L, 9_999L, 1L, 3)).thenReturn(Optional.empty());
+        Pageable pageable = PageRequest.of(0, 3, Sort.by("price", "id"));
+        when(productRepository.findPriceRangePageAfter(BigDecimal.ZERO, new BigDecimal("100"),
+                new BigDecimal("99.99"), 1L, pageable)).thenReturn(List.of());
+
+        CursorPage<Product> result = productService.getProductsByPriceRange(null, new BigDecimal("100"),
+                Cursor.of(1L, new BigDecimal("99.99")).encode(), 2);
+
+        assertEquals(List.of(), result.items());
+    }
+
+    @Test
+    void getProductsByPriceRange_shouldThrowException_whenMinAboveMax() {
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.getProductsByPriceRange(new BigDecimal("10"), new BigDecimal("5"), null, null));
+        verifyNoInteractions(priceIndex);
+    }
+
+    @Test
+    void getProductStats_shouldUseInMemoryTotals_whenReady() {
+        ProductStats stats = new ProductStats(1, 10, new BigDecimal("999.90"), List.of());
+        when(inventoryStats.isReady()).thenReturn(true);
+        when(inventoryStats.snapshot()).thenReturn(stats);
+
+        assertSame(stats, productService.getProductStats());
+        verify(inventoryStats, never()).computeFromDatabase();
+    }
+
+    @Test
+    void getProductStats_shouldQueryDatabase_whenNotReady() {
+        ProductStats stats = new ProductStats(0, 0, BigDecimal.ZERO, List.of());
+        when(inventoryStats.isReady()).thenReturn(false);
+        when(inventoryStats.computeFromDatabase()).thenReturn(stats);
+
+        assertSame(stats, productService.getProductStats());
+        verify(inventoryStats, never()).snapshot();
+    }
+
+    @Test
+    void adjustStock_shouldReturnNewQuantity_whenStockSuffices() {
+        when(productRepository.adjustStock(eq(1L), eq(-3), any())).thenReturn(1);
+        when(productRepository.findStockQuantity(1L)).thenReturn(Optional.of(7));
+
+        StockLevel result = productService.adjustStock(1L, -3);
+
+        assertEquals(new StockLevel(1L, 7), result);
+        verify(productRepository, never()).findById(anyLong());
+        verify(changeListener, times(1)).onStockChanged(1L, 7);
+    }
+
+    @Test
+    void adjustStock_shouldReadNewQuantityFromUpdate_whenReturningSupported() {
+        when(productRepository.supportsAdjustStockReturning()).thenReturn(true);
+        when(productRepository.adjustStockReturning(eq(1L), eq(-3), any())).thenReturn(Optional.of(7));
+
+        StockLevel result = productService.adjustStock(1L, -3);
+
+        assertEquals(new StockLevel(1L, 7), result);
+        verify(productRepository, never()).adjustStock(anyLong(), anyInt(), any());
+        verify(productRepository, never()).findStockQuantity(anyLong());
+        verify(productRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void adjustStock_shouldThrowConflict_whenReturningUpdateFindsTooLittleStock() {
+        when(productRepository.supportsAdjustStockReturning()).thenReturn(true);
+        when(productRepository.adjustStockReturning(eq(1L), eq(-30), any())).thenReturn(Optional.empty());
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> productService.adjustStock(1L, -30));
+    }
+
+    @Test
+    void adjustStock_shouldThrowConflict_whenStockInsufficient() {
+        when(productRepository.adjustStock(eq(1L), eq(-30), any())).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> productService.adjustStock(1L, -30));
+        verify(changeListener, never()).onStockChanged(anyLong(), anyInt());
+    }
+
+    @Test
+    void adjustStock_shouldThrowException_whenProductNotFound() {
+        when(productRepository.adjustStock(eq(1L), eq(5), any())).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.adjustStock(1L, 5));
+    }
+
+    @Test
+    void adjustStocks_shouldMergeDeltasAndApplyInIdOrder() {
+        when(productRepository.adjustStock(anyLong(), anyInt(), any())).thenReturn(1);
+        when(productRepository.findStockQuantity(1L)).thenReturn(Optional.of(8));
+        when(productRepository.findStockQuantity(2L)).thenReturn(Optional.of(4));
+
+        List<StockLevel> result = productService.adjustStocks(List.of(
+                new StockAdjustment(2L, -1), new StockAdjustment(1L, -1), new StockAdjustment(1L, -1)));
+
+        assertEquals(List.of(new StockLevel(1L, 8), new StockLevel(2L, 4)), result);
+        var inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).adjustStock(eq(1L), eq(-2), any());
+        inOrder.verify(productRepository).adjustStock(eq(2L), eq(-1), any());
+    }
+
+    @Test
+    void applyStockDeltas_shouldRejectOversold_andSkipMissingProducts() {
+        when(productRepository.adjustStock(eq(1L), eq(-5), any())).thenReturn(1);
+        when(productRepository.adjustStock(eq(2L), eq(-1), any())).thenReturn(0);
+        when(productRepository.adjustStock(eq(3L), eq(-4), any())).thenReturn(0);
+        when(productRepository.findStockQuantity(1L)).thenReturn(Optional.of(5));
+        when(productRepository.existsById(2L)).thenReturn(false);
+        when(productRepository.existsById(3L)).thenReturn(true);
+
+        StockDeltaResult result = productService.applyStockDeltas(Map.of(2L, -1, 1L, -5, 3L, -4));
+
+        assertEquals(List.of(new StockLevel(1L, 5)), result.levels());
+        assertEquals(Map.of(3L, -4), result.rejected());
+        verify(changeListener, times(1)).onStockChanged(1L, 5);
+        verify(changeListener, never()).onStockChanged(eq(3L), anyInt());
+    }
+
+    @Test
+    void adjustStocks_shouldThrowException_whenDeltaMissing() {
+        List<StockAdjustment> adjustments = List.of(new StockAdjustment(1L, null));
+
+        assertThrows(IllegalArgumentException.class, () -> productService.adjustStocks(adjustments));
+        verify(productRepository, never()).adjustStock(anyLong(), anyInt(), any());
     }
 
     @Test
@@ -126,20 +630,21 @@ class ProductServiceTest {
 
     @Test
     void deleteProduct_shouldDeleteProduct_whenProductExists() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.removeById(1L)).thenReturn(1);
 
         productService.deleteProduct(1L);
 
-        verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).delete(testProduct);
+        verify(productRepository, times(1)).removeById(1L);
+        verify(productRepository, never()).findById(any());
+        verify(changeListener, times(1)).onDeleted(1L);
     }
 
     @Test
     void deleteProduct_shouldThrowException_whenProductNotFound() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productRepository.removeById(1L)).thenReturn(0);
 
         assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(1L));
-        verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, never()).delete(any());
+        verify(productRepository, times(1)).removeById(1L);
+        verifyNoInteractions(changeListener);
     }
 }
@@ -0,0 +1,102 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.model.Product;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of selling one hot product through the reservation engine versus direct conditional UPDATEs.
+ * Run with {@code ./gradlew benchmark}; excluded from the regular test task.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class StockReservationBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private StockReservationWriter reservationWriter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void directStockUpdates() throws Exception {
+        measure("warm-up", id -> productService.adjustStock(id, -1));
+        long productId = measure("direct UPDATE", id -> productService.adjustStock(id, -1));
+
+        assertEquals(0, productRepository.findStockQuantity(productId).orElseThrow());
+    }
+
+    @Test
+    void reservations() throws Exception {
+        LongConsumer sell = id -> reservationService.confirm(reservationService.reserve(id, 1).id());
+        measure("warm-up", sell);
+        long productId = measure("reservation engine", sell);
+        reservationWriter.flush();
+
+        assertEquals(0, productRepository.findStockQuantity(productId).orElseThrow());
+        assertEquals(0, reservationService.getAvailable(productId));
+    }
+
+    private long measure(String name, LongConsumer sellOne) throws Exception {
+        long productId = createProduct(THREADS * OPERATIONS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        sellOne.accept(productId);
+                    }
+                    return null;
+                }));
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - began) / 1e9;
+            System.out.printf("%-20s %,12.0f ops/s (%d threads)%n", name,
+                    THREADS * OPERATIONS_PER_THREAD / seconds, THREADS);
+        } finally {
+            executor.shutdown();
+        }
+        return productId;
+    }
+
+    private long createProduct(int stockQuantity) {
+        Product product = new Product();
+        product.setName("Flash Sale Product");
+        product.setPrice(new BigDecimal("9.99"));
+        product.setStockQuantity(stockQuantity);
+        return productService.createProduct(product).getId();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.common.exception.ConflictException;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.domain.product.dto.Reservation;
+import com.example.company.domain.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    private StockReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new StockReservationService(productRepository,
+                new ReservationProperties(Duration.ofMinutes(10), Duration.ofSeconds(1), Duration.ofSeconds(1)),
+                clock);
+        reservationService.onStockChanged(1L, 10);
+    }
+
+    @Test
+    void reserve_shouldHoldStock_whenAvailable() {
+        Reservation reservation = reservationService.reserve(1L, 4);
+
+        assertEquals(1L, reservation.productId());
+        assertEquals(4, reservation.quantity());
+        assertEquals(Instant.parse("2025-01-01T00:10:00Z"), reservation.expiresAt());
+        assertEquals(6, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void reserve_shouldThrowConflict_whenStockInsufficient() {
+        reservationService.reserve(1L, 8);
+
+        assertThrows(ConflictException.class, () -> reservationService.reserve(1L, 3));
+        assertEquals(2, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void reserve_shouldLoadStockFromDatabase_whenProductNotTracked() {
+        when(productRepository.findStockQuantity(2L)).thenReturn(Optional.of(5));
+
+        reservationService.reserve(2L, 2);
+
+        assertEquals(3, reservationService.getAvailable(2L));
+    }
+
+    @Test
+    void reserve_shouldThrowException_whenProductNotFound() {
+        when(productRepository.findStockQuantity(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.reserve(2L, 1));
+    }
+
+    @Test
+    void reserve_shouldNeverOversell_underConcurrency() throws Exception {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        reservationService.reserve(1L, 1);
+                        granted.incrementAndGet();
+                    } catch (ConflictException ex) {
+                        // expected once stock runs out
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(10, granted.get());
+        assertEquals(0, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void confirm_shouldQueueDeltaForFlush() {
+        Reservation reservation = reservationService.reserve(1L, 3);
+
+        reservationService.confirm(reservation.id());
+
+        assertEquals(7, reservationService.getAvailable(1L));
+        assertEquals(Map.of(1L, -3), reservationService.drainPendingDeltas());
+        assertEquals(Map.of(), reservationService.drainPendingDeltas());
+    }
+
+    @Test
+    void confirm_shouldThrowException_whenReservationUnknown() {
+        UUID unknown = UUID.randomUUID();
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.confirm(unknown));
+    }
+
+    @Test
+    void confirm_shouldReturnStockAndThrowConflict_whenExpired() {
+        Reservation reservation = reservationService.reserve(1L, 3);
+        clock.advance(Duration.ofMinutes(11));
+
+        assertThrows(ConflictException.class, () -> reservationService.confirm(reservation.id()));
+        assertEquals(10, reservationService.getAvailable(1L));
+        assertEquals(Map.of(), reservationService.drainPendingDeltas());
+    }
+
+    @Test
+    void release_shouldReturnStock() {
+        Reservation reservation = reservationService.reserve(1L, 3);
+
+        reservationService.release(reservation.id());
+
+        assertEquals(10, reservationService.getAvailable(1L));
+        assertThrows(ResourceNotFoundException.class, () -> reservationService.release(reservation.id()));
+    }
+
+    @Test
+    void expireReservations_shouldReleaseOnlyExpiredHolds() {
+        reservationService.reserve(1L, 3);
+        clock.advance(Duration.ofMinutes(5));
+        Reservation recent = reservationService.reserve(1L, 2);
+        clock.advance(Duration.ofMinutes(6));
+
+        reservationService.expireReservations();
+
+        assertEquals(8, reservationService.getAvailable(1L));
+        reservationService.release(recent.id());
+        assertEquals(10, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void onStockChanged_shouldApplyExternalDriftToAvailable() {
+        reservationService.reserve(1L, 4);
+
+        reservationService.onStockChanged(1L, 15);
+
+        assertEquals(11, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void onStockChanged_shouldNotDoubleCount_ownFlushedDeltas() {
+        reservationService.confirm(reservationService.reserve(1L, 4).id());
+        Map<Long, Integer> deltas = reservationService.drainPendingDeltas();
+
+        reservationService.onStockChanged(1L, 10 + deltas.get(1L));
+
+        assertEquals(6, reservationService.getAvailable(1L));
+    }
+
+    @Test
+    void restorePendingDeltas_shouldRequeueFailedFlush() {
+        reservationService.confirm(reservationService.reserve(1L, 4).id());
+        Map<Long, Integer> deltas = reservationService.drainPendingDeltas();
+
+        reservationService.restorePendingDeltas(deltas);
+        reservationService.onStockChanged(1L, 10);
+
+        assertEquals(6, reservationService.getAvailable(1L));
+        assertEquals(Map.of(1L, -4), reservationService.drainPendingDeltas());
+    }
+
+    @Test
+    void discardPendingDeltas_shouldResyncToDatabase_whenFlushWasOversold() {
+        reservationService.confirm(reservationService.reserve(1L, 4).id());
+        Map<Long, Integer> deltas = reservationService.drainPendingDeltas();
+        // Another instance sold 8 of the 10 units before this flush, so the database rejected it
+
+        reservationService.discardPendingDeltas(deltas);
+        reservationService.onStockChanged(1L, 2);
+
+        assertEquals(2, reservationService.getAvailable(1L));
+        assertEquals(Map.of(), reservationService.drainPendingDeltas());
+        assertThrows(ConflictException.class, () -> reservationService.reserve(1L, 3));
+    }
+
+    @Test
+    void discardPendingDeltas_shouldFollowRestock_afterOversoldFlush() {
+        reservationService.reserve(1L, 1);
+        reservationService.confirm(reservationService.reserve(1L, 4).id());
+        reservationService.discardPendingDeltas(reservationService.drainPendingDeltas());
+        reservationService.onStockChanged(1L, 2);
+
+        reservationService.onStockChanged(1L, 100);
+
+        assertEquals(99, reservationService.getAvailable(1L));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
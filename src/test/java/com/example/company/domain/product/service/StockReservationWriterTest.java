@@ -0,0 +1,87 @@
+package com.example.company.domain.product.service;
+
+import com.example.company.domain.product.dto.StockDeltaResult;
+import com.example.company.domain.product.dto.StockLevel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationWriterTest {
+
+    @Mock
+    private StockReservationService reservationService;
+
+    @Mock
+    private ProductService productService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private StockReservationWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new StockReservationWriter(reservationService, productService,
+                new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void flush_shouldWriteDrainedDeltas() {
+        Map<Long, Integer> deltas = Map.of(1L, -3, 2L, -1);
+        when(reservationService.drainPendingDeltas()).thenReturn(deltas);
+        when(productService.applyStockDeltas(deltas)).thenReturn(
+                new StockDeltaResult(List.of(new StockLevel(1L, 7), new StockLevel(2L, 4)), Map.of()));
+
+        writer.flush();
+
+        verify(productService, times(1)).applyStockDeltas(deltas);
+        verify(reservationService, never()).restorePendingDeltas(any());
+        verify(reservationService, never()).discardPendingDeltas(any());
+    }
+
+    @Test
+    void flush_shouldSkipDatabase_whenNothingPending() {
+        when(reservationService.drainPendingDeltas()).thenReturn(Map.of());
+
+        writer.flush();
+
+        verify(productService, never()).applyStockDeltas(any());
+    }
+
+    @Test
+    void flush_shouldRestoreDeltas_whenWriteFails() {
+        Map<Long, Integer> deltas = Map.of(1L, -3);
+        when(reservationService.drainPendingDeltas()).thenReturn(deltas);
+        when(productService.applyStockDeltas(deltas)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        writer.flush();
+
+        verify(reservationService, times(1)).restorePendingDeltas(deltas);
+    }
+
+    @Test
+    void flush_shouldReportOversold_andNotRetry_whenStockWouldGoNegative() {
+        Map<Long, Integer> deltas = Map.of(1L, -3, 2L, -1);
+        when(reservationService.drainPendingDeltas()).thenReturn(deltas);
+        when(productService.applyStockDeltas(deltas)).thenReturn(
+                new StockDeltaResult(List.of(new StockLevel(2L, 4)), Map.of(1L, -3)));
+
+        writer.flush();
+
+        verify(reservationService, times(1)).discardPendingDeltas(Map.of(1L, -3));
+        verify(reservationService, never()).restorePendingDeltas(any());
+        assertEquals(3.0, registry.counter("app.reservations.oversold").count());
+    }
+}
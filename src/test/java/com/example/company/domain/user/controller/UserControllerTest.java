@@ -1,6 +1,12 @@
 package com.example.company.domain.user.controller;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.common.util.HttpValidators;
 import com.example.company.config.TestConfig;
+import com.example.company.domain.user.dto.UserSummary;
 import com.example.company.domain.user.model.User;
 import com.example.company.domain.user.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,11 +19,18 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -50,26 +63,160 @@ class UserControllerTest {
     @Test
     void getAllUsers_shouldReturnUserList() throws Exception {
         List<User> users = Arrays.asList(testUser);
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getUsersPage(null, null, null)).thenReturn(new CursorPage<>(users, null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].name").value("John Doe"))
                 .andExpect(jsonPath("$[0].email").value("john@example.com"));
 
-        verify(userService, times(1)).getAllUsers();
+        verify(userService, times(1)).getUsersPage(null, null, null);
+    }
+
+    @Test
+    void getAllUsers_withCursorParameters_shouldReturnPageAndNextCursor() throws Exception {
+        when(userService.getUsersPage("Mw", 1, "name")).thenReturn(new CursorPage<>(List.of(testUser), "MQ"));
+
+        mockMvc.perform(get("/api/users")
+                        .param("after", "Mw")
+                        .param("limit", "1")
+                        .param("sort", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "MQ"))
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+
+        verify(userService, times(1)).getUsersPage("Mw", 1, "name");
+    }
+
+    @Test
+    void exportUsers_shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(0);
+            consumer.accept(testUser);
+            consumer.accept(testUser);
+            return 2L;
+        }).when(userService).exportUsers(any());
+
+        MvcResult result = mockMvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"name\":\"John Doe\"")))
+                .andExpect(content().string(containsString("}\n{")))
+                .andExpect(content().string(endsWith("}\n")));
+
+        verify(userService, times(1)).exportUsers(any());
+    }
+
+    @Test
+    void getUserByEmail_shouldReturnUser() throws Exception {
+        when(userService.getUserByEmail("john@example.com")).thenReturn(testUser);
+
+        mockMvc.perform(get("/api/users/by-email").param("email", "john@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"));
+    }
+
+    @Test
+    void getUserByEmail_shouldReturnNotFound_whenUserMissing() throws Exception {
+        when(userService.getUserByEmail("nobody@example.com"))
+                .thenThrow(new ResourceNotFoundException("User not found with email: nobody@example.com"));
+
+        mockMvc.perform(get("/api/users/by-email").param("email", "nobody@example.com"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Cache-Control", "no-store"));
     }
 
     @Test
     void getUserById_shouldReturnUser() throws Exception {
-        when(userService.getUserById(1L)).thenReturn(testUser);
+        when(userService.findUserById(1L)).thenReturn(Optional.of(testUser));
 
         mockMvc.perform(get("/api/users/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("John Doe"))
                 .andExpect(jsonPath("$.email").value("john@example.com"));
 
-        verify(userService, times(1)).getUserById(1L);
+        verify(userService, times(1)).findUserById(1L);
+    }
+
+    @Test
+    void getUserById_shouldReturnNotFound_whenUserMissing() throws Exception {
+        when(userService.findUserById(42L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/users/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail").value("User not found with id: 42"));
+    }
+
+    @Test
+    void getUsersByIds_shouldReturnUsersAndMisses() throws Exception {
+        when(userService.getUsersByIds(List.of(1L, 9L))).thenReturn(new LookupResult<>(List.of(testUser), List.of(9L)));
+
+        mockMvc.perform(get("/api/users").param("ids", "1,9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$.missing[0]").value(9));
+
+        verify(userService, never()).getUsersPage(any(), any(), any());
+    }
+
+    @Test
+    void lookupUsers_shouldReadIdsFromBodyAndSelectFields() throws Exception {
+        when(userService.getUsersByIds(List.of(1L))).thenReturn(new LookupResult<>(List.of(testUser), List.of()));
+
+        mockMvc.perform(post("/api/users/lookup")
+                        .param("fields", "id,name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].email").doesNotExist())
+                .andExpect(jsonPath("$.missing").isEmpty());
+    }
+
+    @Test
+    void getUserFields_shouldReadSummaries_whenFieldsAreListingColumns() throws Exception {
+        when(userService.getUserSummariesPage(null, null, null)).thenReturn(new CursorPage<>(
+                List.of(new UserSummary(1L, "John Doe", "john@example.com")), null));
+
+        mockMvc.perform(get("/api/users")
+                        .param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("john@example.com"))
+                .andExpect(jsonPath("$[0].name").doesNotExist());
+
+        verify(userService, never()).getUsersPage(any(), any(), any());
+    }
+
+    @Test
+    void getUserFieldsById_shouldReturnSelectedFields() throws Exception {
+        when(userService.findUserById(1L)).thenReturn(Optional.of(testUser));
+
+        mockMvc.perform(get("/api/users/1")
+                        .param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.email").doesNotExist());
+    }
+
+    @Test
+    void getUserById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        testUser.setUpdatedAt(updatedAt);
+        when(userService.findUserById(1L)).thenReturn(Optional.of(testUser));
+        String etag = HttpValidators.etag(1L, updatedAt);
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        mockMvc.perform(get("/api/users/1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -86,6 +233,24 @@ class UserControllerTest {
         verify(userService, times(1)).createUser(any(User.class));
     }
 
+    @Test
+    void createUsers_shouldReturnBatchResult() throws Exception {
+        BatchResult result = new BatchResult(List.of(1L),
+                List.of(BatchResult.ItemError.of(1, "name", "Name is required")));
+        when(userService.createUsers(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/api/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(testUser, new User()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].errors.name").value("Name is required"));
+
+        verify(userService, times(1)).createUsers(anyList());
+    }
+
     @Test
     void createUser_shouldReturnBadRequest_whenInvalidData() throws Exception {
         User invalidUser = new User();
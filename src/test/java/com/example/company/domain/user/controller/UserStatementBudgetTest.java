@@ -0,0 +1,77 @@
+package com.example.company.domain.user.controller;
+
+import com.example.company.common.sql.SqlStatements;
+import com.example.company.domain.user.model.User;
+import com.example.company.domain.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the user endpoints, measured against the real persistence layer.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(new User(null, "Budget User", uniqueEmail(), null, null));
+        cacheManager.getCache(UserService.USER_CACHE).clear();
+    }
+
+    @Test
+    void getUserById_shouldIssueOneStatement_whenNotCached() throws Throwable {
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(get("/api/users/{id}", user.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getAllUsers_shouldIssueAtMostOneStatement() throws Throwable {
+        SqlStatements.assertAtMost(1, () -> mockMvc.perform(get("/api/users").param("limit", "20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void updateUser_shouldIssueAtMostTwoStatements() throws Throwable {
+        String body = "{\"name\": \"Updated Budget User\", \"email\": \"" + uniqueEmail() + "\"}";
+
+        SqlStatements.assertAtMost(2, () -> mockMvc.perform(put("/api/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void deleteUser_shouldIssueOneStatement() throws Throwable {
+        SqlStatements.assertExactly(1, () -> mockMvc.perform(delete("/api/users/{id}", user.getId()))
+                .andExpect(status().isNoContent()));
+    }
+
+    private static String uniqueEmail() {
+        return "budget-" + UUID.randomUUID() + "@example.com";
+    }
+}
@@ -1,21 +1,45 @@
 package com.example.company.domain.user.service;
 
+import com.example.company.common.batch.BatchResult;
+import com.example.company.common.batch.LookupResult;
+import com.example.company.common.config.BatchProperties;
+import com.example.company.common.datasource.PrimaryStickiness;
+import com.example.company.common.exception.ConflictException;
 import com.example.company.common.exception.ResourceNotFoundException;
+import com.example.company.common.pagination.Cursor;
+import com.example.company.common.pagination.CursorPage;
+import com.example.company.domain.user.dto.UserSummary;
 import com.example.company.domain.user.model.User;
 import com.example.company.domain.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,13 +48,29 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    private UserEmailFilter emailFilter;
+
     private UserService userService;
 
     private User testUser;
 
     @BeforeEach
     void setUp() {
+        UserEmailFilterProperties emailFilterProperties = new UserEmailFilterProperties(1000, 0.01,
+                Duration.ofSeconds(30), Duration.ofSeconds(5));
+        emailFilter = new UserEmailFilter(emailFilterProperties);
+        userService = new UserService(userRepository, entityManager, cacheManager, emailFilter, emailFilterProperties,
+                Validation.buildDefaultValidatorFactory().getValidator(), new BatchProperties(10, 2));
+
         testUser = new User();
         testUser.setId(1L);
         testUser.setName("John Doe");
@@ -49,53 +89,293 @@ class UserServiceTest {
     }
 
     @Test
-    void getUserById_shouldReturnUser_whenUserExists() {
+    void getUsersPage_shouldSeekFromCursorSortKey_whenSortedByName() {
+        User next = new User();
+        next.setId(2L);
+        next.setName("Jane Roe");
+        Pageable expected = PageRequest.of(0, 2, Sort.by("name", "id"));
+        when(userRepository.findPageAfterName("John Doe", 1L, expected)).thenReturn(List.of(next));
+
+        CursorPage<User> result = userService.getUsersPage(Cursor.of(1L, "John Doe").encode(), 1, "name");
+
+        assertEquals(List.of(next), result.items());
+        assertNull(result.nextCursor());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getUserSummariesPage_shouldReadFullRows_whenSortedByCreatedAt() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        testUser.setCreatedAt(createdAt);
+        Pageable expected = PageRequest.of(0, 2, Sort.by("createdAt", "id"));
+        when(userRepository.findFirstPage(expected)).thenReturn(List.of(testUser, new User()));
+
+        CursorPage<UserSummary> result = userService.getUserSummariesPage(null, 1, "createdAt");
+
+        assertEquals(List.of(new UserSummary(1L, "John Doe", "john@example.com")), result.items());
+        assertEquals(Cursor.of(1L, createdAt).encode(), result.nextCursor());
+    }
+
+    @Test
+    void getUsersPage_shouldThrowException_whenSortIsUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage(null, null, "price"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void exportUsers_shouldStreamAndDetachEveryUser() {
+        User other = new User();
+        when(userRepository.streamAll()).thenReturn(Stream.of(testUser, other));
+        List<User> exported = new ArrayList<>();
+
+        long count = userService.exportUsers(exported::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(testUser, other), exported);
+        verify(entityManager, times(1)).detach(testUser);
+        verify(entityManager, times(1)).detach(other);
+    }
+
+    @Test
+    void findUserById_shouldReturnUser_whenUserExists() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
-        User result = userService.getUserById(1L);
+        User result = userService.findUserById(1L).orElseThrow();
 
-        assertNotNull(result);
         assertEquals("John Doe", result.getName());
         verify(userRepository, times(1)).findById(1L);
     }
 
     @Test
-    void getUserById_shouldThrowException_whenUserNotFound() {
+    void findUserById_shouldReadFromPrimary() {
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            assertTrue(PrimaryStickiness.isActive());
+            return Optional.of(testUser);
+        });
+
+        userService.findUserById(1L);
+
+        assertFalse(PrimaryStickiness.isActive());
+    }
+
+    @Test
+    void findUserById_shouldReturnEmpty_whenUserNotFound() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(1L));
+        assertEquals(Optional.empty(), userService.findUserById(1L));
         verify(userRepository, times(1)).findById(1L);
     }
 
     @Test
-    void createUser_shouldSaveUser_whenEmailIsUnique() {
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+    void getUsersByIds_shouldLoadUncachedUsersOnceAndKeepRequestOrder() {
+        User second = new User();
+        second.setId(2L);
+        when(cacheManager.getCache(UserService.USER_CACHE)).thenReturn(cache);
+        when(cache.get(1L, User.class)).thenReturn(testUser);
+        when(userRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(second));
+
+        LookupResult<User> result = userService.getUsersByIds(List.of(2L, 1L, 2L, 3L));
+
+        assertEquals(List.of(second, testUser), result.items());
+        assertEquals(List.of(3L), result.missing());
+        verify(cache).put(2L, second);
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getUsersByIds_shouldThrowException_whenIdIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersByIds(Arrays.asList(1L, null)));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void loadEmailFilter_shouldAddEveryEmailAndMarkReady() {
+        when(userRepository.streamAll()).thenReturn(Stream.of(testUser));
+
+        userService.loadEmailFilter();
+
+        assertTrue(emailFilter.mightContain("John@Example.com"));
+        assertFalse(emailFilter.mightContain("nobody@example.com"));
+    }
+
+    @Test
+    void refreshEmailFilter_shouldMergeEmailsChangedSinceLastLoad() {
+        LocalDateTime loadedAt = LocalDateTime.now().minusMinutes(5);
+        emailFilter.markRefreshed(loadedAt);
+        when(userRepository.findEmailsUpdatedSince(loadedAt.minus(UserService.EMAIL_FILTER_REFRESH_OVERLAP)))
+                .thenReturn(List.of("jane@example.com"));
+
+        assertEquals(1, userService.refreshEmailFilter());
+
+        assertTrue(emailFilter.mightContain("jane@example.com"));
+        assertTrue(emailFilter.refreshedFrom().isAfter(loadedAt));
+    }
+
+    @Test
+    void refreshEmailFilter_shouldDoNothing_beforeStartupLoad() {
+        assertEquals(0, userService.refreshEmailFilter());
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void mightContain_shouldAnswerMaybe_whenLastRefreshIsTooOld() {
+        UserEmailFilter filter = new UserEmailFilter(new UserEmailFilterProperties(1000, 0.01, Duration.ZERO,
+                Duration.ZERO));
+        filter.markRefreshed(LocalDateTime.now());
+
+        assertTrue(filter.mightContain("nobody@example.com"));
+    }
+
+    @Test
+    void getUserByEmail_shouldReturnUser_whenUserExists() {
+        emailFilter.put("john@example.com");
+        emailFilter.markRefreshed(LocalDateTime.now());
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testUser));
+
+        User result = userService.getUserByEmail("john@example.com");
+
+        assertEquals("John Doe", result.getName());
+    }
+
+    @Test
+    void getUserByEmail_shouldSkipDatabase_whenFilterHasNeverSeenEmail() {
+        emailFilter.markRefreshed(LocalDateTime.now());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("nobody@example.com"));
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void getUserByEmail_shouldCacheMiss_whenDatabaseHasNoUser() {
+        when(cacheManager.getCache(UserService.EMAIL_MISS_CACHE)).thenReturn(cache);
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("nobody@example.com"));
+        verify(cache, times(1)).put(eq("nobody@example.com"), any());
+    }
+
+    @Test
+    void getUserByEmail_shouldSkipDatabase_whenMissIsCached() {
+        when(cacheManager.getCache(UserService.EMAIL_MISS_CACHE))
+                .thenReturn(new ConcurrentMapCache(UserService.EMAIL_MISS_CACHE));
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("nobody@example.com"));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("nobody@example.com"));
+        verify(userRepository, times(1)).findByEmail("nobody@example.com");
+    }
+
+    @Test
+    void getUserByEmail_shouldIgnoreCachedMiss_afterUserWriteCommits() {
+        when(cacheManager.getCache(UserService.EMAIL_MISS_CACHE))
+                .thenReturn(new ConcurrentMapCache(UserService.EMAIL_MISS_CACHE));
+        when(userRepository.findByEmail("john@example.com")).thenReturn(Optional.empty(), Optional.of(testUser));
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserByEmail("john@example.com"));
+        when(userRepository.saveAndFlush(testUser)).thenReturn(testUser);
+
+        userService.createUser(testUser);
+
+        assertEquals("John Doe", userService.getUserByEmail("john@example.com").getName());
+    }
+
+    @Test
+    void createUser_shouldSaveUserWithoutPreCheck() {
+        when(userRepository.saveAndFlush(testUser)).thenReturn(testUser);
 
         User result = userService.createUser(testUser);
 
         assertNotNull(result);
         assertEquals("John Doe", result.getName());
-        verify(userRepository, times(1)).existsByEmail(testUser.getEmail());
-        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository, never()).existsByEmail(any());
+        emailFilter.markRefreshed(LocalDateTime.now());
+        assertTrue(emailFilter.mightContain("john@example.com"));
     }
 
     @Test
-    void createUser_shouldThrowException_whenEmailAlreadyExists() {
-        when(userRepository.existsByEmail(testUser.getEmail())).thenReturn(true);
+    void createUser_shouldThrowConflict_whenEmailAlreadyExists() {
+        when(userRepository.saveAndFlush(testUser)).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), "PUBLIC.UK_USERS_EMAIL_INDEX_4 "
+                        + "ON PUBLIC.USERS(EMAIL NULLS FIRST)")));
 
-        assertThrows(IllegalArgumentException.class, () -> userService.createUser(testUser));
-        verify(userRepository, times(1)).existsByEmail(testUser.getEmail());
-        verify(userRepository, never()).save(any());
+        assertThrows(ConflictException.class, () -> userService.createUser(testUser));
     }
 
     @Test
-    void deleteUser_shouldDeleteUser_whenUserExists() {
+    void createUser_shouldRethrow_whenAnotherConstraintIsViolated() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("null name",
+                new ConstraintViolationException("null name", new SQLException(), "users_name_not_null"));
+        when(userRepository.saveAndFlush(testUser)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> userService.createUser(testUser)));
+    }
+
+    @Test
+    void createUsers_shouldRejectInvalidAndDuplicateEmails() {
+        User taken = new User(null, "Taken User", "taken@example.com", null, null);
+        User invalid = new User(null, "Bad Email", "not-an-email", null, null);
+        User repeated = new User(null, "John Again", "john@example.com", null, null);
+        when(userRepository.findExistingEmails(List.of("john@example.com", "taken@example.com", "not-an-email")))
+                .thenReturn(List.of("taken@example.com"));
+        AtomicLong nextId = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<User>getArgument(0).setId(nextId.getAndIncrement());
+            return null;
+        }).when(entityManager).persist(any(User.class));
+
+        BatchResult result = userService.createUsers(Arrays.asList(testUser, taken, invalid, repeated, null));
+
+        assertEquals(1, result.created());
+        assertEquals(List.of(100L), result.ids());
+        assertEquals(List.of(1, 2, 3, 4), result.errors().stream().map(BatchResult.ItemError::index).toList());
+        assertTrue(result.errors().get(0).errors().containsKey("email"));
+        assertTrue(result.errors().get(1).errors().containsKey("email"));
+        assertTrue(result.errors().get(2).errors().containsKey("email"));
+        assertTrue(result.errors().get(3).errors().containsKey("item"));
+        verify(entityManager, times(1)).persist(testUser);
+    }
+
+    @Test
+    void createUsers_shouldThrowException_whenBatchIsEmpty() {
+        assertThrows(IllegalArgumentException.class, () -> userService.createUsers(List.of()));
+        verify(userRepository, never()).findExistingEmails(any());
+    }
+
+    @Test
+    void updateUser_shouldSaveAndEvictCachedUser() {
+        User changes = new User();
+        changes.setName("Jane Doe");
+        changes.setEmail("jane@example.com");
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.saveAndFlush(testUser)).thenReturn(testUser);
+        when(cacheManager.getCache(UserService.USER_CACHE)).thenReturn(cache);
+
+        User result = userService.updateUser(1L, changes);
+
+        assertEquals("Jane Doe", result.getName());
+        assertEquals("jane@example.com", result.getEmail());
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void deleteUser_shouldDeleteUser_whenUserExists() {
+        when(userRepository.removeById(1L)).thenReturn(1);
+        when(cacheManager.getCache(UserService.USER_CACHE)).thenReturn(cache);
 
         userService.deleteUser(1L);
 
-        verify(userRepository, times(1)).findById(1L);
-        verify(userRepository, times(1)).delete(testUser);
+        verify(userRepository, times(1)).removeById(1L);
+        verify(userRepository, never()).findById(any());
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void deleteUser_shouldThrowException_whenUserNotFound() {
+        when(userRepository.removeById(1L)).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(1L));
+        verify(cacheManager, never()).getCache(any());
     }
 }